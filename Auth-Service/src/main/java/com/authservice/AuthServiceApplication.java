@@ -3,8 +3,10 @@ package com.authservice;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AuthServiceApplication {
     public static void main(String[] args) {
         // Permite usar un archivo .env en local sin exportar variables manualmente.
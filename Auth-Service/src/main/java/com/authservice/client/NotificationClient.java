@@ -14,8 +14,6 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.util.StringUtils;
-import com.authservice.service.JwtService;
-import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -23,16 +21,10 @@ import java.util.Map;
 public class NotificationClient {
     
     private final RestTemplate restTemplate;
-    private final JwtService jwtService;
+    private final ServiceTokenProvider serviceTokenProvider;
     
     @Value("${app.notification-service.url}")
     private String notificationServiceUrl;
-    @Value("${app.notification-service.service-token.subject:auth-service}")
-    private String serviceTokenSubject;
-    @Value("${app.notification-service.service-token.ttl:300000}") // 5 minutos
-    private long serviceTokenTtl;
-    @Value("${app.notification-service.service-token.aud:notification-service}")
-    private String serviceTokenAudience;
     
     public NotificationResponse sendNotification(NotificationRequest request) {
         return sendNotification(request, null);
@@ -59,14 +51,9 @@ public class NotificationClient {
                         headers.set(HttpHeaders.AUTHORIZATION, authHeader);
                     }
                 }
-                // 3) If still no Authorization, mint a short-lived service JWT on the fly
+                // 3) If still no Authorization, use the (cached) short-lived service JWT
                 if (!headers.containsKey(HttpHeaders.AUTHORIZATION)) {
-                    String token = jwtService.generateServiceToken(
-                            serviceTokenSubject,
-                            serviceTokenTtl,
-                            Map.of("aud", serviceTokenAudience, "typ", "SERVICE")
-                    );
-                    headers.setBearerAuth(token);
+                    headers.setBearerAuth(serviceTokenProvider.getToken());
                 }
             }
 
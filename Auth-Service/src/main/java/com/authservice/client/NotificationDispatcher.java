@@ -0,0 +1,115 @@
+package com.authservice.client;
+
+import com.authservice.dto.notification.NotificationRequest;
+import com.authservice.dto.notification.NotificationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envía notificaciones sin bloquear el request.
+ *
+ * Por defecto publica la intención al exchange de Notificacion-Service (RabbitMQ, con reintentos del template);
+ * si el broker no está disponible cae al POST HTTP de {@link NotificationClient}. El envío se agenda después del
+ * commit de la transacción en curso, así un registro que hace rollback no deja emails huérfanos.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final NotificationClient notificationClient;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Counter published;
+    private final Counter sentHttp;
+    private final Counter rejected;
+    private final Counter failed;
+
+    @Value("${app.notification-service.dispatch.mode:rabbit}")
+    private String mode;
+
+    @Value("${app.notification-service.dispatch.exchange}")
+    private String exchange;
+
+    @Value("${app.notification-service.dispatch.routing-key:notification.email.auth}")
+    private String routingKey;
+
+    public NotificationDispatcher(
+            RabbitTemplate rabbitTemplate,
+            NotificationClient notificationClient,
+            @Qualifier("notificationDispatchExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.notificationClient = notificationClient;
+        this.executor = executor;
+        this.published = dispatchCounter(meterRegistry, "rabbit");
+        this.sentHttp = dispatchCounter(meterRegistry, "http");
+        this.rejected = dispatchCounter(meterRegistry, "rejected");
+        this.failed = dispatchCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Agenda el envío (después del commit si hay transacción activa). Nunca lanza excepción al llamador.
+     *
+     * @param bearerJwt JWT a propagar si se usa el camino HTTP (opcional)
+     */
+    public void dispatch(NotificationRequest request, String bearerJwt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(request, bearerJwt);
+                }
+            });
+        } else {
+            submit(request, bearerJwt);
+        }
+    }
+
+    private void submit(NotificationRequest request, String bearerJwt) {
+        try {
+            executor.execute(() -> send(request, bearerJwt));
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            log.warn("Notification dispatch queue full; dropping {} for {}", request.getTemplateType(), request.getRecipient());
+        }
+    }
+
+    private void send(NotificationRequest request, String bearerJwt) {
+        if ("rabbit".equalsIgnoreCase(mode)) {
+            try {
+                rabbitTemplate.convertAndSend(exchange, routingKey, request);
+                published.increment();
+                log.debug("Notification {} for {} published to {}", request.getTemplateType(), request.getRecipient(), exchange);
+                return;
+            } catch (AmqpException e) {
+                log.warn("Could not publish notification to RabbitMQ ({}); falling back to HTTP", e.getMessage());
+            }
+        }
+
+        NotificationResponse response = notificationClient.sendNotification(request, bearerJwt);
+        if (response.isSuccess()) {
+            sentHttp.increment();
+        } else {
+            failed.increment();
+            log.error("Failed to send {} to {}: {}", request.getTemplateType(), request.getRecipient(), response.getMessage());
+        }
+    }
+
+    private static Counter dispatchCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.notification.dispatch")
+                .description("Notificaciones despachadas por resultado")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
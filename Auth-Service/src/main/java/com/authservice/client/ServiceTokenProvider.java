@@ -0,0 +1,61 @@
+package com.authservice.client;
+
+import com.authservice.service.JwtService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Token de servicio (sin usuario) para llamadas salientes a Notificacion-Service.
+ *
+ * Se reutiliza el mismo JWT hasta {@code refresh-margin} antes de su expiración; solo un hilo lo renueva y el
+ * resto sigue usando el vigente.
+ */
+@Component
+public class ServiceTokenProvider {
+
+    private final JwtService jwtService;
+    private final String subject;
+    private final long ttlMillis;
+    private final long refreshMarginMillis;
+    private final Map<String, Object> claims;
+
+    private volatile CachedToken current;
+
+    public ServiceTokenProvider(
+            JwtService jwtService,
+            @Value("${app.notification-service.service-token.subject:auth-service}") String subject,
+            @Value("${app.notification-service.service-token.ttl:300000}") long ttlMillis, // 5 minutos
+            @Value("${app.notification-service.service-token.refresh-margin:30000}") long refreshMarginMillis,
+            @Value("${app.notification-service.service-token.aud:notification-service}") String audience) {
+        this.jwtService = jwtService;
+        this.subject = subject;
+        this.ttlMillis = ttlMillis;
+        // Nunca más de la mitad del TTL, así un TTL corto no obliga a firmar en cada llamada
+        this.refreshMarginMillis = Math.min(Math.max(0, refreshMarginMillis), ttlMillis / 2);
+        this.claims = Map.of("aud", audience, "typ", "SERVICE");
+    }
+
+    public String getToken() {
+        CachedToken token = current;
+        long now = System.currentTimeMillis();
+        if (token != null && now < token.refreshAt()) {
+            return token.value();
+        }
+        synchronized (this) {
+            token = current;
+            if (token == null || System.currentTimeMillis() >= token.refreshAt()) {
+                long issuedAt = System.currentTimeMillis();
+                token = new CachedToken(
+                        jwtService.generateServiceToken(subject, ttlMillis, claims),
+                        issuedAt + ttlMillis - refreshMarginMillis);
+                current = token;
+            }
+            return token.value();
+        }
+    }
+
+    private record CachedToken(String value, long refreshAt) {
+    }
+}
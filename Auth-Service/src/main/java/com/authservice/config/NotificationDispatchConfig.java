@@ -0,0 +1,74 @@
+package com.authservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Despacho asíncrono de notificaciones (emails de verificación/bienvenida).
+ *
+ * Las intenciones de envío se publican al exchange de Notificacion-Service desde un executor acotado, fuera del
+ * hilo del request y solo después del commit. Si la cola del executor se llena, las nuevas se rechazan (el usuario
+ * puede pedir reenvío) en vez de frenar el registro.
+ */
+@Configuration
+public class NotificationDispatchConfig {
+
+    @Bean
+    public TopicExchange notificationsExchange(
+            @Value("${app.notification-service.dispatch.exchange}") String exchange) {
+        // Mismo exchange (topic, durable) que declara Notificacion-Service; declarar es idempotente
+        return new TopicExchange(exchange);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter jsonMessageConverter) {
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setMessageConverter(jsonMessageConverter);
+        return rabbitTemplate;
+    }
+
+    @Bean(name = "notificationDispatchExecutor")
+    public ThreadPoolTaskExecutor notificationDispatchExecutor(
+            @Value("${app.notification-service.dispatch.core-pool-size:2}") int corePoolSize,
+            @Value("${app.notification-service.dispatch.max-pool-size:4}") int maxPoolSize,
+            @Value("${app.notification-service.dispatch.queue-capacity:1000}") int queueCapacity,
+            MeterRegistry meterRegistry,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-dispatch-");
+        // Con spring.threads.virtual.enabled los workers son virtuales; el pool sigue acotando la concurrencia
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+
+        Gauge.builder("auth.notification.dispatch.queue.depth", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Notificaciones pendientes de despachar en el executor")
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
@@ -2,9 +2,9 @@ package com.authservice.controller;
 
 import com.authservice.dto.*;
 import com.authservice.model.User;
-import com.authservice.repository.UserRepository;
 import com.authservice.service.AuthService;
 import com.authservice.service.JwtService;
+import com.authservice.service.UserCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,7 +17,7 @@ public class AuthController {
     
     private final AuthService authService;
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -82,7 +82,7 @@ public class AuthController {
                 return ResponseEntity.ok(invalid);
             }
 
-            User user = userRepository.findByEmail(email).orElse(null);
+            User user = userCache.findByEmail(email).orElse(null);
             if (user == null) {
                 return ResponseEntity.ok(invalid);
             }
@@ -2,21 +2,28 @@ package com.authservice.controller;
 
 import com.authservice.dto.UpdateProfileRequest;
 import com.authservice.dto.UserDTO;
+import com.authservice.exception.BadRequestException;
 import com.authservice.exception.ResourceNotFoundException;
 import com.authservice.model.User;
 import com.authservice.repository.UserRepository;
+import com.authservice.service.UserCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/user")
 @RequiredArgsConstructor
 public class UserController {
     
     private final UserRepository userRepository;
+    private final UserCache userCache;
+
+    private static final int MAX_BATCH_EMAILS = 200;
     
     @GetMapping("/me")
     public ResponseEntity<UserDTO> getCurrentUser(@AuthenticationPrincipal User currentUser) {
@@ -63,6 +70,7 @@ public class UserController {
         }
         
         User updatedUser = userRepository.save(user);
+        userCache.evict(updatedUser.getEmail());
         
         UserDTO userDTO = UserDTO.builder()
                 .id(updatedUser.getId())
@@ -80,7 +88,7 @@ public class UserController {
     
     @GetMapping("/by-email")
     public ResponseEntity<UserDTO> getUserByEmail(@RequestParam String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
         
         UserDTO userDTO = UserDTO.builder()
@@ -96,4 +104,32 @@ public class UserController {
         
         return ResponseEntity.ok(userDTO);
     }
+
+    /**
+     * Búsqueda en lote para otros servicios (fan-out de notificaciones): devuelve solo los usuarios encontrados.
+     */
+    @PostMapping("/by-emails")
+    public ResponseEntity<List<UserDTO>> getUsersByEmails(@RequestBody List<String> emails) {
+        if (emails == null || emails.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        if (emails.size() > MAX_BATCH_EMAILS) {
+            throw new BadRequestException("At most " + MAX_BATCH_EMAILS + " emails per request");
+        }
+
+        List<UserDTO> users = userRepository.findByEmailIn(emails).stream()
+                .map(user -> UserDTO.builder()
+                        .id(user.getId())
+                        .email(user.getEmail())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .countryCode(user.getCountryCode())
+                        .phoneNumber(user.getPhoneNumber())
+                        .provider(user.getProvider())
+                        .emailVerified(user.isEmailVerified())
+                        .build())
+                .toList();
+
+        return ResponseEntity.ok(users);
+    }
 }
@@ -0,0 +1,18 @@
+package com.authservice.exception;
+
+/**
+ * El servicio está saturado temporalmente; el cliente debe reintentar (se responde 503 con Retry-After).
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -9,7 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date"),
+        @Index(name = "idx_refresh_tokens_user_id_id", columnList = "user_id, id")
+})
+// idx_refresh_tokens_revoked_id (id) WHERE revoked es parcial: lo crea la migración V2
 @Data
 @Builder
 @NoArgsConstructor
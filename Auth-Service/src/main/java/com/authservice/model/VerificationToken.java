@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "verification_tokens")
+@Table(name = "verification_tokens", indexes = {
+        @Index(name = "idx_verification_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_verification_tokens_expiry_date", columnList = "expiry_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -2,9 +2,15 @@ package com.authservice.repository;
 
 import com.authservice.model.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +20,25 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     void deleteByUserId(Long userId);
     
     void deleteByExpiryDateBefore(LocalDateTime now);
+
+    /**
+     * Lote acotado de tokens expirados o revocados (para purgar sin bloqueos largos).
+     */
+    @Query(value = "SELECT id FROM refresh_tokens WHERE expiry_date < :cutoff OR revoked = true ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Borra los tokens más antiguos del usuario dejando solo los {@code keep} más recientes.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (" +
+            "SELECT id FROM refresh_tokens WHERE user_id = :userId ORDER BY id DESC OFFSET :keep ROWS)",
+            nativeQuery = true)
+    int deleteOldestBeyond(@Param("userId") Long userId, @Param("keep") int keep);
 }
@@ -2,9 +2,14 @@ package com.authservice.repository;
 
 import com.authservice.model.VerificationToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +19,15 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
     void deleteByExpiryDateBefore(LocalDateTime now);
     
     void deleteByUserId(Long userId);
+
+    /**
+     * Lote acotado de tokens de verificación expirados.
+     */
+    @Query(value = "SELECT id FROM verification_tokens WHERE expiry_date < :cutoff ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM VerificationToken v WHERE v.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
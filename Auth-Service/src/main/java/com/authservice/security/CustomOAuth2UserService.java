@@ -4,6 +4,7 @@ import com.authservice.model.AuthProvider;
 import com.authservice.model.Role;
 import com.authservice.model.User;
 import com.authservice.repository.UserRepository;
+import com.authservice.service.UserCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
@@ -21,6 +22,7 @@ import java.util.Map;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     
     private final UserRepository userRepository;
+    private final UserCache userCache;
     
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -76,6 +78,8 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             user.setLastName(lastName);
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.evict(saved.getEmail());
+        return saved;
     }
 }
@@ -1,28 +1,45 @@
 package com.authservice.security;
 
+import com.authservice.model.User;
 import com.authservice.service.JwtService;
+import com.authservice.service.UserCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
+    /** Rol de las llamadas entre servicios autenticadas con un token de servicio */
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    static final String SERVICE_TOKEN_TYPE = "SERVICE";
+
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+
+    /** Audiencia que deben traer los tokens de servicio dirigidos a este servicio */
+    @Value("${app.security.service-token.audience:auth-service}")
+    private String serviceTokenAudience;
     
     @Override
     protected void doFilterInternal(
@@ -31,25 +48,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
-        
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            final String jwt = authHeader.substring(7);
+            final Claims claims;
+            try {
+                // Un solo parseo: firma + expiración
+                claims = jwtService.parseClaims(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Ignoring invalid JWT: {}", e.getMessage());
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            if (SERVICE_TOKEN_TYPE.equals(claims.get("typ", String.class))) {
+                authenticateService(claims, request);
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            User principal = resolvePrincipal(claims);
+            if (principal != null && principal.isEnabled()) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities()
+                        principal.getAuthorities()
                 );
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
@@ -59,4 +87,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Token de servicio (sin usuario, p. ej. Teams-Service): solo se acepta con la audiencia de este servicio y
+     * solo otorga {@code ROLE_SERVICE}; los tokens que Auth-Service emite para Notificacion-Service no sirven aquí.
+     */
+    private void authenticateService(Claims claims, HttpServletRequest request) {
+        Set<String> audience = claims.getAudience();
+        if (claims.getSubject() == null || audience == null || !audience.contains(serviceTokenAudience)) {
+            log.debug("Ignoring service token for audience {}", audience);
+            return;
+        }
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                claims.getSubject(),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + SERVICE_ROLE))
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    /**
+     * Usuario actual desde la cache acotada (TTL corto, se invalida al cambiar el usuario), no desde los claims:
+     * un usuario deshabilitado o con otro rol pierde el acceso aunque su token siga vigente (a más tardar cuando
+     * vence la entrada, {@code app.security.user-cache.ttl}; al instante si se invalida). Si el token trae
+     * uid/role y no coinciden con el usuario actual (cuenta recreada, rol cambiado) se rechaza y el cliente
+     * tiene que volver a autenticarse o refrescar.
+     */
+    private User resolvePrincipal(Claims claims) {
+        String email = claims.getSubject();
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+
+        User user = userCache.findByEmail(email).orElse(null);
+        if (user == null || !user.isEnabled()) {
+            return null;
+        }
+
+        Number userId = claims.get(JwtService.CLAIM_USER_ID, Number.class);
+        if (userId != null && !Long.valueOf(userId.longValue()).equals(user.getId())) {
+            log.debug("Token uid {} does not match user {} ({})", userId, user.getId(), email);
+            return null;
+        }
+        String role = claims.get(JwtService.CLAIM_ROLE, String.class);
+        if (role != null && (user.getRole() == null || !role.equals(user.getRole().name()))) {
+            log.debug("Token role {} no longer matches {} for {}", role, user.getRole(), email);
+            return null;
+        }
+        return user;
+    }
 }
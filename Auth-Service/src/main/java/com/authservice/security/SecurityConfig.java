@@ -1,18 +1,25 @@
 package com.authservice.security;
 
 import com.authservice.repository.UserRepository;
+import com.authservice.service.UserCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -35,15 +42,24 @@ public class SecurityConfig {
     private final UserRepository userRepository;
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuth2AuthenticationSuccessHandler oauth2SuccessHandler;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final UserCache userCache;
+    
+    @Value("${app.security.password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
     
     public SecurityConfig(@Lazy JwtAuthenticationFilter jwtAuthFilter,
                          UserRepository userRepository,
                          CustomOAuth2UserService customOAuth2UserService,
-                         OAuth2AuthenticationSuccessHandler oauth2SuccessHandler) {
+                         OAuth2AuthenticationSuccessHandler oauth2SuccessHandler,
+                         PasswordHashingExecutor passwordHashingExecutor,
+                         UserCache userCache) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.userRepository = userRepository;
         this.customOAuth2UserService = customOAuth2UserService;
         this.oauth2SuccessHandler = oauth2SuccessHandler;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.userCache = userCache;
     }
     
     @Bean
@@ -63,7 +79,12 @@ public class SecurityConfig {
                                 "/actuator/info",
                                 "/error"
                         ).permitAll()
-                        .anyRequest().authenticated()
+                        // Búsqueda en lote de datos de contacto: solo otros servicios (token typ=SERVICE, aud=auth-service)
+                        .requestMatchers("/api/v1/user/by-emails").hasRole(JwtAuthenticationFilter.SERVICE_ROLE)
+                        // Un token de servicio no tiene usuario: no sirve para los endpoints de usuario
+                        .anyRequest().access(AuthorizationManagers.allOf(
+                                AuthenticatedAuthorizationManager.authenticated(),
+                                AuthorizationManagers.not(AuthorityAuthorizationManager.hasRole(JwtAuthenticationFilter.SERVICE_ROLE))))
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -104,9 +125,26 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
     
+    /**
+     * Re-hash transparente en login: si el hash guardado usa un costo BCrypt menor al configurado,
+     * DaoAuthenticationProvider vuelve a codificar la contraseña recién validada y la persiste aquí.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> userRepository.findByEmail(user.getUsername())
+                .<UserDetails>map(existing -> {
+                    existing.setPassword(newPassword);
+                    userRepository.save(existing);
+                    userCache.evict(existing.getEmail());
+                    return existing;
+                })
+                .orElse(user);
+    }
+    
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
@@ -114,6 +152,6 @@ public class SecurityConfig {
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), passwordHashingExecutor);
     }
 }
@@ -16,6 +16,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -31,55 +32,78 @@ public class AuthService {
     private final JwtService jwtService;
     private final EmailService emailService;
     private final AuthenticationManager authenticationManager;
+    private final UserCache userCache;
+    private final TransactionTemplate transactionTemplate;
     
     @Value("${app.email.verification.expiration}")
     private long verificationExpiration;
     
     @Value("${app.jwt.refresh-expiration}")
     private long refreshExpiration;
+
+    /** Refresh tokens vivos por usuario; al emitir uno nuevo se borran los más antiguos (0 = sin tope) */
+    @Value("${app.security.refresh-token.max-per-user:10}")
+    private int maxRefreshTokensPerUser;
     
-    @Transactional
+    /**
+     * Sin {@code @Transactional}: el hash BCrypt espera turno en la cola acotada de
+     * {@code PasswordHashingExecutor} y no debe retener una conexión del pool mientras tanto.
+     * Solo la persistencia (usuario, token de verificación y refresh token) corre en transacción.
+     */
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new BadRequestException("Email already registered");
         }
         
-        User user = User.builder()
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .countryCode(request.getCountryCode())
-                .phoneNumber(request.getPhoneNumber())
-                .provider(AuthProvider.LOCAL)
-                .emailVerified(false)
-                .role(Role.USER)
-                .build();
-        
-        userRepository.save(user);
-        
-        // Create verification token
-        String verificationToken = UUID.randomUUID().toString();
-        VerificationToken token = VerificationToken.builder()
-                .token(verificationToken)
-                .user(user)
-                .expiryDate(LocalDateTime.now().plusSeconds(verificationExpiration / 1000))
-                .build();
-        
-        verificationTokenRepository.save(token);
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
         
-        // Generar access token para usarlo en la notificación y también retornarlo al cliente
-        String accessToken = jwtService.generateToken(user);
+        RegistrationResult result = transactionTemplate.execute(status -> {
+            // Revalidar dentro de la transacción: otro registro pudo ganar mientras se calculaba el hash
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new BadRequestException("Email already registered");
+            }
+            
+            User user = User.builder()
+                    .email(request.getEmail())
+                    .password(encodedPassword)
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .countryCode(request.getCountryCode())
+                    .phoneNumber(request.getPhoneNumber())
+                    .provider(AuthProvider.LOCAL)
+                    .emailVerified(false)
+                    .role(Role.USER)
+                    .build();
+            
+            userRepository.save(user);
+            
+            // Create verification token
+            String verificationToken = UUID.randomUUID().toString();
+            VerificationToken token = VerificationToken.builder()
+                    .token(verificationToken)
+                    .user(user)
+                    .expiryDate(LocalDateTime.now().plusSeconds(verificationExpiration / 1000))
+                    .build();
+            
+            verificationTokenRepository.save(token);
+            
+            // Generar access token para usarlo en la notificación y también retornarlo al cliente
+            String accessToken = jwtService.generateToken(user);
+            return new RegistrationResult(user, verificationToken, buildAuthResponse(user, accessToken), accessToken);
+        });
 
         // Send verification email con Authorization: Bearer <accessToken>
         try {
-            emailService.sendVerificationEmail(user, verificationToken, accessToken);
+            emailService.sendVerificationEmail(result.user(), result.verificationToken(), result.accessToken());
         } catch (Exception e) {
             // Log error but don't fail registration
             e.printStackTrace();
         }
 
-        return buildAuthResponse(user, accessToken);
+        return result.response();
+    }
+
+    private record RegistrationResult(User user, String verificationToken, AuthResponse response, String accessToken) {
     }
     
     public AuthResponse login(LoginRequest request) {
@@ -112,6 +136,7 @@ public class AuthService {
         User user = verificationToken.getUser();
         user.setEmailVerified(true);
         userRepository.save(user);
+        userCache.evict(user.getEmail());
         
         verificationToken.setUsed(true);
         verificationTokenRepository.save(verificationToken);
@@ -195,6 +220,10 @@ public class AuthService {
                 .build();
         
         refreshTokenRepository.save(refreshToken);
+        if (maxRefreshTokensPerUser > 0) {
+            refreshTokenRepository.flush();
+            refreshTokenRepository.deleteOldestBeyond(user.getId(), maxRefreshTokensPerUser);
+        }
         return tokenValue;
     }
     
@@ -1,13 +1,10 @@
 package com.authservice.service;
 
-import com.authservice.client.NotificationClient;
+import com.authservice.client.NotificationDispatcher;
 import com.authservice.dto.notification.NotificationRequest;
-import com.authservice.dto.notification.NotificationResponse;
 import com.authservice.model.User;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -16,21 +13,21 @@ import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class EmailService {
     
-    private final NotificationClient notificationClient;
+    private final NotificationDispatcher notificationDispatcher;
     
     @Value("${app.frontend.url}")
     private String frontendUrl;
     
-    @Async
+    /**
+     * Los envíos se despachan fuera del request (después del commit); estos métodos no bloquean ni lanzan.
+     */
     public void sendVerificationEmail(User user, String token) {
         // Mantener compatibilidad: sin JWT explícito
         sendVerificationEmail(user, token, null);
     }
 
-    @Async
     public void sendVerificationEmail(User user, String token, String bearerJwt) {
         String verificationUrl = frontendUrl + "/verify-email?token=" + token;
         
@@ -48,14 +45,9 @@ public class EmailService {
                 .serviceOrigin("auth-service")
                 .build();
         
-        NotificationResponse response = notificationClient.sendNotification(request, bearerJwt);
-        
-        if (!response.isSuccess()) {
-            log.error("Failed to send verification email to {}: {}", user.getEmail(), response.getMessage());
-        }
+        notificationDispatcher.dispatch(request, bearerJwt);
     }
     
-    @Async
     public void sendWelcomeEmail(User user) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("firstName", user.getFirstName());
@@ -71,10 +63,6 @@ public class EmailService {
                 .serviceOrigin("auth-service")
                 .build();
         
-        NotificationResponse response = notificationClient.sendNotification(request);
-        
-        if (!response.isSuccess()) {
-            log.error("Failed to send welcome email to {}: {}", user.getEmail(), response.getMessage());
-        }
+        notificationDispatcher.dispatch(request, null);
     }
 }
@@ -1,9 +1,12 @@
 package com.authservice.service;
 
+import com.authservice.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -17,6 +20,10 @@ import java.util.function.Function;
 
 @Service
 public class JwtService {
+
+    /** Claims propios del access token; permiten armar el principal sin consultar la BD */
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
     
     @Value("${app.jwt.secret}")
     private String secretKey;
@@ -26,6 +33,18 @@ public class JwtService {
     
     @Value("${app.jwt.refresh-expiration}")
     private long refreshExpiration;
+
+    /** Clave HMAC y parser se construyen una sola vez (ambos inmutables y thread-safe) */
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = resolveSignInKey();
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
     
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -41,7 +60,12 @@ public class JwtService {
     }
     
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof User user) {
+            claims.putIfAbsent(CLAIM_USER_ID, user.getId());
+            claims.putIfAbsent(CLAIM_ROLE, user.getRole().name());
+        }
+        return buildToken(claims, userDetails, jwtExpiration);
     }
     
     public String generateRefreshToken(UserDetails userDetails) {
@@ -58,7 +82,7 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -70,7 +94,7 @@ public class JwtService {
             .subject(subject)
             .issuedAt(new Date(System.currentTimeMillis()))
             .expiration(new Date(System.currentTimeMillis() + ttlMillis))
-            .signWith(getSignInKey())
+            .signWith(signingKey)
             .compact();
         }
     
@@ -87,15 +111,22 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
     
+    /**
+     * Verifica firma y expiración y devuelve los claims en un solo parseo.
+     *
+     * @throws io.jsonwebtoken.JwtException si el token es inválido o expiró
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
     
-    private SecretKey getSignInKey() {
+    private SecretKey resolveSignInKey() {
         if (secretKey == null || secretKey.isBlank()) {
             throw new IllegalStateException("app.jwt.secret (JWT_SECRET) no está configurado");
         }
@@ -0,0 +1,144 @@
+package com.authservice.service;
+
+import com.authservice.repository.RefreshTokenRepository;
+import com.authservice.repository.VerificationTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Purga periódica de refresh tokens (expirados o revocados) y tokens de verificación expirados.
+ *
+ * Borra en lotes de {@code batch-size} ids, cada lote en su propia transacción corta, con una pausa entre lotes y
+ * un tope de lotes por corrida; lo que quede se retoma en la siguiente ejecución.
+ */
+@Component
+@Slf4j
+public class TokenCleanupJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final VerificationTokenRepository verificationTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter refreshPurged;
+    private final Counter verificationPurged;
+    private final Timer purgeTimer;
+    private final AtomicLong refreshTableSize = new AtomicLong();
+    private final AtomicLong verificationTableSize = new AtomicLong();
+
+    @Value("${app.security.token-cleanup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.token-cleanup.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.security.token-cleanup.max-batches:100}")
+    private int maxBatches;
+
+    @Value("${app.security.token-cleanup.pause-ms:50}")
+    private long pauseMs;
+
+    public TokenCleanupJob(
+            RefreshTokenRepository refreshTokenRepository,
+            VerificationTokenRepository verificationTokenRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.verificationTokenRepository = verificationTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.refreshPurged = purgedCounter(meterRegistry, "refresh_tokens");
+        this.verificationPurged = purgedCounter(meterRegistry, "verification_tokens");
+        this.purgeTimer = Timer.builder("auth.tokens.purge.duration")
+                .description("Duración de cada corrida de purga de tokens")
+                .register(meterRegistry);
+        // Tamaño de tabla refrescado al final de cada corrida (evita un COUNT(*) por scrape)
+        Gauge.builder("auth.tokens.table.size", refreshTableSize, AtomicLong::get)
+                .tag("table", "refresh_tokens")
+                .register(meterRegistry);
+        Gauge.builder("auth.tokens.table.size", verificationTableSize, AtomicLong::get)
+                .tag("table", "verification_tokens")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.security.token-cleanup.initial-delay:60000}",
+            fixedDelayString = "${app.security.token-cleanup.interval:3600000}")
+    public void purgeExpiredTokens() {
+        if (!enabled) {
+            return;
+        }
+        purgeTimer.record(() -> {
+            LocalDateTime cutoff = LocalDateTime.now();
+
+            long refresh = purge(refreshTokenRepository::findPurgeableIds,
+                    refreshTokenRepository::deleteByIdIn, cutoff, refreshPurged);
+            long verification = purge(verificationTokenRepository::findPurgeableIds,
+                    verificationTokenRepository::deleteByIdIn, cutoff, verificationPurged);
+
+            refreshTableSize.set(refreshTokenRepository.count());
+            verificationTableSize.set(verificationTokenRepository.count());
+
+            if (refresh > 0 || verification > 0) {
+                log.info("Token cleanup: purged {} refresh tokens and {} verification tokens", refresh, verification);
+            }
+        });
+    }
+
+    private long purge(BiFunction<LocalDateTime, Integer, List<Long>> findIds,
+                       Function<Collection<Long>, Integer> deleteIds,
+                       LocalDateTime cutoff,
+                       Counter counter) {
+        long total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = findIds.apply(cutoff, batchSize);
+                return ids.isEmpty() ? 0 : deleteIds.apply(ids);
+            });
+            int count = deleted != null ? deleted : 0;
+            total += count;
+            counter.increment(count);
+            if (count < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String table) {
+        return Counter.builder("auth.tokens.purged")
+                .description("Tokens purgados por tabla")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,112 @@
+package com.authservice.service;
+
+import com.authservice.model.User;
+import com.authservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache acotada (tamaño + TTL corto) de usuarios por email.
+ *
+ * Evita el {@code findByEmail} por request en el filtro JWT y en las consultas de otros servicios
+ * ({@code /by-email}, {@code /validate}). Guarda copias sin password (nunca se usa para autenticar credenciales)
+ * y se invalida explícitamente al actualizar el perfil o verificar el email.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+
+    private final UserRepository userRepository;
+
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
+    @Value("${app.security.user-cache.ttl:60000}")
+    private long ttlMillis;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private int maxSize;
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return Optional.empty();
+        }
+        String key = normalize(email);
+
+        CachedUser cached = cache.get(key);
+        if (cached != null && !cached.isExpired()) {
+            return Optional.of(cached.user);
+        }
+
+        Optional<User> loaded = userRepository.findByEmail(email).map(UserCache::detachedCopy);
+        loaded.ifPresentOrElse(
+                user -> put(key, user),
+                () -> cache.remove(key)
+        );
+        return loaded;
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.remove(normalize(email));
+        }
+    }
+
+    private void put(String key, User user) {
+        if (cache.size() >= maxSize) {
+            evictExpired();
+            // Sigue llena: descartar entradas arbitrarias (se recargan en el siguiente acceso)
+            Iterator<String> it = cache.keySet().iterator();
+            while (cache.size() >= maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        cache.put(key, new CachedUser(user, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private void evictExpired() {
+        cache.values().removeIf(CachedUser::isExpired);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    private static User detachedCopy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .countryCode(user.getCountryCode())
+                .phoneNumber(user.getPhoneNumber())
+                .provider(user.getProvider())
+                .providerId(user.getProviderId())
+                .emailVerified(user.isEmailVerified())
+                .role(user.getRole())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .enabled(user.isEnabled())
+                .build();
+    }
+
+    private static final class CachedUser {
+        private final User user;
+        private final long expiresAt;
+
+        private CachedUser(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
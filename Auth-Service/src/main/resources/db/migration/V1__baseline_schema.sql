@@ -0,0 +1,50 @@
+-- Migración V1: esquema base de Auth-Service
+--
+-- Equivale a lo que generaba ddl-auto=update. Usa IF NOT EXISTS porque la base es compartida con los otros
+-- servicios y las instalaciones existentes ya tienen estas tablas: en ellas la migración no cambia nada.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    country_code VARCHAR(255),
+    phone_number VARCHAR(255),
+    provider VARCHAR(255) NOT NULL,
+    provider_id VARCHAR(255),
+    email_verified BOOLEAN NOT NULL,
+    role VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    enabled BOOLEAN NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expiry_date TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6),
+    revoked BOOLEAN NOT NULL,
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS verification_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expiry_date TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6),
+    used BOOLEAN NOT NULL,
+    CONSTRAINT uk_verification_tokens_token UNIQUE (token),
+    CONSTRAINT fk_verification_tokens_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expiry_date ON refresh_tokens(expiry_date);
+
+CREATE INDEX IF NOT EXISTS idx_verification_tokens_user_id ON verification_tokens(user_id);
+CREATE INDEX IF NOT EXISTS idx_verification_tokens_expiry_date ON verification_tokens(expiry_date);
@@ -0,0 +1,37 @@
+-- Migración V2: índices para las consultas calientes de tokens
+--
+-- CONCURRENTLY para no bloquear logins en bases con datos. Flyway corre el script fuera de transacción
+-- (requiere spring.flyway.postgresql.transactional-lock=false y spring.flyway.mixed=true).
+--
+-- Si se interrumpe (deploy cancelado, timeout, caída), Flyway deja esta versión marcada como fallida en
+-- flyway_schema_history_auth y el servicio no vuelve a arrancar hasta limpiarla:
+--   flyway -url=... -user=... -table=flyway_schema_history_auth repair
+-- (equivale a borrar de esa tabla la fila de la versión con success = false). Al reintentar, el bloque inicial
+-- borra los índices de esta migración que hayan quedado INVALID (IF NOT EXISTS los saltaría y quedarían
+-- inservibles) y luego se recrean.
+
+-- Índices INVALID de un intento anterior: DROP INDEX simple, instantáneo porque no tienen datos útiles
+DO $$
+DECLARE
+    invalid_index record;
+BEGIN
+    FOR invalid_index IN
+        SELECT c.relname
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE NOT i.indisvalid
+          AND n.nspname = current_schema()
+          AND c.relname IN ('idx_refresh_tokens_user_id_id',
+                            'idx_refresh_tokens_revoked_id')
+    LOOP
+        EXECUTE format('DROP INDEX %I', invalid_index.relname);
+    END LOOP;
+END $$;
+
+-- Cada login recorta los refresh tokens del usuario: WHERE user_id = ? ORDER BY id DESC OFFSET n
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_user_id_id ON refresh_tokens(user_id, id);
+
+-- Purga: expiry_date < ? OR revoked = true. La rama revoked sale de este índice parcial (chico, porque la
+-- misma purga borra esas filas) en lugar de un seq scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_revoked_id ON refresh_tokens(id) WHERE revoked;
@@ -0,0 +1,153 @@
+package com.authservice.security;
+
+import com.authservice.model.Role;
+import com.authservice.model.User;
+import com.authservice.service.JwtService;
+import com.authservice.service.UserCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "ana@test.com";
+    private static final String TOKEN = "token";
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        ReflectionTestUtils.setField(filter, "serviceTokenAudience", "auth-service");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void enabledUser_IsAuthenticated() throws Exception {
+        when(jwtService.parseClaims(TOKEN)).thenReturn(claims(1L, Role.USER));
+        when(userCache.findByEmail(EMAIL)).thenReturn(Optional.of(user(1L, Role.USER, true)));
+
+        Authentication authentication = filter();
+
+        assertNotNull(authentication);
+        assertEquals(EMAIL, ((User) authentication.getPrincipal()).getEmail());
+    }
+
+    @Test
+    void disabledUser_WithValidToken_IsNotAuthenticated() throws Exception {
+        when(jwtService.parseClaims(TOKEN)).thenReturn(claims(1L, Role.USER));
+        when(userCache.findByEmail(EMAIL)).thenReturn(Optional.of(user(1L, Role.USER, false)));
+
+        assertNull(filter());
+    }
+
+    @Test
+    void roleChangedSinceTokenWasIssued_IsNotAuthenticated() throws Exception {
+        when(jwtService.parseClaims(TOKEN)).thenReturn(claims(1L, Role.SYSTEM_ADMIN));
+        when(userCache.findByEmail(EMAIL)).thenReturn(Optional.of(user(1L, Role.USER, true)));
+
+        assertNull(filter());
+    }
+
+    @Test
+    void deletedUser_IsNotAuthenticated() throws Exception {
+        when(jwtService.parseClaims(TOKEN)).thenReturn(claims(1L, Role.USER));
+        when(userCache.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertNull(filter());
+    }
+
+    @Test
+    void recreatedAccount_WithOldUserId_IsNotAuthenticated() throws Exception {
+        when(jwtService.parseClaims(TOKEN)).thenReturn(claims(1L, Role.USER));
+        when(userCache.findByEmail(EMAIL)).thenReturn(Optional.of(user(2L, Role.USER, true)));
+
+        assertNull(filter());
+    }
+
+    @Test
+    void serviceToken_ForThisService_GetsOnlyServiceRole() throws Exception {
+        when(jwtService.parseClaims(TOKEN)).thenReturn(serviceClaims("auth-service"));
+
+        Authentication authentication = filter();
+
+        assertNotNull(authentication);
+        assertEquals("teams-service", authentication.getPrincipal());
+        assertEquals(List.of("ROLE_SERVICE"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void serviceToken_ForAnotherService_IsNotAuthenticated() throws Exception {
+        when(jwtService.parseClaims(TOKEN)).thenReturn(serviceClaims("notification-service"));
+
+        assertNull(filter());
+    }
+
+    private Authentication filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static Claims claims(long userId, Role role) {
+        return Jwts.claims()
+                .subject(EMAIL)
+                .add(JwtService.CLAIM_USER_ID, userId)
+                .add(JwtService.CLAIM_ROLE, role.name())
+                .build();
+    }
+
+    private static Claims serviceClaims(String audience) {
+        return Jwts.claims()
+                .subject("teams-service")
+                .audience().add(audience).and()
+                .add("typ", "SERVICE")
+                .build();
+    }
+
+    private static User user(long id, Role role, boolean enabled) {
+        return User.builder()
+                .id(id)
+                .email(EMAIL)
+                .role(role)
+                .enabled(enabled)
+                .build();
+    }
+}
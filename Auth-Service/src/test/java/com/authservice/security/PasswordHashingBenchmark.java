@@ -0,0 +1,67 @@
+package com.authservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins/seg (verificación BCrypt) a través del pool acotado, con más hilos cliente que cores como en una ráfaga.
+ * Logins/seg por core = score / availableProcessors (o / {@code threads} si se fija).
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args=PasswordHashingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(16)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Futbolify-2025!";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    /** Hilos del pool; 0 = un hilo por core (valor por defecto en producción) */
+    @Param({"0"})
+    private int threads;
+
+    private PasswordHashingExecutor executor;
+    private BoundedPasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        // Cola holgada: aquí se mide throughput, no rechazo
+        executor = new PasswordHashingExecutor(threads, 1024, 60_000, 1, new SimpleMeterRegistry());
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        encoder = new BoundedPasswordEncoder(bcrypt, executor);
+        encoded = bcrypt.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,88 @@
+package com.authservice.service;
+
+import com.authservice.dto.RegisterRequest;
+import com.authservice.repository.RefreshTokenRepository;
+import com.authservice.repository.UserRepository;
+import com.authservice.repository.VerificationTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceRegisterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @Test
+    void register_HashesPasswordBeforeOpeningTransaction() {
+        AtomicBoolean hashed = new AtomicBoolean();
+        AtomicBoolean hashedInsideTransaction = new AtomicBoolean();
+        when(userRepository.existsByEmail("ana@test.com")).thenReturn(false);
+        when(passwordEncoder.encode("secret1")).thenAnswer(invocation -> {
+            hashedInsideTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            hashed.set(true);
+            return "hash";
+        });
+        // Al abrirse la transacción el hash ya debe estar calculado; se corta ahí para no simular la persistencia
+        when(transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(invocation -> {
+            assertTrue(hashed.get());
+            throw new IllegalStateException("stop");
+        });
+
+        try {
+            authService.register(RegisterRequest.builder()
+                    .email("ana@test.com")
+                    .password("secret1")
+                    .firstName("Ana")
+                    .lastName("Test")
+                    .build());
+        } catch (IllegalStateException expected) {
+            // fin de la simulación
+        }
+
+        assertTrue(hashed.get());
+        assertFalse(hashedInsideTransaction.get());
+    }
+}
@@ -0,0 +1,96 @@
+package com.authservice.service;
+
+import com.authservice.client.ServiceTokenProvider;
+import com.authservice.model.Role;
+import com.authservice.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de emisión/verificación de JWT.
+ *
+ * Los benchmarks "rebuilt*" reproducen el camino anterior (decodificar el secret y armar clave/parser en cada
+ * llamada) como referencia frente al parser y la clave precalculados.
+ *
+ * mvn -Pbenchmark test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtService jwtService;
+    private ServiceTokenProvider serviceTokenProvider;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        jwtService.init();
+
+        serviceTokenProvider = new ServiceTokenProvider(jwtService, "auth-service", 300_000L, 30_000L, "notification-service");
+
+        user = User.builder()
+                .id(42L)
+                .email("benchmark@futbolify.co")
+                .firstName("Bench")
+                .lastName("Mark")
+                .role(Role.USER)
+                .build();
+        accessToken = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object verifyAccessToken() {
+        return jwtService.parseClaims(accessToken);
+    }
+
+    @Benchmark
+    public Object rebuiltKeyVerify() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(accessToken)
+                .getPayload();
+    }
+
+    @Benchmark
+    public String cachedServiceToken() {
+        return serviceTokenProvider.getToken();
+    }
+
+    @Benchmark
+    public String mintedServiceToken() {
+        return jwtService.generateServiceToken("auth-service", 300_000L, null);
+    }
+}
@@ -41,6 +41,8 @@ public class ProviderProperties {
         private String username;
         private String password;
         private String from;
+        /** Hilos de plataforma que hacen el envío cuando el llamador es un hilo virtual */
+        private int sendThreads = 32;
     }
     
     @Getter
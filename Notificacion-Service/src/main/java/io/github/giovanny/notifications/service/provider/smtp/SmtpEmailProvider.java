@@ -22,6 +22,10 @@ import jakarta.mail.internet.MimeMessage;
 import java.time.LocalDateTime;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Proveedor de Email mediante SMTP genérico.
@@ -47,6 +51,7 @@ public class SmtpEmailProvider implements NotificationProvider {
     
     private final ProviderProperties providerProperties;
     private JavaMailSender mailSender;
+    private volatile ExecutorService platformSender;
     
     @Override
     public NotificationResponse send(NotificationRequest request) throws NotificationException {
@@ -85,7 +90,7 @@ public class SmtpEmailProvider implements NotificationProvider {
                     maskEmail(config.getUsername()),
                     config.getPort() == 465);
             
-            mailSender.send(mimeMessage);
+            sendOnPlatformThread(mimeMessage, config);
             
             log.info("HTML Email sent successfully via SMTP. To: {}, Subject: {}", 
                     maskEmail(request.getRecipient()), helper.getMimeMessage().getSubject());
@@ -206,6 +211,51 @@ public class SmtpEmailProvider implements NotificationProvider {
         return mailSender;
     }
     
+    /**
+     * Jakarta Mail sincroniza el transporte SMTP con métodos synchronized que envuelven la escritura al socket; en
+     * un hilo virtual eso fija el carrier durante todo el envío. Desde hilos virtuales el envío se delega a un pool
+     * de hilos de plataforma ({@code smtp.send-threads}) y el hilo virtual solo espera el resultado.
+     */
+    private void sendOnPlatformThread(MimeMessage mimeMessage, ProviderProperties.SmtpConfig config) {
+        if (!Thread.currentThread().isVirtual()) {
+            mailSender.send(mimeMessage);
+            return;
+        }
+        
+        Future<?> future = platformSender(config).submit(() -> mailSender.send(mimeMessage));
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("SMTP send interrupted", e);
+        }
+    }
+    
+    private ExecutorService platformSender(ProviderProperties.SmtpConfig config) {
+        ExecutorService executor = platformSender;
+        if (executor == null) {
+            synchronized (this) {
+                executor = platformSender;
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(
+                            Math.max(1, config.getSendThreads()),
+                            Thread.ofPlatform().name("smtp-send-", 0).daemon(true).factory());
+                    platformSender = executor;
+                }
+            }
+        }
+        return executor;
+    }
+    
     @Override
     public boolean supports(Channel channel) {
         return Channel.EMAIL == channel;
@@ -1,6 +1,8 @@
 package com.payment.service.api;
 
 import com.payment.service.api.dto.CreatePaymentRequest;
+import com.payment.service.api.dto.EntitlementBatchRequest;
+import com.payment.service.api.dto.EntitlementBatchResponse;
 import com.payment.service.api.dto.PaymentResponse;
 import com.payment.service.api.dto.PaymentValidationRequest;
 import com.payment.service.api.dto.PaymentValidationResponse;
@@ -56,4 +58,12 @@ public class PaymentController {
     public boolean checkPayment(@RequestParam String userEmail, @RequestParam Long pollaId) {
         return paymentValidationService.hasApprovedPayment(userEmail, pollaId);
     }
+
+    @PostMapping("/check/batch")
+    public EntitlementBatchResponse checkPayments(@Valid @RequestBody EntitlementBatchRequest request) {
+        return new EntitlementBatchResponse(
+                request.pollaId(),
+                paymentValidationService.checkApprovedPayments(request.pollaId(), request.userEmails())
+        );
+    }
 }
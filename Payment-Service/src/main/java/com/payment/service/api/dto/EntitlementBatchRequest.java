@@ -0,0 +1,15 @@
+package com.payment.service.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record EntitlementBatchRequest(
+        @NotNull(message = "El id de la polla es obligatorio")
+        Long pollaId,
+        @NotNull(message = "La lista de emails es obligatoria")
+        @Size(max = 1000, message = "Máximo 1000 emails por consulta")
+        List<String> userEmails
+) {
+}
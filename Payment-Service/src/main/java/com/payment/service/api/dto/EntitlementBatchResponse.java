@@ -0,0 +1,9 @@
+package com.payment.service.api.dto;
+
+import java.util.Map;
+
+public record EntitlementBatchResponse(
+        Long pollaId,
+        Map<String, Boolean> entitlements
+) {
+}
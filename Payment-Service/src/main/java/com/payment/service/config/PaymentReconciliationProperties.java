@@ -0,0 +1,103 @@
+package com.payment.service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "payments.reconciliation")
+public class PaymentReconciliationProperties {
+
+    private boolean enabled = true;
+
+    /** Pausa entre corridas (ms) */
+    private long interval = 60000;
+
+    /** Reservas sin id de Wompi más antiguas que esto se consultan por referencia (segundos) */
+    private long staleAfterSeconds = 120;
+
+    /** Si Wompi sigue sin conocer la referencia pasado este tiempo, la reserva se marca ERROR (segundos) */
+    private long abandonAfterSeconds = 3600;
+
+    private int batchSize = 100;
+
+    /** Lotes máximos por corrida (lo que quede se retoma en la siguiente) */
+    private int maxBatchesPerRun = 50;
+
+    /** Consultas de estado a Wompi por segundo */
+    private double permitsPerSecond = 5;
+
+    /** Backoff por pago: initial * 2^intentos, con tope (segundos) */
+    private long initialBackoffSeconds = 30;
+
+    private long maxBackoffSeconds = 3600;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public void setInterval(long interval) {
+        this.interval = interval;
+    }
+
+    public long getStaleAfterSeconds() {
+        return staleAfterSeconds;
+    }
+
+    public void setStaleAfterSeconds(long staleAfterSeconds) {
+        this.staleAfterSeconds = staleAfterSeconds;
+    }
+
+    public long getAbandonAfterSeconds() {
+        return abandonAfterSeconds;
+    }
+
+    public void setAbandonAfterSeconds(long abandonAfterSeconds) {
+        this.abandonAfterSeconds = abandonAfterSeconds;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public long getInitialBackoffSeconds() {
+        return initialBackoffSeconds;
+    }
+
+    public void setInitialBackoffSeconds(long initialBackoffSeconds) {
+        this.initialBackoffSeconds = initialBackoffSeconds;
+    }
+
+    public long getMaxBackoffSeconds() {
+        return maxBackoffSeconds;
+    }
+
+    public void setMaxBackoffSeconds(long maxBackoffSeconds) {
+        this.maxBackoffSeconds = maxBackoffSeconds;
+    }
+}
@@ -6,7 +6,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
 
 @Configuration
-@EnableConfigurationProperties({WompiProperties.class, ServiceUrlsProperties.class})
+@EnableConfigurationProperties({WompiProperties.class, ServiceUrlsProperties.class, PaymentReconciliationProperties.class})
 public class PaymentServiceConfig {
 
     @Bean
@@ -0,0 +1,89 @@
+package com.payment.service.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Auditoría de respuestas crudas de Wompi, fuera de la fila caliente de {@link PaymentTransaction}.
+ * El payload se guarda como JSON comprimido con GZIP y solo se lee cuando se audita un pago.
+ */
+@Entity
+@Table(name = "payment_gateway_responses", indexes = {
+        @Index(name = "idx_payment_gateway_responses_payment_id", columnList = "payment_id")
+})
+public class PaymentGatewayResponse {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "payment_id", nullable = false)
+    private UUID paymentId;
+
+    /** Origen de la respuesta: CREATE, RECONCILIATION */
+    @Column(nullable = false, length = 20)
+    private String source;
+
+    @Column(name = "wompi_status", length = 80)
+    private String wompiStatus;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(UUID paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getWompiStatus() {
+        return wompiStatus;
+    }
+
+    public void setWompiStatus(String wompiStatus) {
+        this.wompiStatus = wompiStatus;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
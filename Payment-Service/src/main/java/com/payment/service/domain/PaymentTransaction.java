@@ -6,7 +6,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -15,7 +15,9 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payment_transactions")
+@Table(name = "payment_transactions", indexes = {
+        @Index(name = "idx_payment_transactions_status_created_at", columnList = "status, created_at")
+})
 public class PaymentTransaction {
 
     @Id
@@ -50,9 +52,17 @@ public class PaymentTransaction {
     @Column(name = "wompi_status", length = 80)
     private String wompiStatus;
 
-    @Lob
-    @Column(name = "raw_response")
-    private String rawResponse;
+    /** Motivo interno cuando el pago queda en ERROR sin respuesta de Wompi (p. ej. NOT_FOUND_IN_GATEWAY) */
+    @Column(name = "error_reason", length = 80)
+    private String errorReason;
+
+    /** Consultas de estado a Wompi hechas por la reconciliación mientras el pago sigue PENDING */
+    @Column(name = "reconcile_attempts")
+    private Integer reconcileAttempts;
+
+    /** Próxima consulta permitida (backoff exponencial); null = lo antes posible */
+    @Column(name = "next_reconcile_at")
+    private OffsetDateTime nextReconcileAt;
 
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
@@ -148,12 +158,28 @@ public class PaymentTransaction {
         this.wompiStatus = wompiStatus;
     }
 
-    public String getRawResponse() {
-        return rawResponse;
+    public String getErrorReason() {
+        return errorReason;
+    }
+
+    public void setErrorReason(String errorReason) {
+        this.errorReason = errorReason;
+    }
+
+    public int getReconcileAttempts() {
+        return reconcileAttempts == null ? 0 : reconcileAttempts;
+    }
+
+    public void setReconcileAttempts(int reconcileAttempts) {
+        this.reconcileAttempts = reconcileAttempts;
+    }
+
+    public OffsetDateTime getNextReconcileAt() {
+        return nextReconcileAt;
     }
 
-    public void setRawResponse(String rawResponse) {
-        this.rawResponse = rawResponse;
+    public void setNextReconcileAt(OffsetDateTime nextReconcileAt) {
+        this.nextReconcileAt = nextReconcileAt;
     }
 
     public OffsetDateTime getCreatedAt() {
@@ -0,0 +1,63 @@
+package com.payment.service.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Derecho de un usuario a participar en una polla paga: existe una fila por (email normalizado, polla) con
+ * pago APPROVED. Reemplaza la consulta case-insensitive sobre {@code payment_transactions}.
+ */
+@Entity
+@Table(name = "polla_entitlements",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_polla_entitlements_email_polla", columnNames = {"email_normalized", "polla_id"}),
+                @UniqueConstraint(name = "uk_polla_entitlements_payment_id", columnNames = "payment_id")
+        },
+        indexes = @Index(name = "idx_polla_entitlements_polla_id", columnList = "polla_id"))
+public class PollaEntitlement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "email_normalized", nullable = false, length = 150)
+    private String emailNormalized;
+
+    @Column(name = "polla_id", nullable = false)
+    private Long pollaId;
+
+    @Column(name = "payment_id", nullable = false)
+    private UUID paymentId;
+
+    @Column(name = "granted_at", nullable = false)
+    private OffsetDateTime grantedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmailNormalized() {
+        return emailNormalized;
+    }
+
+    public Long getPollaId() {
+        return pollaId;
+    }
+
+    public UUID getPaymentId() {
+        return paymentId;
+    }
+
+    public OffsetDateTime getGrantedAt() {
+        return grantedAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.payment.service.exception;
+
+/**
+ * Wompi respondió con un error 4xx: la transacción con certeza no se creó (a diferencia de un timeout o 5xx,
+ * donde el resultado es desconocido y queda para la reconciliación).
+ */
+public class PaymentGatewayRejectedException extends ExternalPaymentGatewayException {
+
+    public PaymentGatewayRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,10 +2,12 @@ package com.payment.service.integration;
 
 import com.payment.service.config.WompiProperties;
 import com.payment.service.exception.ExternalPaymentGatewayException;
+import com.payment.service.exception.PaymentGatewayRejectedException;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
 import java.util.Map;
@@ -31,8 +33,43 @@ public class WompiClient {
                     .retrieve()
                     .body(new ParameterizedTypeReference<>() {
                     });
+        } catch (HttpClientErrorException ex) {
+            throw new PaymentGatewayRejectedException("Wompi rechazó la transacción: " + ex.getStatusCode(), ex);
         } catch (Exception ex) {
             throw new ExternalPaymentGatewayException("Error al crear la transacción en Wompi", ex);
         }
     }
+
+    /**
+     * Estado actual de una transacción de Wompi (respuesta {@code {"data": {...}}}).
+     */
+    public Map<String, Object> getTransaction(String transactionId) {
+        try {
+            return restClient.get()
+                    .uri("/v1/transactions/{id}", transactionId)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<>() {
+                    });
+        } catch (Exception ex) {
+            throw new ExternalPaymentGatewayException("Error al consultar la transacción en Wompi", ex);
+        }
+    }
+
+    /**
+     * Transacciones de Wompi con la referencia dada (respuesta {@code {"data": [...]}}).
+     */
+    public Map<String, Object> findTransactionsByReference(String reference) {
+        try {
+            return restClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/v1/transactions")
+                            .queryParam("reference", reference)
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + wompiProperties.resolvePrivateKey())
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<>() {
+                    });
+        } catch (Exception ex) {
+            throw new ExternalPaymentGatewayException("Error al consultar la transacción en Wompi", ex);
+        }
+    }
 }
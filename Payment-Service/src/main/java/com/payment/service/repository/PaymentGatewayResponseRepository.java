@@ -0,0 +1,12 @@
+package com.payment.service.repository;
+
+import com.payment.service.domain.PaymentGatewayResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface PaymentGatewayResponseRepository extends JpaRepository<PaymentGatewayResponse, Long> {
+
+    List<PaymentGatewayResponse> findByPaymentIdOrderByCreatedAtAsc(UUID paymentId);
+}
@@ -0,0 +1,40 @@
+package com.payment.service.repository;
+
+import com.payment.service.domain.PaymentOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxEvent, Long> {
+
+    /**
+     * Siguiente lote pendiente en orden de inserción, sin reclamo vigente ni dead-letter. SKIP LOCKED permite
+     * que varias instancias del relay reclamen lotes a la vez sin tomar el mismo.
+     */
+    @Query(value = """
+            SELECT * FROM payment_outbox
+            WHERE sent_at IS NULL
+              AND dead_lettered_at IS NULL
+              AND (claimed_until IS NULL OR claimed_until < :now)
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PaymentOutboxEvent> lockNextBatch(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    long countBySentAtIsNullAndDeadLetteredAtIsNull();
+
+    long countByDeadLetteredAtIsNotNull();
+
+    @Modifying
+    @Query("DELETE FROM PaymentOutboxEvent e WHERE e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") OffsetDateTime cutoff);
+
+    @Query("SELECT MIN(e.createdAt) FROM PaymentOutboxEvent e WHERE e.sentAt IS NULL AND e.deadLetteredAt IS NULL")
+    Optional<OffsetDateTime> findOldestUnsentCreatedAt();
+}
@@ -2,8 +2,18 @@ package com.payment.service.repository;
 
 import com.payment.service.domain.PaymentStatus;
 import com.payment.service.domain.PaymentTransaction;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,5 +23,42 @@ public interface PaymentTransactionRepository extends JpaRepository<PaymentTrans
 
     boolean existsByReference(String reference);
 
-    boolean existsByCustomerEmailIgnoreCaseAndPollaIdAndStatus(String customerEmail, Long pollaId, PaymentStatus status);
+    /**
+     * Bloquea el pago para la reconciliación (FOR UPDATE SKIP LOCKED). Vacío si otra instancia lo tiene tomado:
+     * esa instancia aplica el cambio y esta lo salta.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM PaymentTransaction p WHERE p.id = :id")
+    Optional<PaymentTransaction> findByIdForUpdateSkipLocked(@Param("id") UUID id);
+
+    /**
+     * Versión por lote de {@link #findByIdForUpdateSkipLocked}: devuelve solo los pagos que pudo bloquear.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM PaymentTransaction p WHERE p.id IN :ids")
+    List<PaymentTransaction> findAllByIdForUpdateSkipLocked(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Reservas que nunca recibieron id de Wompi (caída o timeout entre la reserva y la respuesta del gateway).
+     */
+    List<PaymentTransaction> findByStatusAndWompiTransactionIdIsNullAndCreatedAtBefore(
+            PaymentStatus status, OffsetDateTime createdBefore, Pageable pageable);
+
+    /**
+     * Siguiente lote (keyset por createdAt, id) de pagos con id de Wompi cuyo estado toca consultar.
+     */
+    @Query("SELECT p FROM PaymentTransaction p " +
+            "WHERE p.status = :status " +
+            "AND p.wompiTransactionId IS NOT NULL " +
+            "AND (p.nextReconcileAt IS NULL OR p.nextReconcileAt <= :now) " +
+            "AND (p.createdAt > :afterCreatedAt OR (p.createdAt = :afterCreatedAt AND p.id > :afterId)) " +
+            "ORDER BY p.createdAt, p.id")
+    List<PaymentTransaction> findReconciliationBatch(
+            @Param("status") PaymentStatus status,
+            @Param("now") OffsetDateTime now,
+            @Param("afterCreatedAt") OffsetDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
 }
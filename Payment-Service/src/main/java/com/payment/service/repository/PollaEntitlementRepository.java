@@ -0,0 +1,30 @@
+package com.payment.service.repository;
+
+import com.payment.service.domain.PollaEntitlement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PollaEntitlementRepository extends JpaRepository<PollaEntitlement, Long> {
+
+    boolean existsByEmailNormalizedAndPollaId(String emailNormalized, Long pollaId);
+
+    @Query("SELECT e.emailNormalized FROM PollaEntitlement e WHERE e.pollaId = :pollaId AND e.emailNormalized IN :emails")
+    List<String> findEntitledEmails(@Param("pollaId") Long pollaId, @Param("emails") Collection<String> emails);
+
+    /**
+     * Idempotente: un segundo pago aprobado para la misma (email, polla) no falla ni duplica, y un pago que ya
+     * otorgó su derecho ({@code uk_polla_entitlements_payment_id}) no otorga otro.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO polla_entitlements (email_normalized, polla_id, payment_id, granted_at) " +
+            "VALUES (:email, :pollaId, :paymentId, now()) " +
+            "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int grant(@Param("email") String emailNormalized, @Param("pollaId") Long pollaId, @Param("paymentId") UUID paymentId);
+}
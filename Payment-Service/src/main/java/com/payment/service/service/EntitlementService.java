@@ -0,0 +1,160 @@
+package com.payment.service.service;
+
+import com.payment.service.domain.PaymentStatus;
+import com.payment.service.domain.PaymentTransaction;
+import com.payment.service.repository.PollaEntitlementRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derechos de participación en pollas pagas, keyed por (email normalizado, pollaId).
+ *
+ * Se otorgan al aprobarse un pago (validación o reconciliación) y se consultan desde una cache en memoria:
+ * positivos con TTL largo (un derecho no se revoca) y negativos con TTL corto, para que un pago recién aprobado
+ * en otra instancia se vea en segundos. Las consultas no abren transacción: un acierto en cache no toma conexión
+ * del pool, y solo los fallos van a la base en una transacción de lectura propia.
+ */
+@Service
+public class EntitlementService {
+
+    private final PollaEntitlementRepository repository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Map<Key, CachedEntitlement> cache = new ConcurrentHashMap<>();
+
+    @Value("${payments.entitlements.cache.positive-ttl-ms:3600000}")
+    private long positiveTtlMillis;
+
+    @Value("${payments.entitlements.cache.negative-ttl-ms:30000}")
+    private long negativeTtlMillis;
+
+    @Value("${payments.entitlements.cache.max-size:50000}")
+    private int maxSize;
+
+    public EntitlementService(PollaEntitlementRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Registra el derecho si el pago está APPROVED y asociado a una polla. Debe llamarse dentro de la
+     * transacción que aprueba/asocia el pago; la cache se actualiza solo después del commit.
+     */
+    @Transactional
+    public void grantIfApproved(PaymentTransaction payment) {
+        if (payment.getStatus() != PaymentStatus.APPROVED
+                || payment.getPollaId() == null
+                || payment.getCustomerEmail() == null) {
+            return;
+        }
+        Key key = new Key(normalize(payment.getCustomerEmail()), payment.getPollaId());
+        repository.grant(key.email(), key.pollaId(), payment.getId());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(key, true);
+                }
+            });
+        } else {
+            put(key, true);
+        }
+    }
+
+    public boolean hasEntitlement(String userEmail, Long pollaId) {
+        if (userEmail == null || userEmail.isBlank() || pollaId == null) {
+            return false;
+        }
+        Key key = new Key(normalize(userEmail), pollaId);
+        CachedEntitlement cached = cache.get(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached.entitled();
+        }
+        boolean entitled = Boolean.TRUE.equals(
+                readOnlyTx.execute(status -> repository.existsByEmailNormalizedAndPollaId(key.email(), pollaId)));
+        put(key, entitled);
+        return entitled;
+    }
+
+    /**
+     * Estado de varios participantes de una polla con una sola consulta para los que no están en cache.
+     *
+     * @return email (tal como llegó) -> tiene derecho
+     */
+    public Map<String, Boolean> checkBatch(Long pollaId, Collection<String> userEmails) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        Map<String, List<String>> missesByNormalized = new LinkedHashMap<>();
+
+        for (String email : userEmails) {
+            if (email == null || email.isBlank()) {
+                continue;
+            }
+            String normalized = normalize(email);
+            CachedEntitlement cached = cache.get(new Key(normalized, pollaId));
+            if (cached != null && !cached.isExpired()) {
+                result.put(email, cached.entitled());
+            } else {
+                result.put(email, false);
+                missesByNormalized.computeIfAbsent(normalized, k -> new ArrayList<>()).add(email);
+            }
+        }
+
+        if (!missesByNormalized.isEmpty()) {
+            Set<String> entitled = readOnlyTx.execute(status ->
+                    new HashSet<>(repository.findEntitledEmails(pollaId, missesByNormalized.keySet())));
+            missesByNormalized.forEach((normalized, originals) -> {
+                boolean hit = entitled.contains(normalized);
+                put(new Key(normalized, pollaId), hit);
+                for (String original : originals) {
+                    result.put(original, hit);
+                }
+            });
+        }
+        return result;
+    }
+
+    private void put(Key key, boolean entitled) {
+        if (cache.size() >= maxSize) {
+            cache.values().removeIf(CachedEntitlement::isExpired);
+            // Sigue llena: descartar entradas arbitrarias (se recargan en el siguiente acceso)
+            Iterator<Key> it = cache.keySet().iterator();
+            while (cache.size() >= maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        long ttl = entitled ? positiveTtlMillis : negativeTtlMillis;
+        cache.put(key, new CachedEntitlement(entitled, System.currentTimeMillis() + ttl));
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String email, Long pollaId) {
+    }
+
+    private record CachedEntitlement(boolean entitled, long expiresAt) {
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
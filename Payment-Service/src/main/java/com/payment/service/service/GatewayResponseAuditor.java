@@ -0,0 +1,84 @@
+package com.payment.service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payment.service.domain.PaymentGatewayResponse;
+import com.payment.service.domain.PaymentTransaction;
+import com.payment.service.repository.PaymentGatewayResponseRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Guarda las respuestas crudas de Wompi (JSON + GZIP) en {@code payment_gateway_responses}.
+ */
+@Component
+public class GatewayResponseAuditor {
+
+    static final String SOURCE_CREATE = "CREATE";
+    static final String SOURCE_RECONCILIATION = "RECONCILIATION";
+
+    private final PaymentGatewayResponseRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public GatewayResponseAuditor(PaymentGatewayResponseRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public void record(PaymentTransaction payment, String source, Map<String, Object> rawResponse) {
+        PaymentGatewayResponse response = new PaymentGatewayResponse();
+        response.setPaymentId(payment.getId());
+        response.setSource(source);
+        response.setWompiStatus(payment.getWompiStatus());
+        response.setPayload(compress(toJson(rawResponse)));
+        repository.save(response);
+    }
+
+    /**
+     * Respuestas crudas de un pago, descomprimidas, en orden cronológico.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findPayloads(UUID paymentId) {
+        return repository.findByPaymentIdOrderByCreatedAtAsc(paymentId).stream()
+                .map(response -> decompress(response.getPayload()))
+                .toList();
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+
+    static byte[] compress(String json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, json.length() / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String decompress(byte[] payload) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
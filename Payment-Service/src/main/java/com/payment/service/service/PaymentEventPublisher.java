@@ -1,31 +1,73 @@
 package com.payment.service.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payment.service.domain.PaymentOutboxEvent;
+import com.payment.service.domain.PaymentStatus;
 import com.payment.service.domain.PaymentTransaction;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Value;
+import com.payment.service.repository.PaymentOutboxRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Registra eventos de pago en el outbox ({@code payment_outbox}) dentro de la transacción que cambia el pago.
+ * Nada se envía a RabbitMQ aquí: {@link PaymentOutboxRelay} publica los eventos con confirmación del broker, así
+ * una caída del broker ni pierde el evento ni revierte un pago ya cobrado.
+ */
 @Component
 public class PaymentEventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    static final String PAYMENT_CREATED = "payments.created";
+    static final String PAYMENT_STATUS_CHANGED = "payments.status-changed";
 
-    @Value("${rabbitmq.exchange}")
-    private String exchange;
+    private final PaymentOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
-    public PaymentEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public PaymentEventPublisher(PaymentOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishPaymentCreated(PaymentTransaction paymentTransaction) {
-        Map<String, Object> payload = Map.of(
-                "id", paymentTransaction.getId(),
-                "reference", paymentTransaction.getReference(),
-                "status", paymentTransaction.getStatus().name(),
-                "wompiTransactionId", paymentTransaction.getWompiTransactionId() == null ? "" : paymentTransaction.getWompiTransactionId()
-        );
-        rabbitTemplate.convertAndSend(exchange, "payments.created", payload);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", paymentTransaction.getId());
+        payload.put("reference", paymentTransaction.getReference());
+        payload.put("status", paymentTransaction.getStatus().name());
+        payload.put("wompiTransactionId", paymentTransaction.getWompiTransactionId() == null ? "" : paymentTransaction.getWompiTransactionId());
+        enqueue(paymentTransaction, PAYMENT_CREATED, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishPaymentStatusChanged(PaymentTransaction paymentTransaction, PaymentStatus previousStatus) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", paymentTransaction.getId());
+        payload.put("reference", paymentTransaction.getReference());
+        payload.put("previousStatus", previousStatus.name());
+        payload.put("status", paymentTransaction.getStatus().name());
+        payload.put("wompiTransactionId", paymentTransaction.getWompiTransactionId() == null ? "" : paymentTransaction.getWompiTransactionId());
+        payload.put("customerEmail", paymentTransaction.getCustomerEmail());
+        payload.put("pollaId", paymentTransaction.getPollaId() == null ? "" : paymentTransaction.getPollaId());
+        enqueue(paymentTransaction, PAYMENT_STATUS_CHANGED, payload);
+    }
+
+    private void enqueue(PaymentTransaction paymentTransaction, String routingKey, Map<String, Object> payload) {
+        PaymentOutboxEvent event = new PaymentOutboxEvent();
+        event.setPaymentId(paymentTransaction.getId());
+        event.setRoutingKey(routingKey);
+        event.setPayload(toJson(payload));
+        outboxRepository.save(event);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de pago", e);
+        }
     }
 }
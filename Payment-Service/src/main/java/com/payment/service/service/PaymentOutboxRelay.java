@@ -0,0 +1,227 @@
+package com.payment.service.service;
+
+import com.payment.service.domain.PaymentOutboxEvent;
+import com.payment.service.repository.PaymentOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica el outbox de pagos a RabbitMQ.
+ *
+ * Cada lote se reclama en una transacción corta ({@code FOR UPDATE SKIP LOCKED} + {@code claimed_until}), se envía
+ * por un solo canal y se espera la confirmación del broker ({@code waitForConfirmsOrDie}) ya sin locks ni conexión
+ * tomados; otra transacción corta marca las filas como enviadas. Si el broker no confirma, el lote vuelve a la cola
+ * y se reintenta; un evento que llega a {@code max-attempts} se aparta como dead-letter para no bloquear a los
+ * siguientes. Si el relay cae a mitad de camino, el reclamo vence y otro lo retoma: la entrega es
+ * al-menos-una-vez y el consumidor deduplica por {@code messageId} (id del outbox).
+ */
+@Component
+public class PaymentOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentOutboxRelay.class);
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter published;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong deadLetterBacklog = new AtomicLong();
+
+    @Value("${rabbitmq.exchange}")
+    private String exchange;
+
+    @Value("${payments.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payments.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${payments.outbox.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${payments.outbox.claim-lease-ms:30000}")
+    private long claimLeaseMs;
+
+    @Value("${payments.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${payments.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public PaymentOutboxRelay(
+            PaymentOutboxRepository outboxRepository,
+            RabbitTemplate rabbitTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.published = Counter.builder("payments.outbox.published")
+                .description("Eventos del outbox publicados y confirmados por el broker")
+                .register(meterRegistry);
+        this.failed = Counter.builder("payments.outbox.failed")
+                .description("Eventos cuyo lote no fue confirmado (se reintentan)")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("payments.outbox.dead_lettered")
+                .description("Eventos apartados tras agotar max-attempts")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("payments.outbox.batch.duration")
+                .description("Duración de publicar y confirmar un lote")
+                .register(meterRegistry);
+        Gauge.builder("payments.outbox.pending", pending, AtomicLong::get)
+                .description("Eventos del outbox sin publicar")
+                .register(meterRegistry);
+        Gauge.builder("payments.outbox.lag.seconds", lagMillis, v -> v.get() / 1000.0)
+                .description("Antigüedad del evento sin publicar más viejo")
+                .register(meterRegistry);
+        Gauge.builder("payments.outbox.dead_letter", deadLetterBacklog, AtomicLong::get)
+                .description("Eventos en dead-letter a la espera de revisión manual")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${payments.outbox.interval:1000}",
+            fixedDelayString = "${payments.outbox.interval:1000}")
+    public void relay() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int sent = publishNextBatch();
+            if (sent < batchSize) {
+                break;
+            }
+        }
+        refreshBacklogMetrics();
+    }
+
+    /**
+     * @return eventos publicados en el lote, o -1 si el broker no confirmó
+     */
+    private int publishNextBatch() {
+        List<PaymentOutboxEvent> events = transactionTemplate.execute(status -> claimNextBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PaymentOutboxEvent event : events) {
+                    operations.send(exchange, event.getRoutingKey(), toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                return null;
+            });
+        } catch (AmqpException e) {
+            failed.increment(events.size());
+            transactionTemplate.executeWithoutResult(status -> releaseFailed(events, e.getMessage()));
+            log.warn("Outbox batch of {} events not confirmed by broker: {}", events.size(), e.getMessage());
+            return -1;
+        } finally {
+            sample.stop(batchTimer);
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        for (PaymentOutboxEvent event : events) {
+            event.setSentAt(now);
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(null);
+            event.setClaimedUntil(null);
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(events));
+        published.increment(events.size());
+        return events.size();
+    }
+
+    /**
+     * Reclama el siguiente lote: el lease lo aparta de otros relays sin mantener el lock durante el envío.
+     */
+    private List<PaymentOutboxEvent> claimNextBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PaymentOutboxEvent> events = outboxRepository.lockNextBatch(now, Math.max(1, batchSize));
+        // El lease cubre el envío y la espera de confirmación; si vence antes, otro relay puede reenviar (duplicado
+        // tolerado por messageId)
+        Duration lease = Duration.ofMillis(Math.max(claimLeaseMs, 2 * confirmTimeoutMs));
+        OffsetDateTime claimedUntil = now.plus(lease);
+        for (PaymentOutboxEvent event : events) {
+            event.setClaimedUntil(claimedUntil);
+        }
+        return outboxRepository.saveAll(events);
+    }
+
+    private void releaseFailed(List<PaymentOutboxEvent> events, String message) {
+        OffsetDateTime now = OffsetDateTime.now();
+        String error = truncate(message);
+        for (PaymentOutboxEvent event : events) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(error);
+            event.setClaimedUntil(null);
+            if (event.getAttempts() >= Math.max(1, maxAttempts)) {
+                event.setDeadLetteredAt(now);
+                deadLettered.increment();
+                log.error("Outbox event {} ({}) moved to dead-letter after {} attempts: {}",
+                        event.getId(), event.getRoutingKey(), event.getAttempts(), error);
+            }
+        }
+        outboxRepository.saveAll(events);
+    }
+
+    @Scheduled(cron = "${payments.outbox.cleanup-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(OffsetDateTime.now().minusDays(retentionDays)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private void refreshBacklogMetrics() {
+        pending.set(outboxRepository.countBySentAtIsNullAndDeadLetteredAtIsNull());
+        deadLetterBacklog.set(outboxRepository.countByDeadLetteredAtIsNotNull());
+        lagMillis.set(outboxRepository.findOldestUnsentCreatedAt()
+                .map(oldest -> Math.max(0, Duration.between(oldest, OffsetDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    private static Message toMessage(PaymentOutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(String.valueOf(event.getId()))
+                .setHeader("paymentId", event.getPaymentId().toString())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
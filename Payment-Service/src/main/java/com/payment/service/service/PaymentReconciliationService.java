@@ -0,0 +1,208 @@
+package com.payment.service.service;
+
+import com.payment.service.config.PaymentReconciliationProperties;
+import com.payment.service.domain.PaymentStatus;
+import com.payment.service.domain.PaymentTransaction;
+import com.payment.service.exception.ExternalPaymentGatewayException;
+import com.payment.service.integration.WompiClient;
+import com.payment.service.repository.PaymentTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reconciliación periódica de pagos PENDING contra Wompi.
+ *
+ * <ul>
+ *   <li>Reservas sin id de Wompi (el proceso cayó o la llamada expiró entre la reserva y la actualización): se
+ *   consulta por referencia; si pasado {@code abandon-after-seconds} Wompi sigue sin conocerla, se marca ERROR.
+ *   Un cambio de estado emite {@code payments.status-changed}.</li>
+ *   <li>Pagos con id de Wompi aún PENDING: se recorren en lotes keyset (createdAt, id), se consulta su estado con
+ *   un límite de consultas por segundo y cada pago que sigue PENDING se reprograma con backoff exponencial. Los
+ *   cambios de un lote se guardan en una sola transacción junto con sus eventos {@code payments.status-changed}.</li>
+ * </ul>
+ *
+ * Varias instancias pueden reconciliar a la vez: cada escritura bloquea los pagos con FOR UPDATE SKIP LOCKED y
+ * vuelve a comprobar su estado dentro de la transacción, así un mismo cambio se aplica y se publica una sola vez.
+ */
+@Service
+public class PaymentReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentReconciliationService.class);
+
+    private final PaymentTransactionRepository repository;
+    private final PaymentTransactionWriter writer;
+    private final WompiClient wompiClient;
+    private final PaymentReconciliationProperties properties;
+
+    // Lock y no synchronized: la espera entre permisos no debe fijar el carrier cuando corre en un hilo virtual
+    private final ReentrantLock permitLock = new ReentrantLock();
+    private long nextPermitAt = System.nanoTime();
+
+    public PaymentReconciliationService(
+            PaymentTransactionRepository repository,
+            PaymentTransactionWriter writer,
+            WompiClient wompiClient,
+            PaymentReconciliationProperties properties
+    ) {
+        this.repository = repository;
+        this.writer = writer;
+        this.wompiClient = wompiClient;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelayString = "${payments.reconciliation.interval:60000}",
+            fixedDelayString = "${payments.reconciliation.interval:60000}")
+    public void reconcile() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        reconcileStaleReservations();
+        reconcilePendingPayments();
+    }
+
+    void reconcileStaleReservations() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PaymentTransaction> stale = repository.findByStatusAndWompiTransactionIdIsNullAndCreatedAtBefore(
+                PaymentStatus.PENDING,
+                now.minusSeconds(properties.getStaleAfterSeconds()),
+                PageRequest.of(0, Math.max(1, properties.getBatchSize()), Sort.by("createdAt"))
+        );
+
+        for (PaymentTransaction payment : stale) {
+            try {
+                acquirePermit();
+                reconcileReservation(payment, now);
+            } catch (ExternalPaymentGatewayException e) {
+                // Wompi no disponible: se reintenta en la próxima corrida
+                log.warn("Could not reconcile payment {}: {}", payment.getReference(), e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error reconciling payment {}", payment.getReference(), e);
+            }
+        }
+    }
+
+    private void reconcileReservation(PaymentTransaction payment, OffsetDateTime now) {
+        Map<String, Object> response = wompiClient.findTransactionsByReference(payment.getReference());
+        Map<String, Object> transaction = firstTransaction(response);
+
+        if (transaction != null) {
+            writer.applyGatewayTransaction(payment.getId(), transaction)
+                    .ifPresent(updated -> log.info("Reconciled payment {} -> {}", updated.getReference(), updated.getStatus()));
+            return;
+        }
+
+        if (payment.getCreatedAt().isBefore(now.minusSeconds(properties.getAbandonAfterSeconds()))
+                && writer.markAbandoned(payment.getId(), "NOT_FOUND_IN_GATEWAY")) {
+            log.warn("Payment reservation {} never reached Wompi; marked as ERROR", payment.getReference());
+        }
+    }
+
+    void reconcilePendingPayments() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime afterCreatedAt = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        UUID afterId = new UUID(0L, 0L);
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int checked = 0;
+        int changed = 0;
+
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            List<PaymentTransaction> pending = repository.findReconciliationBatch(
+                    PaymentStatus.PENDING, now, afterCreatedAt, afterId, PageRequest.of(0, batchSize));
+            if (pending.isEmpty()) {
+                break;
+            }
+
+            List<PaymentTransactionWriter.StatusCheck> checks = new ArrayList<>(pending.size());
+            for (PaymentTransaction payment : pending) {
+                checks.add(new PaymentTransactionWriter.StatusCheck(payment.getId(), fetchStatus(payment)));
+            }
+
+            List<PaymentTransactionWriter.StatusChange> changes =
+                    writer.applyStatusChecks(checks, OffsetDateTime.now(), this::backoff);
+
+            checked += pending.size();
+            changed += changes.size();
+            PaymentTransaction last = pending.get(pending.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+            if (pending.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (checked > 0) {
+            log.info("Payment reconciliation: checked {} pending payments, {} changed status", checked, changed);
+        }
+    }
+
+    /**
+     * Estado actual en Wompi, o null si la consulta falló (el pago se reprograma con backoff).
+     */
+    private Map<String, Object> fetchStatus(PaymentTransaction payment) {
+        try {
+            acquirePermit();
+            return PaymentTransactionWriter.extractData(wompiClient.getTransaction(payment.getWompiTransactionId()));
+        } catch (ExternalPaymentGatewayException e) {
+            log.warn("Could not fetch Wompi status for payment {}: {}", payment.getReference(), e.getMessage());
+            return null;
+        }
+    }
+
+    Duration backoff(int attempts) {
+        long initial = Math.max(1, properties.getInitialBackoffSeconds());
+        long max = Math.max(initial, properties.getMaxBackoffSeconds());
+        int shift = Math.min(Math.max(0, attempts - 1), 30);
+        return Duration.ofSeconds(Math.min(max, initial << shift));
+    }
+
+    /**
+     * Limita las consultas a Wompi a {@code permits-per-second}, espaciándolas uniformemente.
+     */
+    private void acquirePermit() {
+        double permitsPerSecond = properties.getPermitsPerSecond();
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        permitLock.lock();
+        try {
+            long now = System.nanoTime();
+            long wait = nextPermitAt - now;
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Reconciliation interrupted", e);
+                }
+            }
+            nextPermitAt = Math.max(now, nextPermitAt) + intervalNanos;
+        } finally {
+            permitLock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> firstTransaction(Map<String, Object> response) {
+        Object data = response == null ? null : response.get("data");
+        if (data instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof Map<?, ?> first) {
+            return (Map<String, Object>) first;
+        }
+        return null;
+    }
+}
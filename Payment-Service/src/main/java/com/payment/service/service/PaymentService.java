@@ -3,14 +3,13 @@ package com.payment.service.service;
 import com.payment.service.api.dto.CreatePaymentRequest;
 import com.payment.service.api.dto.PaymentResponse;
 import com.payment.service.config.WompiProperties;
-import com.payment.service.domain.PaymentStatus;
 import com.payment.service.domain.PaymentTransaction;
 import com.payment.service.exception.DuplicatePaymentReferenceException;
+import com.payment.service.exception.PaymentGatewayRejectedException;
 import com.payment.service.exception.ResourceNotFoundException;
 import com.payment.service.integration.WompiClient;
 import com.payment.service.repository.PaymentTransactionRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,41 +20,31 @@ import java.util.UUID;
 public class PaymentService {
 
     private final PaymentTransactionRepository repository;
+    private final PaymentTransactionWriter writer;
     private final WompiClient wompiClient;
     private final WompiSignatureService wompiSignatureService;
     private final WompiProperties wompiProperties;
-    private final PaymentEventPublisher paymentEventPublisher;
-    private final ObjectMapper objectMapper;
 
     public PaymentService(
             PaymentTransactionRepository repository,
+            PaymentTransactionWriter writer,
             WompiClient wompiClient,
             WompiSignatureService wompiSignatureService,
-            WompiProperties wompiProperties,
-            PaymentEventPublisher paymentEventPublisher,
-            ObjectMapper objectMapper
+            WompiProperties wompiProperties
     ) {
         this.repository = repository;
+        this.writer = writer;
         this.wompiClient = wompiClient;
         this.wompiSignatureService = wompiSignatureService;
         this.wompiProperties = wompiProperties;
-        this.paymentEventPublisher = paymentEventPublisher;
-        this.objectMapper = objectMapper;
     }
 
-    @Transactional
+    /**
+     * Flujo en dos fases para no retener una conexión del pool mientras Wompi responde:
+     * reserva PENDING (transacción corta) -> llamada a Wompi sin transacción -> UPDATE con el resultado.
+     * Si el proceso cae o Wompi no responde entre fases, {@link PaymentReconciliationService} resuelve la reserva.
+     */
     public PaymentResponse createPayment(CreatePaymentRequest request) {
-        if (repository.existsByReference(request.reference())) {
-            throw new DuplicatePaymentReferenceException(request.reference());
-        }
-
-        PaymentTransaction payment = new PaymentTransaction();
-        payment.setReference(request.reference());
-        payment.setAmountInCents(request.amountInCents());
-        payment.setCurrency(request.currency());
-        payment.setCustomerEmail(request.customerEmail());
-        payment.setStatus(PaymentStatus.PENDING);
-
         String signature = wompiSignatureService.generate(
                 request.reference(),
                 request.amountInCents(),
@@ -63,6 +52,13 @@ public class PaymentService {
                 wompiProperties.resolveIntegrityKey()
         );
 
+        PaymentTransaction reserved;
+        try {
+            reserved = writer.reserve(request);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicatePaymentReferenceException(request.reference());
+        }
+
         Map<String, Object> payload = Map.of(
                 "amount_in_cents", request.amountInCents(),
                 "currency", request.currency(),
@@ -74,16 +70,16 @@ public class PaymentService {
                 "signature", signature
         );
 
-        Map<String, Object> wompiResponse = wompiClient.createTransaction(payload);
-        Map<String, Object> data = extractData(wompiResponse);
-
-        payment.setWompiTransactionId(stringValue(data.get("id")));
-        payment.setWompiStatus(stringValue(data.get("status")));
-        payment.setStatus(resolveStatus(payment.getWompiStatus()));
-        payment.setRawResponse(toJson(wompiResponse));
+        Map<String, Object> wompiResponse;
+        try {
+            wompiResponse = wompiClient.createTransaction(payload);
+        } catch (PaymentGatewayRejectedException e) {
+            writer.markError(reserved.getId(), "REJECTED");
+            throw e;
+        }
+        // Timeout/5xx: el resultado es desconocido; la reserva queda PENDING para la reconciliación
 
-        PaymentTransaction saved = repository.save(payment);
-        paymentEventPublisher.publishPaymentCreated(saved);
+        PaymentTransaction saved = writer.applyGatewayResponse(reserved.getId(), wompiResponse);
         return mapToResponse(saved);
     }
 
@@ -101,38 +97,6 @@ public class PaymentService {
         return mapToResponse(payment);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> extractData(Map<String, Object> wompiResponse) {
-        Object data = wompiResponse.get("data");
-        if (data instanceof Map<?, ?> mapData) {
-            return (Map<String, Object>) mapData;
-        }
-        return Map.of();
-    }
-
-    private String toJson(Map<String, Object> payload) {
-        try {
-            return objectMapper.writeValueAsString(payload);
-        } catch (JsonProcessingException e) {
-            return "{}";
-        }
-    }
-
-    private String stringValue(Object value) {
-        return value == null ? null : String.valueOf(value);
-    }
-
-    private PaymentStatus resolveStatus(String wompiStatus) {
-        if (wompiStatus == null) {
-            return PaymentStatus.ERROR;
-        }
-        return switch (wompiStatus.toUpperCase()) {
-            case "APPROVED" -> PaymentStatus.APPROVED;
-            case "DECLINED", "VOIDED", "ERROR" -> PaymentStatus.DECLINED;
-            default -> PaymentStatus.PENDING;
-        };
-    }
-
     private PaymentResponse mapToResponse(PaymentTransaction payment) {
         return new PaymentResponse(
                 payment.getId(),
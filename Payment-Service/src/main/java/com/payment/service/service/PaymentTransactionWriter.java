@@ -0,0 +1,225 @@
+package com.payment.service.service;
+
+import com.payment.service.api.dto.CreatePaymentRequest;
+import com.payment.service.domain.PaymentStatus;
+import com.payment.service.domain.PaymentTransaction;
+import com.payment.service.exception.ResourceNotFoundException;
+import com.payment.service.repository.PaymentTransactionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Transacciones cortas del flujo de pago. Ninguna llamada HTTP a Wompi ocurre dentro de estos métodos:
+ * la conexión del pool solo se retiene para el INSERT de la reserva y para el UPDATE con el resultado.
+ */
+@Component
+public class PaymentTransactionWriter {
+
+    private final PaymentTransactionRepository repository;
+    private final PaymentEventPublisher paymentEventPublisher;
+    private final EntitlementService entitlementService;
+    private final GatewayResponseAuditor gatewayResponseAuditor;
+
+    public PaymentTransactionWriter(
+            PaymentTransactionRepository repository,
+            PaymentEventPublisher paymentEventPublisher,
+            EntitlementService entitlementService,
+            GatewayResponseAuditor gatewayResponseAuditor
+    ) {
+        this.repository = repository;
+        this.paymentEventPublisher = paymentEventPublisher;
+        this.entitlementService = entitlementService;
+        this.gatewayResponseAuditor = gatewayResponseAuditor;
+    }
+
+    /**
+     * Fase 1: reserva la referencia con una fila PENDING. La unicidad la garantiza el constraint de
+     * {@code reference}; un duplicado falla en el flush con {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    @Transactional
+    public PaymentTransaction reserve(CreatePaymentRequest request) {
+        PaymentTransaction payment = new PaymentTransaction();
+        payment.setReference(request.reference());
+        payment.setAmountInCents(request.amountInCents());
+        payment.setCurrency(request.currency());
+        payment.setCustomerEmail(request.customerEmail());
+        payment.setStatus(PaymentStatus.PENDING);
+        return repository.saveAndFlush(payment);
+    }
+
+    /**
+     * Fase 2: aplica la respuesta de Wompi ({@code {"data": {...}}}) a la reserva y registra
+     * {@code payments.created} en el outbox dentro de la misma transacción.
+     */
+    @Transactional
+    public PaymentTransaction applyGatewayResponse(UUID paymentId, Map<String, Object> wompiResponse) {
+        PaymentTransaction payment = load(paymentId);
+        applyGatewayData(payment, extractData(wompiResponse), wompiResponse, GatewayResponseAuditor.SOURCE_CREATE);
+        PaymentTransaction saved = repository.save(payment);
+        entitlementService.grantIfApproved(saved);
+        paymentEventPublisher.publishPaymentCreated(saved);
+        return saved;
+    }
+
+    /**
+     * Reconciliación de una reserva sin id de Wompi con la transacción encontrada por referencia. Bloquea el pago
+     * con SKIP LOCKED y vuelve a comprobar dentro de la transacción que siga siendo una reserva PENDING sin id: si
+     * otra instancia (o la respuesta tardía del gateway) ya la resolvió, no se aplica nada ni se emiten eventos.
+     * Un cambio de estado registra {@code payments.status-changed}; {@code payments.created} ya lo emitió o lo
+     * emitirá el flujo de creación.
+     *
+     * @return el pago actualizado, o vacío si estaba tomado o ya resuelto
+     */
+    @Transactional
+    public Optional<PaymentTransaction> applyGatewayTransaction(UUID paymentId, Map<String, Object> wompiTransaction) {
+        Optional<PaymentTransaction> locked = lockUnresolvedReservation(paymentId);
+        if (locked.isEmpty()) {
+            return Optional.empty();
+        }
+        PaymentTransaction payment = locked.get();
+        PaymentStatus previous = payment.getStatus();
+        applyGatewayData(payment, wompiTransaction, wompiTransaction, GatewayResponseAuditor.SOURCE_RECONCILIATION);
+        PaymentTransaction saved = repository.save(payment);
+        entitlementService.grantIfApproved(saved);
+        if (saved.getStatus() != previous) {
+            paymentEventPublisher.publishPaymentStatusChanged(saved, previous);
+        }
+        return Optional.of(saved);
+    }
+
+    /**
+     * Marca ERROR una reserva que Wompi nunca registró, con el mismo bloqueo y re-chequeo que
+     * {@link #applyGatewayTransaction}.
+     *
+     * @return true si esta llamada la marcó
+     */
+    @Transactional
+    public boolean markAbandoned(UUID paymentId, String reason) {
+        Optional<PaymentTransaction> locked = lockUnresolvedReservation(paymentId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        PaymentTransaction payment = locked.get();
+        payment.setStatus(PaymentStatus.ERROR);
+        payment.setErrorReason(reason);
+        repository.save(payment);
+        return true;
+    }
+
+    /**
+     * Marca la reserva como ERROR (Wompi rechazó la creación o nunca la registró). El motivo va a
+     * {@code error_reason}; {@code wompi_status} solo guarda estados reportados por la pasarela.
+     */
+    @Transactional
+    public PaymentTransaction markError(UUID paymentId, String reason) {
+        PaymentTransaction payment = load(paymentId);
+        payment.setStatus(PaymentStatus.ERROR);
+        payment.setErrorReason(reason);
+        return repository.save(payment);
+    }
+
+    /**
+     * Resultado de consultar en Wompi un pago PENDING; {@code transaction} es null si la consulta falló.
+     */
+    public record StatusCheck(UUID paymentId, Map<String, Object> transaction) {
+    }
+
+    public record StatusChange(PaymentTransaction payment, PaymentStatus previousStatus) {
+    }
+
+    /**
+     * Aplica en una sola transacción el lote de consultas de la reconciliación. Los pagos que siguen PENDING (o
+     * cuya consulta falló) reprograman su próxima consulta con {@code backoff(intentos)}; cada cambio de estado
+     * registra {@code payments.status-changed} en el outbox.
+     *
+     * @return los pagos cuyo estado cambió
+     */
+    @Transactional
+    public List<StatusChange> applyStatusChecks(List<StatusCheck> checks,
+                                                OffsetDateTime now,
+                                                IntFunction<Duration> backoff) {
+        // Los pagos que otra instancia tiene bloqueados no vuelven y se saltan; el estado se re-chequea abajo
+        Map<UUID, PaymentTransaction> payments = new HashMap<>();
+        for (PaymentTransaction payment : repository.findAllByIdForUpdateSkipLocked(
+                checks.stream().map(StatusCheck::paymentId).toList())) {
+            payments.put(payment.getId(), payment);
+        }
+
+        List<StatusChange> changes = new ArrayList<>();
+        for (StatusCheck check : checks) {
+            PaymentTransaction payment = payments.get(check.paymentId());
+            if (payment == null || payment.getStatus() != PaymentStatus.PENDING) {
+                continue;
+            }
+            PaymentStatus previous = payment.getStatus();
+            if (check.transaction() != null && !check.transaction().isEmpty()) {
+                applyGatewayData(payment, check.transaction(), check.transaction(), GatewayResponseAuditor.SOURCE_RECONCILIATION);
+            }
+            if (payment.getStatus() == PaymentStatus.PENDING) {
+                int attempts = payment.getReconcileAttempts() + 1;
+                payment.setReconcileAttempts(attempts);
+                payment.setNextReconcileAt(now.plus(backoff.apply(attempts)));
+            } else {
+                payment.setNextReconcileAt(null);
+                changes.add(new StatusChange(payment, previous));
+            }
+        }
+        repository.saveAll(payments.values());
+        for (StatusChange change : changes) {
+            entitlementService.grantIfApproved(change.payment());
+            paymentEventPublisher.publishPaymentStatusChanged(change.payment(), change.previousStatus());
+        }
+        return changes;
+    }
+
+    private Optional<PaymentTransaction> lockUnresolvedReservation(UUID paymentId) {
+        return repository.findByIdForUpdateSkipLocked(paymentId)
+                .filter(p -> p.getStatus() == PaymentStatus.PENDING && p.getWompiTransactionId() == null);
+    }
+
+    private PaymentTransaction load(UUID paymentId) {
+        return repository.findById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("No existe el pago con id: " + paymentId));
+    }
+
+    private void applyGatewayData(PaymentTransaction payment, Map<String, Object> data, Map<String, Object> raw, String source) {
+        payment.setWompiTransactionId(stringValue(data.get("id")));
+        payment.setWompiStatus(stringValue(data.get("status")));
+        payment.setStatus(resolveStatus(payment.getWompiStatus()));
+        gatewayResponseAuditor.record(payment, source, raw);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> extractData(Map<String, Object> wompiResponse) {
+        Object data = wompiResponse == null ? null : wompiResponse.get("data");
+        if (data instanceof Map<?, ?> mapData) {
+            return (Map<String, Object>) mapData;
+        }
+        return Map.of();
+    }
+
+    private static String stringValue(Object value) {
+        return value == null ? null : String.valueOf(value);
+    }
+
+    static PaymentStatus resolveStatus(String wompiStatus) {
+        if (wompiStatus == null) {
+            return PaymentStatus.ERROR;
+        }
+        return switch (wompiStatus.toUpperCase()) {
+            case "APPROVED" -> PaymentStatus.APPROVED;
+            case "DECLINED", "VOIDED", "ERROR" -> PaymentStatus.DECLINED;
+            default -> PaymentStatus.PENDING;
+        };
+    }
+}
@@ -10,14 +10,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class PaymentValidationService {
 
     private final PaymentTransactionRepository repository;
+    private final EntitlementService entitlementService;
 
-    public PaymentValidationService(PaymentTransactionRepository repository) {
+    public PaymentValidationService(PaymentTransactionRepository repository, EntitlementService entitlementService) {
         this.repository = repository;
+        this.entitlementService = entitlementService;
     }
 
     @Transactional
@@ -65,10 +69,25 @@ public class PaymentValidationService {
             );
         }
 
+        // Una referencia ya asociada a una polla solo puede revalidarla su dueño: otro email no hereda el derecho
+        if (payment.getPollaId() != null
+                && !EntitlementService.normalize(payment.getCustomerEmail()).equals(EntitlementService.normalize(request.userEmail()))) {
+            return new PaymentValidationResponse(
+                    false,
+                    payment.getId().toString(),
+                    payment.getReference(),
+                    amountToDecimal(payment.getAmountInCents()),
+                    payment.getStatus().name(),
+                    payment.getCreatedAt(),
+                    "La referencia de pago ya fue usada por otro usuario"
+            );
+        }
+
         payment.setCustomerEmail(request.userEmail());
         payment.setPollaId(request.pollaId());
         payment.setConcept(request.concept());
         repository.save(payment);
+        entitlementService.grantIfApproved(payment);
 
         return new PaymentValidationResponse(
                 true,
@@ -81,9 +100,12 @@ public class PaymentValidationService {
         );
     }
 
-    @Transactional(readOnly = true)
     public boolean hasApprovedPayment(String userEmail, Long pollaId) {
-        return repository.existsByCustomerEmailIgnoreCaseAndPollaIdAndStatus(userEmail, pollaId, PaymentStatus.APPROVED);
+        return entitlementService.hasEntitlement(userEmail, pollaId);
+    }
+
+    public Map<String, Boolean> checkApprovedPayments(Long pollaId, List<String> userEmails) {
+        return entitlementService.checkBatch(pollaId, userEmails);
     }
 
     private boolean matchesAmount(Long amountInCents, BigDecimal expectedAmount) {
@@ -0,0 +1,60 @@
+-- Migración V1: esquema base de Payment-Service
+--
+-- Equivale a lo que generaba ddl-auto=update. Usa IF NOT EXISTS porque la base es compartida con los otros
+-- servicios y las instalaciones existentes ya tienen estas tablas: en ellas la migración no cambia nada y V2
+-- completa las columnas que pudieran faltar.
+
+CREATE TABLE IF NOT EXISTS payment_transactions (
+    id UUID PRIMARY KEY,
+    reference VARCHAR(80) NOT NULL,
+    amount_in_cents BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    customer_email VARCHAR(150) NOT NULL,
+    polla_id BIGINT,
+    concept VARCHAR(255),
+    status VARCHAR(15) NOT NULL,
+    wompi_transaction_id VARCHAR(80),
+    wompi_status VARCHAR(80),
+    reconcile_attempts INTEGER,
+    next_reconcile_at TIMESTAMP(6) WITH TIME ZONE,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_payment_transactions_reference UNIQUE (reference)
+);
+
+-- Respuestas crudas de Wompi (JSON comprimido con GZIP)
+CREATE TABLE IF NOT EXISTS payment_gateway_responses (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    payment_id UUID NOT NULL,
+    source VARCHAR(20) NOT NULL,
+    wompi_status VARCHAR(80),
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Outbox transaccional de eventos de pago
+CREATE TABLE IF NOT EXISTS payment_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    payment_id UUID NOT NULL,
+    routing_key VARCHAR(80) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at TIMESTAMP(6) WITH TIME ZONE,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(500)
+);
+
+-- Derechos de acceso a pollas pagas; la unique la usa el INSERT ... ON CONFLICT de grant()
+CREATE TABLE IF NOT EXISTS polla_entitlements (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email_normalized VARCHAR(150) NOT NULL,
+    polla_id BIGINT NOT NULL,
+    payment_id UUID NOT NULL,
+    granted_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_polla_entitlements_email_polla UNIQUE (email_normalized, polla_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_transactions_status_created_at ON payment_transactions(status, created_at);
+CREATE INDEX IF NOT EXISTS idx_payment_gateway_responses_payment_id ON payment_gateway_responses(payment_id);
+CREATE INDEX IF NOT EXISTS idx_payment_outbox_sent_at_id ON payment_outbox(sent_at, id);
+CREATE INDEX IF NOT EXISTS idx_polla_entitlements_polla_id ON polla_entitlements(polla_id);
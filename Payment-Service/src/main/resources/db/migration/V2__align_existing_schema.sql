@@ -0,0 +1,7 @@
+-- Migración V2: columnas de reconciliación agregadas después de que las bases existentes crearan la tabla
+--
+-- Sobre una base creada por V1 no cambia nada. raw_response (previa a payment_gateway_responses) se deja en
+-- las bases que la tengan: es nullable y la entidad ya no la usa.
+
+ALTER TABLE payment_transactions ADD COLUMN IF NOT EXISTS reconcile_attempts INTEGER;
+ALTER TABLE payment_transactions ADD COLUMN IF NOT EXISTS next_reconcile_at TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,13 @@
+-- Migración V3: motivo interno de ERROR separado del estado reportado por Wompi
+--
+-- markError escribía su código (REJECTED, NOT_FOUND_IN_GATEWAY) en wompi_status, mezclándolo con los estados
+-- reales de la pasarela. Las filas ERROR existentes con esos códigos se mueven a error_reason.
+
+ALTER TABLE payment_transactions ADD COLUMN IF NOT EXISTS error_reason VARCHAR(80);
+
+UPDATE payment_transactions
+SET error_reason = wompi_status,
+    wompi_status = NULL
+WHERE status = 'ERROR'
+  AND error_reason IS NULL
+  AND wompi_status IN ('REJECTED', 'NOT_FOUND_IN_GATEWAY');
@@ -0,0 +1,27 @@
+-- Migración V4: un pago otorga como máximo un derecho, y backfill único de derechos previos a la tabla
+--
+-- Revalidar una referencia APPROVED con otro userEmail otorgaba un segundo derecho con el mismo payment_id.
+-- Se conserva el primero (el id más bajo) de cada pago antes de crear el constraint.
+--
+-- El backfill de pagos APPROVED anteriores a polla_entitlements corría en cada arranque del servicio; queda
+-- como dato de esta migración y se aplica una sola vez por base.
+
+DELETE FROM polla_entitlements e
+USING polla_entitlements keep
+WHERE e.payment_id = keep.payment_id
+  AND e.id > keep.id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_polla_entitlements_payment_id') THEN
+        ALTER TABLE polla_entitlements
+            ADD CONSTRAINT uk_polla_entitlements_payment_id UNIQUE (payment_id);
+    END IF;
+END $$;
+
+INSERT INTO polla_entitlements (email_normalized, polla_id, payment_id, granted_at)
+SELECT DISTINCT ON (lower(trim(customer_email)), polla_id) lower(trim(customer_email)), polla_id, id, updated_at
+FROM payment_transactions
+WHERE status = 'APPROVED' AND polla_id IS NOT NULL
+ORDER BY lower(trim(customer_email)), polla_id, updated_at
+ON CONFLICT DO NOTHING;
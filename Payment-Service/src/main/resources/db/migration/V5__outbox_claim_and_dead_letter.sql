@@ -0,0 +1,13 @@
+-- Migración V5: reclamo con lease y dead-letter para el outbox de pagos
+--
+-- El relay mantenía el FOR UPDATE SKIP LOCKED abierto mientras esperaba la confirmación del broker, y un lote que
+-- el broker rechazaba siempre se reintentaba para siempre bloqueando a los siguientes. Ahora el lote se reclama
+-- con claimed_until en una transacción corta y los eventos que superan max-attempts quedan en dead_lettered_at,
+-- fuera de la cola.
+
+ALTER TABLE payment_outbox ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE payment_outbox ADD COLUMN IF NOT EXISTS dead_lettered_at TIMESTAMP(6) WITH TIME ZONE;
+
+-- Cola del relay: solo eventos sin enviar ni descartados
+CREATE INDEX IF NOT EXISTS idx_payment_outbox_pending ON payment_outbox(id)
+    WHERE sent_at IS NULL AND dead_lettered_at IS NULL;
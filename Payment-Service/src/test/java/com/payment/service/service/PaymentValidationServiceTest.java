@@ -0,0 +1,94 @@
+package com.payment.service.service;
+
+import com.payment.service.api.dto.PaymentValidationRequest;
+import com.payment.service.api.dto.PaymentValidationResponse;
+import com.payment.service.domain.PaymentStatus;
+import com.payment.service.domain.PaymentTransaction;
+import com.payment.service.repository.PaymentTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentValidationServiceTest {
+
+    private static final String REFERENCE = "REF-1";
+    private static final long POLLA_ID = 7L;
+
+    @Mock
+    private PaymentTransactionRepository repository;
+
+    @Mock
+    private EntitlementService entitlementService;
+
+    @InjectMocks
+    private PaymentValidationService service;
+
+    @Test
+    void firstValidation_BindsPaymentToUserAndGrants() {
+        PaymentTransaction payment = approvedPayment("payer@test.com", null);
+        when(repository.findByReference(REFERENCE)).thenReturn(Optional.of(payment));
+
+        PaymentValidationResponse response = service.validate(request("ana@test.com"));
+
+        assertTrue(response.valid());
+        assertEquals("ana@test.com", payment.getCustomerEmail());
+        assertEquals(POLLA_ID, payment.getPollaId());
+        verify(entitlementService).grantIfApproved(payment);
+    }
+
+    @Test
+    void revalidationBySameUser_IsValid() {
+        PaymentTransaction payment = approvedPayment("ana@test.com", POLLA_ID);
+        when(repository.findByReference(REFERENCE)).thenReturn(Optional.of(payment));
+
+        PaymentValidationResponse response = service.validate(request(" ANA@test.com "));
+
+        assertTrue(response.valid());
+        verify(entitlementService).grantIfApproved(payment);
+    }
+
+    @Test
+    void revalidationByAnotherUser_IsRejectedAndDoesNotGrant() {
+        PaymentTransaction payment = approvedPayment("ana@test.com", POLLA_ID);
+        when(repository.findByReference(REFERENCE)).thenReturn(Optional.of(payment));
+
+        PaymentValidationResponse response = service.validate(request("intruso@test.com"));
+
+        assertFalse(response.valid());
+        assertEquals("ana@test.com", payment.getCustomerEmail());
+        verify(repository, never()).save(any());
+        verify(entitlementService, never()).grantIfApproved(any());
+    }
+
+    private static PaymentTransaction approvedPayment(String customerEmail, Long pollaId) {
+        PaymentTransaction payment = new PaymentTransaction();
+        ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+        payment.setReference(REFERENCE);
+        payment.setAmountInCents(1_000_000L);
+        payment.setCurrency("COP");
+        payment.setCustomerEmail(customerEmail);
+        payment.setPollaId(pollaId);
+        payment.setStatus(PaymentStatus.APPROVED);
+        return payment;
+    }
+
+    private static PaymentValidationRequest request(String userEmail) {
+        return new PaymentValidationRequest(userEmail, REFERENCE, new BigDecimal("10000"), "Inscripción polla", POLLA_ID);
+    }
+}
@@ -0,0 +1,25 @@
+package com.teamsservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.access-cache")
+@Data
+public class AccessCacheProperties {
+
+    /** false: cada chequeo de acceso consulta la base como antes */
+    private boolean enabled = true;
+
+    /**
+     * Vida de un índice de acceso. Las invalidaciones solo son locales a la instancia; con varias réplicas este es
+     * el máximo tiempo que otra réplica puede seguir viendo una membresía ya cambiada.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /** Usuarios con índice en memoria; al superarse se descartan los vencidos y, si no alcanza, todo */
+    private int maxEntries = 10000;
+}
@@ -0,0 +1,41 @@
+package com.teamsservice.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MatchNotificationConfig {
+
+    /**
+     * Exchange de Notificacion-Service; se declara también aquí (idempotente) para que publicar no dependa del
+     * orden de arranque de los servicios.
+     */
+    @Bean
+    public TopicExchange matchNotificationsExchange(MatchNotificationProperties properties) {
+        return new TopicExchange(properties.getExchange());
+    }
+
+    /**
+     * Pool acotado para el envío de notificaciones de partidos: hilos fijos y cola limitada, así un pico de
+     * partidos creados no crece sin control ni compite con los hilos de los requests. Con
+     * {@code spring.threads.virtual.enabled} los workers son virtuales; el tamaño sigue acotando la concurrencia.
+     */
+    @Bean(name = "matchNotificationExecutor")
+    public ThreadPoolTaskExecutor matchNotificationExecutor(MatchNotificationProperties properties,
+                                                            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, properties.getWorkerThreads()));
+        executor.setMaxPoolSize(Math.max(1, properties.getWorkerThreads()));
+        executor.setQueueCapacity(Math.max(1, properties.getQueueCapacity()));
+        executor.setThreadNamePrefix("match-notify-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(20);
+        executor.initialize();
+        return executor;
+    }
+}
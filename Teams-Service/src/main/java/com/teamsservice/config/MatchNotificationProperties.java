@@ -0,0 +1,42 @@
+package com.teamsservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.match-notifications")
+@Data
+public class MatchNotificationProperties {
+
+    /** rabbit: publica al exchange de Notificacion-Service (con fallback HTTP); http: POST directo */
+    private String mode = "rabbit";
+
+    /** Exchange de Notificacion-Service */
+    private String exchange = "notifications.exchange";
+
+    private String routingKey = "notification.team.match-created";
+
+    /** Partidos cuyo envío se procesa en paralelo (cada job envía secuencialmente a sus miembros) */
+    private int workerThreads = 2;
+
+    /** Jobs en espera; al llenarse el job queda PENDING y lo retoma el barrido periódico */
+    private int queueCapacity = 100;
+
+    /** Emails por consulta en lote al auth-service (máx. 200) */
+    private int contactBatchSize = 100;
+
+    /** Cada cuántos destinatarios se persiste el avance */
+    private int progressFlushEvery = 20;
+
+    /** Dueño registrado en los jobs que toma esta instancia; vacío = hostname + sufijo aleatorio por arranque */
+    private String instanceId = "";
+
+    /** Un job RUNNING sin latido durante este tiempo se da por perdido (su instancia se detuvo) y queda FAILED */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /** Antigüedad mínima de un job PENDING para que lo tome el barrido (los nuevos se entregan tras el commit) */
+    private Duration pendingGrace = Duration.ofSeconds(30);
+}
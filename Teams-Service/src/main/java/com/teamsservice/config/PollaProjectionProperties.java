@@ -0,0 +1,32 @@
+package com.teamsservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.polla.projection")
+@Data
+public class PollaProjectionProperties {
+
+    /** Escenarios muestreados cuando no es viable enumerar todos los marcadores restantes */
+    private int simulations = 20000;
+
+    /** Si el total de combinaciones de marcadores es <= a este valor, se enumeran exhaustivamente */
+    private long maxEnumeratedScenarios = 50000;
+
+    /** Goles máximos por equipo considerados en un partido aún no iniciado (0..maxGoals) */
+    private int maxGoals = 5;
+
+    /** Media de goles (Poisson) del local para un partido completo */
+    private double homeGoalsMean = 1.4;
+
+    /** Media de goles (Poisson) del visitante para un partido completo */
+    private double awayGoalsMean = 1.1;
+
+    /** Fracción del partido que se asume pendiente cuando está en vivo (escala las medias) */
+    private double liveRemainingFraction = 0.5;
+
+    /** Semilla del muestreo (proyecciones reproducibles para el mismo estado) */
+    private long seed = 20240611L;
+}
@@ -0,0 +1,88 @@
+package com.teamsservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Con {@code app.read-replicas.enabled} reemplaza el DataSource autoconfigurado por un pool para el primario más
+ * uno por réplica, enrutados por {@link ReplicaRoutingDataSource}. Cada pool publica sus métricas de Hikari
+ * ({@code hikaricp.connections.*}) con el tag {@code pool} igual a su ruta: primary, replica-1, ...
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.read-replicas", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReadReplicaProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(metrics);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReadReplicaProperties.Replica replica : properties.getReplicas()) {
+            if (!StringUtils.hasText(replica.getUrl())) {
+                continue;
+            }
+            String key = "replica-" + (replicas.size() + 1);
+            replicas.put(key, replicaPool(key, replica, dataSourceProperties, properties, metrics));
+        }
+        if (replicas.isEmpty()) {
+            log.warn("Read replicas enabled but none configured; all reads stay on the primary");
+        } else {
+            log.info("Read replica routing enabled: {} (maxLag={}, stickyWindow={})",
+                    replicas.keySet(), properties.getMaxLag(), properties.getStickyWindow());
+        }
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(
+                replicas, properties.getMaxLag(), properties.getLagCheckInterval(), meterRegistry);
+        lagMonitor.start();
+
+        return new ReplicaRoutingDataSource(primary, replicas, lagMonitor, properties.getStickyWindow(), meterRegistry);
+    }
+
+    /**
+     * DataSource que usan JPA, JdbcTemplate y el resto de la aplicación.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource replicaPool(String key,
+                                                ReadReplicaProperties.Replica replica,
+                                                DataSourceProperties primary,
+                                                ReadReplicaProperties properties,
+                                                MicrometerMetricsTrackerFactory metrics) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(key);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : primary.determineUsername());
+        dataSource.setPassword(StringUtils.hasText(replica.getPassword()) ? replica.getPassword() : primary.determinePassword());
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setMaximumPoolSize(Math.max(1, properties.getMaximumPoolSize()));
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(metrics);
+        return dataSource;
+    }
+}
@@ -0,0 +1,42 @@
+package com.teamsservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.read-replicas")
+@Data
+public class ReadReplicaProperties {
+
+    /** false: un solo pool contra spring.datasource, como antes */
+    private boolean enabled = false;
+
+    /** Réplicas de lectura; las que no tienen url se ignoran y usuario/clave vacíos toman los del primario */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Retraso de replicación máximo para seguir recibiendo lecturas; por encima la réplica se saltea */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Tras confirmar una escritura, las lecturas del mismo usuario van al primario durante esta ventana. Es local a
+     * la instancia: con varias instancias detrás del balanceador conviene que sea mayor que {@code maxLag}.
+     */
+    private Duration stickyWindow = Duration.ofSeconds(10);
+
+    /** Conexiones máximas por réplica */
+    private int maximumPoolSize = 10;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,116 @@
+package com.teamsservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide periódicamente el retraso de replicación de cada réplica de lectura.
+ *
+ * Una réplica recibe lecturas solo si respondió en el último chequeo, está recibiendo WAL del primario y su retraso
+ * no supera {@code maxLag}; antes del primer chequeo, o si la consulta falla, se considera no disponible y las
+ * lecturas van al primario.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    /**
+     * NULL (réplica no disponible) si no hay un walreceiver en estado streaming: un standby desconectado del
+     * primario también tiene receive = replay y daría 0 aunque esté congelado. Con streaming, 0 si ya aplicó todo
+     * lo recibido (aunque el primario lleve rato sin escribir); si no, antigüedad de la última transacción aplicada.
+     * Un servidor que no es réplica no tiene walreceiver y tampoco entra en rotación.
+     */
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final double maxLagSeconds;
+    private final Duration interval;
+
+    /** Último retraso medido en segundos; NaN si la réplica no respondió */
+    private final ConcurrentMap<String, Double> lagSeconds = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag, Duration interval,
+                             MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.interval = interval;
+        replicas.forEach((key, dataSource) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(5);
+            this.replicas.put(key, jdbcTemplate);
+            Gauge.builder("teams.datasource.replica.lag", lagSeconds, m -> m.getOrDefault(key, Double.NaN))
+                    .tag("route", key)
+                    .baseUnit("seconds")
+                    .description("Retraso de replicación medido; NaN si la réplica no respondió")
+                    .register(meterRegistry);
+        });
+    }
+
+    public void start() {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-monitor").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, Math.max(100, interval.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isHealthy(String key) {
+        Double lag = lagSeconds.get(key);
+        return lag != null && !lag.isNaN() && lag <= maxLagSeconds;
+    }
+
+    void checkAll() {
+        replicas.forEach((key, jdbcTemplate) -> {
+            boolean wasHealthy = isHealthy(key);
+            record(key, measureLag(key, jdbcTemplate));
+            boolean healthy = isHealthy(key);
+            if (healthy != wasHealthy) {
+                if (healthy) {
+                    log.info("Read replica {} back in rotation (lag={}s)", key, lagSeconds.get(key));
+                } else {
+                    log.warn("Read replica {} out of rotation (lag={}s, max={}s)", key, lagSeconds.get(key), maxLagSeconds);
+                }
+            }
+        });
+    }
+
+    void record(String key, double lag) {
+        lagSeconds.put(key, lag);
+    }
+
+    private double measureLag(String key, JdbcTemplate jdbcTemplate) {
+        try {
+            Double lag = jdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            return lag != null ? lag : Double.NaN;
+        } catch (Exception e) {
+            log.debug("Lag check failed for read replica {}: {}", key, e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
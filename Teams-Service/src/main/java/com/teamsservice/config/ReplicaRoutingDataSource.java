@@ -0,0 +1,166 @@
+package com.teamsservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enruta cada conexión al primario o a una réplica de lectura según la transacción en curso.
+ *
+ * <ul>
+ *   <li>Sin transacción o con transacción de escritura: primario.</li>
+ *   <li>{@code readOnly}: siguiente réplica al día (round-robin); si ninguna lo está, primario.</li>
+ *   <li>{@code readOnly} de un usuario que confirmó una escritura hace menos de {@code stickyWindow}: primario,
+ *   para que vea lo que acaba de escribir aunque la réplica venga atrasada.</li>
+ * </ul>
+ *
+ * Tiene que usarse detrás de un {@code LazyConnectionDataSourceProxy}: JpaTransactionManager pide la conexión
+ * antes de marcar la transacción como readOnly, así que la ruta se decide recién con el primer statement.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    /** Usuarios con ventana de lectura en primario; al superarse se descartan las vencidas */
+    private static final int MAX_STICKY_USERS = 10000;
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final ReplicaLagMonitor lagMonitor;
+    private final long stickyWindowNanos;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    ReplicaLagMonitor lagMonitor,
+                                    Duration stickyWindow,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.lagMonitor = lagMonitor;
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.meterRegistry = meterRegistry;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return route(PRIMARY, "no-transaction");
+        }
+
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            stickToPrimaryAfterCommit(user);
+            return route(PRIMARY, "read-write");
+        }
+
+        if (user != null && isSticky(user)) {
+            return route(PRIMARY, "read-your-writes");
+        }
+
+        String replica = nextHealthyReplica();
+        return replica != null ? route(replica, "read-only") : route(PRIMARY, "replica-unavailable");
+    }
+
+    private String nextHealthyReplica() {
+        int size = replicaKeys.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (lagMonitor.isHealthy(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private void stickToPrimaryAfterCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (stickyUntil.size() >= MAX_STICKY_USERS) {
+                    long now = System.nanoTime();
+                    stickyUntil.values().removeIf(until -> now - until > 0);
+                }
+                stickyUntil.put(user, System.nanoTime() + stickyWindowNanos);
+            }
+        });
+    }
+
+    private boolean isSticky(String user) {
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until > 0) {
+            stickyUntil.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+
+    private String route(String key, String reason) {
+        meterRegistry.counter("teams.datasource.routing", "route", key, "reason", reason).increment();
+        return key;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || authentication.getName() == null) {
+            return null;
+        }
+        return authentication.getName().trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.close();
+        closePool(PRIMARY, primary);
+        replicas.forEach(this::closePool);
+    }
+
+    private void closePool(String key, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close connection pool {}: {}", key, e.getMessage());
+            }
+        }
+    }
+}
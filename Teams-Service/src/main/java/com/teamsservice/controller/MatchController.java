@@ -1,5 +1,6 @@
 package com.teamsservice.controller;
 
+import com.teamsservice.dto.PageResponse;
 import com.teamsservice.dto.TeamMatchResponse;
 import com.teamsservice.security.UserPrincipal;
 import com.teamsservice.service.TeamMatchService;
@@ -38,4 +39,23 @@ public class MatchController {
         List<TeamMatchResponse> response = teamMatchService.getMyMatches(userPrincipal.getEmail());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Feed paginado por cursor: próximos partidos primero y luego el historial.
+     * Para la página siguiente se reenvía el nextCursor de la respuesta anterior.
+     */
+    @GetMapping("/mis-partidos/feed")
+    public ResponseEntity<PageResponse<TeamMatchResponse>> getMisPartidosFeed(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(teamMatchService.getMyMatchesFeed(userPrincipal.getEmail(), cursor, size));
+    }
+
+    @GetMapping("/mis-partidos/proximos")
+    public ResponseEntity<List<TeamMatchResponse>> getMisPartidosProximos(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(teamMatchService.getMyUpcomingMatches(userPrincipal.getEmail(), limit));
+    }
 }
@@ -2,7 +2,9 @@ package com.teamsservice.controller;
 
 import com.teamsservice.dto.*;
 import com.teamsservice.security.UserPrincipal;
+import com.teamsservice.service.PollaLeaderboard;
 import com.teamsservice.service.PollaMarcadorService;
+import com.teamsservice.service.PollaProjectionService;
 import com.teamsservice.service.PollaRankingService;
 import com.teamsservice.service.PollaService;
 import jakarta.validation.Valid;
@@ -25,6 +27,7 @@ public class PollaController {
     private final PollaService pollaService;
     private final PollaMarcadorService pollaMarcadorService;
     private final PollaRankingService pollaRankingService;
+    private final PollaProjectionService pollaProjectionService;
 
     /**
      * POST /api/pollas - Crear una nueva polla
@@ -146,15 +149,51 @@ public class PollaController {
 
     /**
      * GET /api/pollas/{id}/tabla-posiciones - Ranking por puntaje vs marcador real (provisional si la polla no ha finalizado)
+     * Sin {@code page} devuelve la tabla completa; {@code modo} = COMPETITION (por defecto) o DENSE.
      */
     @GetMapping("/{id}/tabla-posiciones")
     public ResponseEntity<PollaRankingResponse> getTablaPosiciones(
             @PathVariable Long id,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "COMPETITION") PollaLeaderboard.RankingMode modo,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
-        log.info("Getting polla ranking for polla {} by user {}", id, userPrincipal.getEmail());
+        log.info("Getting polla ranking for polla {} by user {} (page={}, size={})", id, userPrincipal.getEmail(), page, size);
 
-        PollaRankingResponse response = pollaRankingService.getRanking(id, userPrincipal.getEmail());
+        PollaRankingResponse response = pollaRankingService.getRanking(id, userPrincipal.getEmail(), page, size, modo);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/pollas/{id}/tabla-posiciones/mi-posicion - Posición del usuario y sus vecinos en la tabla
+     */
+    @GetMapping("/{id}/tabla-posiciones/mi-posicion")
+    public ResponseEntity<PollaRankingResponse> getMiPosicion(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "2") int vecinos,
+            @RequestParam(defaultValue = "COMPETITION") PollaLeaderboard.RankingMode modo,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("Getting ranking position for polla {} by user {}", id, userPrincipal.getEmail());
+
+        PollaRankingResponse response = pollaRankingService.getMiPosicion(id, userPrincipal.getEmail(), vecinos, modo);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/pollas/{id}/proyeccion - Distribución de posiciones finales según los marcadores plausibles de los partidos restantes
+     */
+    @GetMapping("/{id}/proyeccion")
+    public ResponseEntity<PollaProjectionResponse> getProyeccion(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("Getting polla projection for polla {} by user {}", id, userPrincipal.getEmail());
+
+        PollaProjectionResponse response = pollaProjectionService.getProjection(id, userPrincipal.getEmail());
 
         return ResponseEntity.ok(response);
     }
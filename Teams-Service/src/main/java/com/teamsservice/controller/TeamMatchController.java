@@ -3,6 +3,7 @@ package com.teamsservice.controller;
 import com.teamsservice.dto.AdminSetAttendanceRequest;
 import com.teamsservice.dto.BulkCreateMatchTeamsRequest;
 import com.teamsservice.dto.MatchAttendanceSummaryResponse;
+import com.teamsservice.dto.MatchNotificationProgressResponse;
 import com.teamsservice.dto.MatchResultResponse;
 import com.teamsservice.dto.MatchResultNotificationResponse;
 import com.teamsservice.dto.MatchResultUpsertRequest;
@@ -16,6 +17,7 @@ import com.teamsservice.dto.TeamMatchResponse;
 import com.teamsservice.dto.TeamMatchTeamCreateRequest;
 import com.teamsservice.dto.TeamMatchTeamResponse;
 import com.teamsservice.security.UserPrincipal;
+import com.teamsservice.service.MatchNotificationFanoutService;
 import com.teamsservice.service.TeamMatchLineupNotificationService;
 import com.teamsservice.service.TeamMatchResultNotificationService;
 import com.teamsservice.service.TeamMatchResultService;
@@ -42,6 +44,7 @@ public class TeamMatchController {
         private final TeamMatchLineupNotificationService teamMatchLineupNotificationService;
                 private final TeamMatchResultService teamMatchResultService;
                                 private final TeamMatchResultNotificationService teamMatchResultNotificationService;
+    private final MatchNotificationFanoutService matchNotificationFanoutService;
 
     @PostMapping
     public ResponseEntity<TeamMatchResponse> createTeamMatch(
@@ -65,7 +68,9 @@ public class TeamMatchController {
             @PathVariable Long teamId,
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "10") int size) {
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "includeTotal", defaultValue = "true") boolean includeTotal) {
 
         log.info("Getting team matches for team {} by user {} page={} size={}",
                 teamId, userPrincipal.getUserId(), page, size);
@@ -75,7 +80,9 @@ public class TeamMatchController {
                 userPrincipal.getUserId(),
                 userPrincipal.getEmail(),
                 page,
-                size);
+                size,
+                cursor,
+                includeTotal);
 
         return ResponseEntity.ok(response);
     }
@@ -118,20 +125,38 @@ public class TeamMatchController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Owner view: progress of the background "new match" notification fan-out.
+     */
+    @GetMapping("/{matchId}/notifications")
+    public ResponseEntity<MatchNotificationProgressResponse> getMatchNotificationProgress(
+            @PathVariable Long teamId,
+            @PathVariable Long matchId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        return ResponseEntity.ok(matchNotificationFanoutService.getProgress(
+                teamId,
+                matchId,
+                userPrincipal.getUserId()));
+    }
+
     /**
      * Admin/owner view: attendance grouped by status (ATTENDING / NOT_ATTENDING / PENDING).
+     * includeRoster=false returns only the counts, served from the per-match counters.
      */
     @GetMapping("/{matchId}/attendance/summary")
     public ResponseEntity<MatchAttendanceSummaryResponse> getMatchAttendanceSummary(
             @PathVariable Long teamId,
             @PathVariable Long matchId,
+            @RequestParam(name = "includeRoster", defaultValue = "true") boolean includeRoster,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         MatchAttendanceSummaryResponse response = teamMatchService.getMatchAttendanceSummary(
                 teamId,
                 matchId,
                 userPrincipal.getUserId(),
-                userPrincipal.getEmail());
+                userPrincipal.getEmail(),
+                includeRoster);
 
         return ResponseEntity.ok(response);
     }
@@ -84,6 +84,22 @@ public class TeamMemberController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Eliminar una membresía (owner sobre cualquier miembro, o el propio usuario para salir del equipo)
+     */
+    @DeleteMapping("/{teamId}/members/{memberId}")
+    public ResponseEntity<Void> removeMember(
+            @PathVariable Long teamId,
+            @PathVariable Long memberId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        log.info("User {} removing membership {} from team {}", userPrincipal.getUserId(), memberId, teamId);
+
+        teamMemberService.removeMember(teamId, memberId, userPrincipal.getUserId());
+
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Obtener todos los miembros aprobados de un equipo
      */
@@ -45,6 +45,7 @@ public class TeamStatsController {
     /**
      * Historial de marcadores (partidos finalizados) por año/mes.
      * month es opcional (si no se envía, trae todo el año paginado).
+     * cursor (nextCursor de la respuesta anterior) pagina por keyset; includeTotal=false omite el conteo.
      */
     @GetMapping("/matches")
     public ResponseEntity<StatsMatchesPageResponse> getMatchHistory(
@@ -53,6 +54,8 @@ public class TeamStatsController {
             @RequestParam(required = false) Integer month,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
         return ResponseEntity.ok(teamStatsService.getFinishedMatchSummaries(
@@ -61,6 +64,8 @@ public class TeamStatsController {
                 month,
                 page,
                 size,
+                cursor,
+                includeTotal,
                 userPrincipal.getUserId(),
                 userPrincipal.getEmail()));
     }
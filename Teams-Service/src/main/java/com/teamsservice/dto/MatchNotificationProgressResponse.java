@@ -0,0 +1,25 @@
+package com.teamsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchNotificationProgressResponse {
+
+    private Long matchId;
+    private String status;
+    private int totalRecipients;
+    private int enqueued;
+    private int failed;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
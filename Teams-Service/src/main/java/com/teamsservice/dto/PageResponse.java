@@ -16,7 +16,15 @@ public class PageResponse<T> {
     private List<T> content;
     private int page;
     private int size;
+    /**
+     * -1 cuando el cliente pidió omitir el conteo total (includeTotal=false)
+     */
     private long totalElements;
     private int totalPages;
     private boolean last;
+
+    /**
+     * Cursor opaco para pedir la página siguiente; null en la última página o si el listado no lo soporta
+     */
+    private String nextCursor;
 }
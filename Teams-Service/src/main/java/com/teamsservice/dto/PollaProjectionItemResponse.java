@@ -0,0 +1,31 @@
+package com.teamsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollaProjectionItemResponse {
+
+    private String emailParticipante;
+
+    /** Puntos asegurados con los partidos ya finalizados */
+    private Integer puntosActuales;
+    private Integer posicionActual;
+
+    private Integer mejorPosicion;
+    private Integer peorPosicion;
+    private Double posicionEsperada;
+
+    private Double probabilidadPrimerLugar;
+    private Double probabilidadTop3;
+
+    /** posición final -> probabilidad (solo posiciones alcanzables) */
+    private Map<Integer, Double> distribucionPosiciones;
+}
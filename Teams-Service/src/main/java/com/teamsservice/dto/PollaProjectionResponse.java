@@ -0,0 +1,29 @@
+package com.teamsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollaProjectionResponse {
+
+    private Long pollaId;
+    private String estadoPolla;
+
+    /** Partidos aún no finalizados que entran en la proyección */
+    private Integer partidosRestantes;
+
+    /** Escenarios evaluados (combinaciones enumeradas o simulaciones) */
+    private Long escenariosEvaluados;
+
+    /** "ENUMERACION" si se recorrieron todos los marcadores plausibles, "MUESTREO" si se simularon */
+    private String metodo;
+
+    private List<PollaProjectionItemResponse> proyeccion;
+}
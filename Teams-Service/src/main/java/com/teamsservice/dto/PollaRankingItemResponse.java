@@ -11,10 +11,15 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class PollaRankingItemResponse {
 
+    /** Posición en la tabla; los empatados en (puntos, exactos, ganador) comparten posición. */
+    private Integer posicion;
+
     /** Nombre a mostrar en el ranking (ideal para UI). */
     private String nombreParticipante;
 
     private String emailParticipante;
     private Integer puntos;
+    private Integer aciertosExactos;
+    private Integer aciertosGanador;
     private UserInfoDto userInfo;
 }
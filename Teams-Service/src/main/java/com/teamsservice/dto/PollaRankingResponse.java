@@ -17,5 +17,13 @@ public class PollaRankingResponse {
     private String estadoPolla;
     private Boolean definitivo; // true si la polla está FINALIZADA
 
+    /** COMPETITION (1,2,2,4) o DENSE (1,2,2,3) */
+    private String modoRanking;
+    private Integer totalParticipantes;
+
+    /** null si la tabla se devolvió completa */
+    private Integer page;
+    private Integer size;
+
     private List<PollaRankingItemResponse> ranking;
 }
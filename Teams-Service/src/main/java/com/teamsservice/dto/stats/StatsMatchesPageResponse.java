@@ -15,9 +15,17 @@ public class StatsMatchesPageResponse {
 
     private int page;
     private int size;
+    /**
+     * -1 cuando el cliente pidió omitir el conteo total (includeTotal=false)
+     */
     private long totalElements;
     private int totalPages;
     private boolean last;
 
+    /**
+     * Cursor opaco para pedir la página siguiente; null en la última página
+     */
+    private String nextCursor;
+
     private List<StatsMatchSummaryResponse> content;
 }
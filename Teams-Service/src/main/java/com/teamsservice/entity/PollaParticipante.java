@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class PollaParticipante {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "polla_participantes_seq")
+    @SequenceGenerator(name = "polla_participantes_seq", sequenceName = "polla_participantes_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -17,7 +17,8 @@ import java.util.List;
     indexes = {
         @Index(name = "idx_polla_partido_polla_id", columnList = "polla_id"),
         @Index(name = "idx_fecha_hora_partido", columnList = "fecha_hora_partido"),
-        @Index(name = "idx_id_partido_externo", columnList = "id_partido_externo")
+        @Index(name = "idx_id_partido_externo", columnList = "id_partido_externo"),
+        @Index(name = "idx_polla_partido_polla_fecha", columnList = "polla_id, fecha_hora_partido")
     }
 )
 @Data
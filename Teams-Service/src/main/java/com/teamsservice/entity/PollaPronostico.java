@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class PollaPronostico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "polla_pronosticos_seq")
+    @SequenceGenerator(name = "polla_pronosticos_seq", sequenceName = "polla_pronosticos_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,7 +26,8 @@ import java.time.LocalDateTime;
 public class PollaPuntajePartido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "polla_puntajes_partido_seq")
+    @SequenceGenerator(name = "polla_puntajes_partido_seq", sequenceName = "polla_puntajes_partido_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
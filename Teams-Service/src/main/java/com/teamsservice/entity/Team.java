@@ -69,4 +69,12 @@ public class Team {
 
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
+
+    /**
+     * Miembros APPROVED (incluido el dueño); 0 en equipos eliminados. Tras el INSERT solo cambia con los UPDATE
+     * atómicos de TeamRepository, por eso no es updatable: guardar un Team leído antes no pisa el contador.
+     * Null en equipos anteriores a la columna hasta que corre TeamMemberCountRepair.
+     */
+    @Column(name = "approved_member_count", updatable = false)
+    private Integer approvedMemberCount;
 }
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,12 +14,17 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "team_matches", indexes = {
         @Index(name = "idx_team_match_team_id", columnList = "team_id"),
-        @Index(name = "idx_team_match_datetime", columnList = "match_datetime")
+        @Index(name = "idx_team_match_datetime", columnList = "match_datetime"),
+        @Index(name = "idx_team_match_team_date_id", columnList = "team_id, match_datetime, id"),
+        @Index(name = "idx_team_match_team_finished_date_id", columnList = "team_id, finished, match_datetime, id")
 })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// Solo columnas modificadas: los contadores de asistencia se actualizan con UPDATE atómicos y no deben
+// sobrescribirse con el valor cargado cuando se guarda el partido por otro motivo.
+@DynamicUpdate
 public class TeamMatch {
 
     @Id
@@ -53,6 +59,16 @@ public class TeamMatch {
     @Column(name = "result_updated_at")
     private LocalDateTime resultUpdatedAt;
 
+    /**
+     * Contadores de asistencia mantenidos al confirmar o modificar asistencia. Null en partidos creados antes de
+     * existir los contadores: se inicializan desde team_match_attendance en la primera escritura.
+     */
+    @Column(name = "attending_count")
+    private Integer attendingCount;
+
+    @Column(name = "not_attending_count")
+    private Integer notAttendingCount;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -64,5 +80,7 @@ public class TeamMatch {
     @PrePersist
     private void prePersist() {
         this.finished = false;
+        this.attendingCount = 0;
+        this.notAttendingCount = 0;
     }
 }
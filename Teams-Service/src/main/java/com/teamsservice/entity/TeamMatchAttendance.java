@@ -13,8 +13,12 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "team_match_attendance", indexes = {
         @Index(name = "idx_match_attendance_match_id", columnList = "match_id"),
-        @Index(name = "idx_match_attendance_user_id", columnList = "user_id")
+        @Index(name = "idx_match_attendance_user_id", columnList = "user_id"),
+        @Index(name = "idx_match_attendance_match_status", columnList = "match_id, status")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_match_attendance_match_user", columnNames = {"match_id", "user_id"})
 })
+// idx_match_attendance_email_lower (lower(user_email), match_id) es de expresión: lo crea la migración V3
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,87 @@
+package com.teamsservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Envío en segundo plano de la notificación "nuevo partido" a los miembros aprobados del equipo.
+ * Se crea en la misma transacción que el partido y el worker va actualizando el avance.
+ */
+@Entity
+@Table(name = "team_match_notification_jobs", indexes = {
+        @Index(name = "idx_match_notification_job_status", columnList = "status")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_match_notification_job_match", columnNames = {"match_id"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamMatchNotificationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    /**
+     * Miembros aprobados con email al momento de ejecutar el envío
+     */
+    @Column(name = "total_recipients", nullable = false)
+    private int totalRecipients;
+
+    @Column(name = "enqueued", nullable = false)
+    private int enqueued;
+
+    @Column(name = "failed", nullable = false)
+    private int failed;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Instancia que tomó el job; solo ella actualiza el latido mientras está RUNNING
+     */
+    @Column(name = "owner_instance", length = 100)
+    private String ownerInstance;
+
+    /**
+     * Último latido del worker; si vence el lease el job se da por perdido
+     */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
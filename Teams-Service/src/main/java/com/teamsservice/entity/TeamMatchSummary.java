@@ -0,0 +1,90 @@
+package com.teamsservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen precalculado del resultado de un partido (marcador por lado, autogoles y ganador).
+ *
+ * Se reescribe cada vez que se guarda el resultado o cambia la conformación de los equipos del partido, de modo
+ * que las estadísticas lo leen directamente sin recorrer equipos, jugadores y goles de cada partido.
+ * El lado A es el primer equipo del partido por id y el lado B el segundo.
+ */
+@Entity
+@Table(name = "team_match_summary", indexes = {
+        @Index(name = "idx_match_summary_team_finished_date", columnList = "team_id, finished, match_datetime, match_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamMatchSummary {
+
+    @Id
+    @Column(name = "match_id")
+    private Long matchId;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "match_datetime", nullable = false)
+    private LocalDateTime matchDateTime;
+
+    @Column(name = "match_address", length = 500)
+    private String matchAddress;
+
+    @Column(name = "finished", nullable = false)
+    private boolean finished;
+
+    @Column(name = "team_a_match_team_id")
+    private Long teamAMatchTeamId;
+
+    @Column(name = "team_a_name", length = 100)
+    private String teamAName;
+
+    @Column(name = "team_a_color", length = 30)
+    private String teamAColor;
+
+    /**
+     * Goles a favor del lado A: goles de sus jugadores más autogoles del lado B
+     */
+    @Column(name = "team_a_goals", nullable = false)
+    private int teamAGoals;
+
+    /**
+     * Autogoles cometidos por jugadores del lado A
+     */
+    @Column(name = "team_a_own_goals", nullable = false)
+    private int teamAOwnGoals;
+
+    @Column(name = "team_b_match_team_id")
+    private Long teamBMatchTeamId;
+
+    @Column(name = "team_b_name", length = 100)
+    private String teamBName;
+
+    @Column(name = "team_b_color", length = 30)
+    private String teamBColor;
+
+    @Column(name = "team_b_goals", nullable = false)
+    private int teamBGoals;
+
+    @Column(name = "team_b_own_goals", nullable = false)
+    private int teamBOwnGoals;
+
+    /**
+     * Equipo ganador; null en empate o si el partido no tiene dos equipos
+     */
+    @Column(name = "winner_match_team_id")
+    private Long winnerMatchTeamId;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class TeamMatchTeam {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_match_teams_seq")
+    @SequenceGenerator(name = "team_match_teams_seq", sequenceName = "team_match_teams_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
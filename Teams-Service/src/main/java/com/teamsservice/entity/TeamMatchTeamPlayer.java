@@ -24,7 +24,8 @@ import java.time.LocalDateTime;
 public class TeamMatchTeamPlayer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_match_team_players_seq")
+    @SequenceGenerator(name = "team_match_team_players_seq", sequenceName = "team_match_team_players_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
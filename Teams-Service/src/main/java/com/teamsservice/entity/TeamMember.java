@@ -16,9 +16,12 @@ import java.time.LocalDateTime;
     indexes = {
         @Index(name = "idx_team_id", columnList = "team_id"),
         @Index(name = "idx_user_id", columnList = "user_id"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_team_members_team_status", columnList = "team_id, status"),
+        @Index(name = "idx_team_members_user_status", columnList = "user_id, status")
     }
 )
+// idx_team_members_email_lower (lower(user_email)) es de expresión: lo crea la migración V4
 @Data
 @Builder
 @NoArgsConstructor
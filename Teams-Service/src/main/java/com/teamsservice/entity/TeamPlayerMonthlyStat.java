@@ -0,0 +1,68 @@
+package com.teamsservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Acumulado de goles por jugador, equipo y mes (solo partidos finalizados).
+ *
+ * Se actualiza por diferencias cada vez que cambia el resultado de un partido; los rankings de goleadores leen
+ * estas filas en lugar de agrupar todas las estadísticas por partido del equipo.
+ */
+@Entity
+@Table(name = "team_player_monthly_stats", indexes = {
+        @Index(name = "idx_player_monthly_team_period_goals", columnList = "team_id, stat_year, stat_month, goals")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_player_monthly_team_email_period",
+                columnNames = {"team_id", "user_email", "stat_year", "stat_month"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamPlayerMonthlyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    /**
+     * Email normalizado (trim + minúsculas)
+     */
+    @Column(name = "user_email", nullable = false, length = 255)
+    private String userEmail;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "stat_year", nullable = false)
+    private int statYear;
+
+    @Column(name = "stat_month", nullable = false)
+    private int statMonth;
+
+    @Column(name = "goals", nullable = false)
+    private int goals;
+
+    @Column(name = "own_goals", nullable = false)
+    private int ownGoals;
+
+    /**
+     * Partidos finalizados del mes en los que el jugador tiene estadística registrada
+     */
+    @Column(name = "matches_played", nullable = false)
+    private int matchesPlayed;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,61 @@
+package com.teamsservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Acumulado histórico de goles por jugador y equipo (solo partidos finalizados).
+ *
+ * Se mantiene con las mismas diferencias que {@link TeamPlayerMonthlyStat}; el ranking histórico lee los primeros N
+ * en el orden del índice en lugar de sumar todos los meses del equipo.
+ */
+@Entity
+@Table(name = "team_player_stat_totals", indexes = {
+        @Index(name = "idx_player_totals_team_ranking", columnList = "team_id, goals DESC, own_goals, user_email")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_player_totals_team_email", columnNames = {"team_id", "user_email"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamPlayerStatTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    /**
+     * Email normalizado (trim + minúsculas)
+     */
+    @Column(name = "user_email", nullable = false, length = 255)
+    private String userEmail;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "goals", nullable = false)
+    private int goals;
+
+    @Column(name = "own_goals", nullable = false)
+    private int ownGoals;
+
+    /**
+     * Partidos finalizados en los que el jugador tiene estadística registrada
+     */
+    @Column(name = "matches_played", nullable = false)
+    private int matchesPlayed;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -9,6 +9,6 @@ import org.mapstruct.Mapping;
 public interface TeamMapper {
 
     @Mapping(target = "logoUrl", source = "logoPath")
-    @Mapping(target = "memberCount", ignore = true)
+    @Mapping(target = "memberCount", source = "approvedMemberCount")
     TeamResponse toResponse(Team team);
 }
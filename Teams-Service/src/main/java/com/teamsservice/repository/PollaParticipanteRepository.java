@@ -44,4 +44,19 @@ public interface PollaParticipanteRepository extends JpaRepository<PollaParticip
            "AND pp.emailUsuario = :email " +
            "AND pp.estado = 'ACEPTADO'")
     boolean isUserAceptado(@Param("pollaId") Long pollaId, @Param("email") String email);
+
+    interface ParticipacionRow {
+        Long getPollaId();
+
+        PollaParticipante.EstadoParticipante getEstado();
+    }
+
+    /**
+     * Pollas en las que figura el usuario (cualquier estado), con su estado de participación.
+     * {@code email} debe venir normalizado (trim + minúsculas).
+     */
+    @Query("SELECT pp.polla.id AS pollaId, pp.estado AS estado " +
+           "FROM PollaParticipante pp " +
+           "WHERE lower(pp.emailUsuario) = :email")
+    List<ParticipacionRow> findParticipacionesByEmail(@Param("email") String email);
 }
@@ -37,6 +37,12 @@ public interface PollaPronosticoRepository extends JpaRepository<PollaPronostico
         @Param("email") String email
     );
 
+    /**
+     * Encuentra todos los pronósticos de una polla (todos los partidos, todos los participantes)
+     */
+    @Query("SELECT pr FROM PollaPronostico pr WHERE pr.pollaPartido.polla.id = :pollaId")
+    List<PollaPronostico> findByPollaId(@Param("pollaId") Long pollaId);
+
     /**
      * Calcula tabla de posiciones (suma de puntos por participante)
      */
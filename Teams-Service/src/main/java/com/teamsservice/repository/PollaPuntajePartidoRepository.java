@@ -18,6 +18,9 @@ public interface PollaPuntajePartidoRepository extends JpaRepository<PollaPuntaj
 
     List<PollaPuntajePartido> findByPollaPartidoId(Long pollaPartidoId);
 
+    @Query("SELECT pp FROM PollaPuntajePartido pp WHERE pp.pollaPartido.polla.id = :pollaId")
+    List<PollaPuntajePartido> findByPollaId(@Param("pollaId") Long pollaId);
+
     @Query("SELECT pp.emailParticipante, SUM(pp.puntos) " +
            "FROM PollaPuntajePartido pp " +
            "WHERE pp.pollaPartido.polla.id = :pollaId " +
@@ -38,4 +38,10 @@ public interface PollaRepository extends JpaRepository<Polla, Long> {
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END " +
            "FROM Polla p WHERE p.id = :pollaId AND p.creadorEmail = :email")
     boolean isUserCreator(@Param("pollaId") Long pollaId, @Param("email") String email);
+
+    /**
+     * IDs de las pollas creadas por el usuario; {@code email} debe venir normalizado (trim + minúsculas)
+     */
+    @Query("SELECT p.id FROM Polla p WHERE lower(p.creadorEmail) = :email")
+    List<Long> findIdsByCreadorEmail(@Param("email") String email);
 }
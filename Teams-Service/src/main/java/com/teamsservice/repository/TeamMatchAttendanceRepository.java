@@ -2,11 +2,14 @@ package com.teamsservice.repository;
 
 import com.teamsservice.entity.TeamMatch;
 import com.teamsservice.entity.TeamMatchAttendance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +18,100 @@ public interface TeamMatchAttendanceRepository extends JpaRepository<TeamMatchAt
 
     Optional<TeamMatchAttendance> findByMatchIdAndUserId(Long matchId, Long userId);
 
+    long countByMatchIdAndStatus(Long matchId, TeamMatchAttendance.AttendanceStatus status);
+
+    /**
+     * Borra las respuestas de un miembro que sale del equipo en los partidos aún sin finalizar; las de partidos
+     * finalizados quedan como historial.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            DELETE FROM team_match_attendance
+            WHERE user_id = :userId
+              AND match_id IN (SELECT m.id FROM team_matches m WHERE m.team_id = :teamId AND m.finished = false)
+            """, nativeQuery = true)
+    int deleteOpenMatchAttendance(@Param("teamId") Long teamId, @Param("userId") Long userId);
+
+    interface AttendanceRosterRow {
+        Long getUserId();
+
+        String getUserEmail();
+
+        TeamMatchAttendance.AttendanceStatus getStatus();
+
+        LocalDateTime getRespondedAt();
+    }
+
+    /**
+     * Miembros aprobados del equipo con su asistencia al partido (status null = PENDING), en una sola consulta.
+     */
     @Query("""
-            SELECT DISTINCT a.match
-            FROM TeamMatchAttendance a
-            JOIN FETCH a.match.team t
-            WHERE lower(a.userEmail) = lower(:userEmail)
-            ORDER BY a.match.matchDateTime DESC
+            SELECT
+                tm.userId AS userId,
+                tm.userEmail AS userEmail,
+                a.status AS status,
+                a.updatedAt AS respondedAt
+            FROM TeamMember tm
+            LEFT JOIN TeamMatchAttendance a ON a.match.id = :matchId AND a.userId = tm.userId
+            WHERE tm.team.id = :teamId
+              AND tm.status = com.teamsservice.entity.TeamMember.MembershipStatus.APPROVED
+            ORDER BY tm.id ASC
+            """)
+    List<AttendanceRosterRow> findRoster(@Param("teamId") Long teamId, @Param("matchId") Long matchId);
+
+    /**
+     * Todos los partidos en los que el usuario registró asistencia, del más reciente al más antiguo.
+     * {@code userEmail} debe venir normalizado (trim + minúsculas) para usar idx_match_attendance_email_lower.
+     * Se filtra con EXISTS y no con JOIN: la unicidad es por (match_id, user_id), y el mismo correo puede quedar
+     * en más de una fila del partido (id placeholder de OAuth y id real), lo que duplicaría el partido en la página.
+     */
+    @Query("""
+            SELECT m
+            FROM TeamMatch m
+            JOIN FETCH m.team t
+            WHERE EXISTS (SELECT 1 FROM TeamMatchAttendance a
+                          WHERE a.match = m AND lower(a.userEmail) = :userEmail)
+            ORDER BY m.matchDateTime DESC, m.id DESC
             """)
     List<TeamMatch> findMatchesByUserEmail(@Param("userEmail") String userEmail);
+
+    /**
+     * Próximos partidos del usuario en orden (matchDateTime, id) ascendente, posteriores a la posición dada y no
+     * anteriores a {@code now}. Para la primera página la posición es (now, 0).
+     */
+    @Query("""
+            SELECT m
+            FROM TeamMatch m
+            JOIN FETCH m.team t
+            WHERE EXISTS (SELECT 1 FROM TeamMatchAttendance a
+                          WHERE a.match = m AND lower(a.userEmail) = :userEmail)
+              AND m.matchDateTime >= :now
+              AND (m.matchDateTime > :afterDateTime
+                   OR (m.matchDateTime = :afterDateTime AND m.id > :afterId))
+            ORDER BY m.matchDateTime ASC, m.id ASC
+            """)
+    List<TeamMatch> findUpcomingByUserEmail(@Param("userEmail") String userEmail,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("afterDateTime") LocalDateTime afterDateTime,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    /**
+     * Historial del usuario en orden (matchDateTime, id) descendente a partir de la posición dada.
+     * Para la primera página la posición es (now, Long.MAX_VALUE).
+     */
+    @Query("""
+            SELECT m
+            FROM TeamMatch m
+            JOIN FETCH m.team t
+            WHERE EXISTS (SELECT 1 FROM TeamMatchAttendance a
+                          WHERE a.match = m AND lower(a.userEmail) = :userEmail)
+              AND (m.matchDateTime < :beforeDateTime
+                   OR (m.matchDateTime = :beforeDateTime AND m.id < :beforeId))
+            ORDER BY m.matchDateTime DESC, m.id DESC
+            """)
+    List<TeamMatch> findHistoryByUserEmail(@Param("userEmail") String userEmail,
+                                           @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                           @Param("beforeId") Long beforeId,
+                                           Pageable pageable);
 }
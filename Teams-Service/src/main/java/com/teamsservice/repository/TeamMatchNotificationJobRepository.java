@@ -0,0 +1,146 @@
+package com.teamsservice.repository;
+
+import com.teamsservice.entity.TeamMatchNotificationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TeamMatchNotificationJobRepository extends JpaRepository<TeamMatchNotificationJob, Long> {
+
+    Optional<TeamMatchNotificationJob> findByMatchId(Long matchId);
+
+    /**
+     * Toma el job solo si sigue PENDING (evita que dos workers procesen el mismo partido).
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE TeamMatchNotificationJob j
+            SET j.status = com.teamsservice.entity.TeamMatchNotificationJob.JobStatus.RUNNING,
+                j.ownerInstance = :owner,
+                j.startedAt = :now,
+                j.heartbeatAt = :now
+            WHERE j.id = :id
+              AND j.status = com.teamsservice.entity.TeamMatchNotificationJob.JobStatus.PENDING
+            """)
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Toma en bloque los jobs PENDING más antiguos que nadie está procesando (cola llena o instancia reiniciada).
+     * SKIP LOCKED permite que varias instancias barran a la vez sin tomar el mismo job.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE team_match_notification_jobs
+            SET status = 'RUNNING', owner_instance = :owner, started_at = :now, heartbeat_at = :now
+            WHERE id IN (SELECT id FROM team_match_notification_jobs
+                         WHERE status = 'PENDING' AND created_at < :createdBefore
+                         ORDER BY id
+                         LIMIT :limit
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> claimPending(@Param("owner") String owner,
+                            @Param("now") LocalDateTime now,
+                            @Param("createdBefore") LocalDateTime createdBefore,
+                            @Param("limit") int limit);
+
+    /**
+     * Devuelve a PENDING un job tomado que el pool no pudo aceptar.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE TeamMatchNotificationJob j
+            SET j.status = com.teamsservice.entity.TeamMatchNotificationJob.JobStatus.PENDING,
+                j.ownerInstance = null,
+                j.startedAt = null,
+                j.heartbeatAt = null
+            WHERE j.id = :id
+              AND j.ownerInstance = :owner
+              AND j.status = com.teamsservice.entity.TeamMatchNotificationJob.JobStatus.RUNNING
+            """)
+    int release(@Param("id") Long id, @Param("owner") String owner);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE TeamMatchNotificationJob j
+            SET j.totalRecipients = :total,
+                j.heartbeatAt = :now
+            WHERE j.id = :id
+            """)
+    int start(@Param("id") Long id, @Param("total") int total, @Param("now") LocalDateTime now);
+
+    /**
+     * Suma el avance y renueva el latido del job.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE TeamMatchNotificationJob j
+            SET j.enqueued = j.enqueued + :enqueued,
+                j.failed = j.failed + :failed,
+                j.heartbeatAt = :now
+            WHERE j.id = :id
+            """)
+    int addProgress(@Param("id") Long id,
+                    @Param("enqueued") int enqueued,
+                    @Param("failed") int failed,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Marca FAILED los jobs RUNNING cuyo latido venció: su instancia se detuvo a mitad del envío. No se reintentan
+     * porque podrían duplicar notificaciones ya enviadas.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE TeamMatchNotificationJob j
+            SET j.status = com.teamsservice.entity.TeamMatchNotificationJob.JobStatus.FAILED,
+                j.finishedAt = :now,
+                j.lastError = :reason
+            WHERE j.status = com.teamsservice.entity.TeamMatchNotificationJob.JobStatus.RUNNING
+              AND COALESCE(j.heartbeatAt, j.startedAt) < :expiredBefore
+            """)
+    int failExpired(@Param("expiredBefore") LocalDateTime expiredBefore,
+                    @Param("reason") String reason,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Marca FAILED los jobs RUNNING de una instancia que acaba de reiniciar con el mismo identificador.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE TeamMatchNotificationJob j
+            SET j.status = com.teamsservice.entity.TeamMatchNotificationJob.JobStatus.FAILED,
+                j.finishedAt = :now,
+                j.lastError = :reason
+            WHERE j.status = com.teamsservice.entity.TeamMatchNotificationJob.JobStatus.RUNNING
+              AND j.ownerInstance = :owner
+            """)
+    int failOwnedBy(@Param("owner") String owner, @Param("reason") String reason, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE TeamMatchNotificationJob j
+            SET j.status = :status,
+                j.finishedAt = :now,
+                j.lastError = :lastError
+            WHERE j.id = :id
+            """)
+    int finish(@Param("id") Long id,
+               @Param("status") TeamMatchNotificationJob.JobStatus status,
+               @Param("lastError") String lastError,
+               @Param("now") LocalDateTime now);
+}
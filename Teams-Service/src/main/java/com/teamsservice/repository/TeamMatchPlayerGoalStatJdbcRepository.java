@@ -0,0 +1,81 @@
+package com.teamsservice.repository;
+
+import com.teamsservice.service.MatchResultChangeSet;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escrituras por lote de {@code team_match_player_goal_stats}: un batch JDBC por tipo de cambio.
+ *
+ * Las filas se leen como proyección (no entidades administradas), así que escribir por JDBC no deja instancias
+ * desactualizadas en el contexto de persistencia.
+ */
+@Repository
+public class TeamMatchPlayerGoalStatJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO team_match_player_goal_stats (match_id, user_id, user_email, goals, own_goals, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE team_match_player_goal_stats
+            SET user_id = ?, user_email = ?, goals = ?, own_goals = ?, updated_at = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public TeamMatchPlayerGoalStatJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void insertAll(Long matchId, List<MatchResultChangeSet.PlayerGoals> rows, LocalDateTime now) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp ts = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, matchId);
+            ps.setObject(2, row.userId());
+            ps.setString(3, row.userEmail());
+            ps.setInt(4, row.goals());
+            ps.setInt(5, row.ownGoals());
+            ps.setTimestamp(6, ts);
+            ps.setTimestamp(7, ts);
+        });
+    }
+
+    public void updateAll(List<MatchResultChangeSet.Change> changes, LocalDateTime now) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp ts = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(UPDATE_SQL, changes, changes.size(), (ps, change) -> {
+            MatchResultChangeSet.PlayerGoals row = change.after();
+            ps.setObject(1, row.userId());
+            ps.setString(2, row.userEmail());
+            ps.setInt(3, row.goals());
+            ps.setInt(4, row.ownGoals());
+            ps.setTimestamp(5, ts);
+            ps.setLong(6, row.id());
+        });
+    }
+
+    public void deleteAll(List<MatchResultChangeSet.PlayerGoals> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> ids = rows.stream().map(MatchResultChangeSet.PlayerGoals::id).toList();
+        namedJdbcTemplate.update("DELETE FROM team_match_player_goal_stats WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+}
@@ -14,51 +14,28 @@ public interface TeamMatchPlayerGoalStatRepository extends JpaRepository<TeamMat
 
     List<TeamMatchPlayerGoalStat> findByMatchId(Long matchId);
 
-    Optional<TeamMatchPlayerGoalStat> findByMatchIdAndUserEmailIgnoreCase(Long matchId, String userEmail);
-
-    void deleteByMatchId(Long matchId);
-
-    interface PlayerAggRow {
-        String getUserEmail();
+    interface GoalStatRow {
+        Long getId();
 
         Long getUserId();
 
-        long getTotalGoals();
+        String getUserEmail();
 
-        long getTotalOwnGoals();
+        int getGoals();
 
-        long getMatchesFinished();
+        int getOwnGoals();
     }
 
+    /**
+     * Estadísticas del partido como proyección (no quedan administradas por el contexto de persistencia).
+     */
     @Query("""
-            SELECT
-                LOWER(s.userEmail) AS userEmail,
-                MAX(s.userId) AS userId,
-                SUM(s.goals) AS totalGoals,
-                SUM(s.ownGoals) AS totalOwnGoals,
-                COUNT(DISTINCT s.match.id) AS matchesFinished
+            SELECT s.id AS id, s.userId AS userId, s.userEmail AS userEmail, s.goals AS goals, s.ownGoals AS ownGoals
             FROM TeamMatchPlayerGoalStat s
-            WHERE s.match.team.id = :teamId
-              AND s.match.finished = true
-            GROUP BY LOWER(s.userEmail)
+            WHERE s.match.id = :matchId
+            ORDER BY s.id ASC
             """)
-    List<PlayerAggRow> aggregateByTeamFinished(@Param("teamId") Long teamId);
+    List<GoalStatRow> findRowsByMatchId(@Param("matchId") Long matchId);
 
-        @Query("""
-                        SELECT
-                                LOWER(s.userEmail) AS userEmail,
-                                MAX(s.userId) AS userId,
-                                SUM(s.goals) AS totalGoals,
-                                SUM(s.ownGoals) AS totalOwnGoals,
-                                COUNT(DISTINCT s.match.id) AS matchesFinished
-                        FROM TeamMatchPlayerGoalStat s
-                        WHERE s.match.team.id = :teamId
-                            AND s.match.finished = true
-                            AND year(s.match.matchDateTime) = :year
-                            AND (:month IS NULL OR month(s.match.matchDateTime) = :month)
-                        GROUP BY LOWER(s.userEmail)
-                        """)
-        List<PlayerAggRow> aggregateByTeamFinishedInPeriod(@Param("teamId") Long teamId,
-                                                                                                             @Param("year") int year,
-                                                                                                             @Param("month") Integer month);
+    Optional<TeamMatchPlayerGoalStat> findByMatchIdAndUserEmailIgnoreCase(Long matchId, String userEmail);
 }
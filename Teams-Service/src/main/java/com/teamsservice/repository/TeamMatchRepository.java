@@ -1,21 +1,44 @@
 package com.teamsservice.repository;
 
 import com.teamsservice.entity.TeamMatch;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TeamMatchRepository extends JpaRepository<TeamMatch, Long> {
 
     List<TeamMatch> findByTeamIdOrderByMatchDateTimeAsc(Long teamId);
 
-    Page<TeamMatch> findByTeamId(Long teamId, Pageable pageable);
+    Slice<TeamMatch> findSliceByTeamId(Long teamId, Pageable pageable);
+
+    long countByTeamId(Long teamId);
+
+    /**
+     * Página siguiente en orden (matchDateTime, id) descendente a partir de la posición del cursor.
+     */
+    @Query("""
+            SELECT m
+            FROM TeamMatch m
+            WHERE m.team.id = :teamId
+              AND (m.matchDateTime < :afterDateTime
+                   OR (m.matchDateTime = :afterDateTime AND m.id < :afterId))
+            ORDER BY m.matchDateTime DESC, m.id DESC
+            """)
+    List<TeamMatch> findByTeamIdAfterCursor(@Param("teamId") Long teamId,
+                                            @Param("afterDateTime") LocalDateTime afterDateTime,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
 
         @Query("""
                         SELECT DISTINCT year(m.matchDateTime)
@@ -36,28 +59,59 @@ public interface TeamMatchRepository extends JpaRepository<TeamMatch, Long> {
                         """)
         List<Integer> findFinishedMonths(@Param("teamId") Long teamId, @Param("year") int year);
 
-        @Query("""
-                        SELECT m
-                        FROM TeamMatch m
-                        WHERE m.team.id = :teamId
-                            AND m.finished = true
-                            AND year(m.matchDateTime) = :year
-                            AND (:month IS NULL OR month(m.matchDateTime) = :month)
-                        """)
-        Page<TeamMatch> findFinishedMatches(@Param("teamId") Long teamId,
-                                                                                @Param("year") int year,
-                                                                                @Param("month") Integer month,
-                                                                                Pageable pageable);
+        @Query("SELECT DISTINCT m.team.id FROM TeamMatch m WHERE m.finished = true")
+        List<Long> findTeamIdsWithFinishedMatches();
 
+        /**
+         * Inicializa los contadores de asistencia de partidos anteriores a ellos; no hace nada si ya existen.
+         */
+        @Modifying(flushAutomatically = true)
+        @Query(value = """
+                        UPDATE team_matches m SET
+                            attending_count = (SELECT COUNT(*) FROM team_match_attendance a
+                                               WHERE a.match_id = m.id AND a.status = 'ATTENDING'),
+                            not_attending_count = (SELECT COUNT(*) FROM team_match_attendance a
+                                                   WHERE a.match_id = m.id AND a.status = 'NOT_ATTENDING')
+                        WHERE m.id = :matchId
+                            AND (m.attending_count IS NULL OR m.not_attending_count IS NULL)
+                        """, nativeQuery = true)
+        int initAttendanceCounters(@Param("matchId") Long matchId);
+
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
         @Query("""
-                        SELECT m
-                        FROM TeamMatch m
-                        WHERE m.team.id = :teamId
-                            AND m.finished = true
-                            AND year(m.matchDateTime) = :year
-                            AND (:month IS NULL OR month(m.matchDateTime) = :month)
+                        UPDATE TeamMatch m
+                        SET m.attendingCount = m.attendingCount + :attending,
+                            m.notAttendingCount = m.notAttendingCount + :notAttending
+                        WHERE m.id = :matchId
                         """)
-        List<TeamMatch> findFinishedMatches(@Param("teamId") Long teamId,
-                                                                                @Param("year") int year,
-                                                                                @Param("month") Integer month);
+        int addAttendanceCounts(@Param("matchId") Long matchId,
+                                @Param("attending") int attending,
+                                @Param("notAttending") int notAttending);
+
+        /**
+         * Bloquea la fila del partido (SELECT ... FOR UPDATE). Serializa los cambios de asistencia de un partido: leer
+         * la respuesta anterior, escribir la nueva y ajustar los contadores no se intercala con otro request.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT m FROM TeamMatch m WHERE m.id = :matchId")
+        Optional<TeamMatch> findByIdForUpdate(@Param("matchId") Long matchId);
+
+        /**
+         * Descuenta de los partidos sin finalizar del equipo las respuestas de un miembro que sale del equipo; debe
+         * ir antes de borrar esas respuestas. Los partidos sin contadores los inicializan después desde las filas.
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query(value = """
+                        UPDATE team_matches m SET
+                            attending_count = m.attending_count - (SELECT COUNT(*) FROM team_match_attendance a
+                                               WHERE a.match_id = m.id AND a.user_id = :userId AND a.status = 'ATTENDING'),
+                            not_attending_count = m.not_attending_count - (SELECT COUNT(*) FROM team_match_attendance a
+                                                   WHERE a.match_id = m.id AND a.user_id = :userId AND a.status = 'NOT_ATTENDING')
+                        WHERE m.team_id = :teamId
+                            AND m.finished = false
+                            AND m.attending_count IS NOT NULL
+                            AND m.not_attending_count IS NOT NULL
+                            AND EXISTS (SELECT 1 FROM team_match_attendance a WHERE a.match_id = m.id AND a.user_id = :userId)
+                        """, nativeQuery = true)
+        int subtractMemberAttendance(@Param("teamId") Long teamId, @Param("userId") Long userId);
 }
@@ -0,0 +1,91 @@
+package com.teamsservice.repository;
+
+import com.teamsservice.entity.TeamMatchSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TeamMatchSummaryRepository extends JpaRepository<TeamMatchSummary, Long> {
+
+    /**
+     * Partidos finalizados del equipo en [from, to). Rango sobre match_datetime para aprovechar el índice
+     * (team_id, finished, match_datetime, match_id) en lugar de year()/month().
+     */
+    @Query("""
+            SELECT s
+            FROM TeamMatchSummary s
+            WHERE s.teamId = :teamId
+              AND s.finished = true
+              AND s.matchDateTime >= :from
+              AND s.matchDateTime < :to
+            """)
+    Slice<TeamMatchSummary> findFinishedInPeriod(@Param("teamId") Long teamId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 Pageable pageable);
+
+    /**
+     * Página siguiente en orden (matchDateTime, matchId) descendente a partir de la posición del cursor.
+     */
+    @Query("""
+            SELECT s
+            FROM TeamMatchSummary s
+            WHERE s.teamId = :teamId
+              AND s.finished = true
+              AND s.matchDateTime >= :from
+              AND s.matchDateTime < :to
+              AND (s.matchDateTime < :afterDateTime
+                   OR (s.matchDateTime = :afterDateTime AND s.matchId < :afterId))
+            ORDER BY s.matchDateTime DESC, s.matchId DESC
+            """)
+    List<TeamMatchSummary> findFinishedInPeriodAfterCursor(@Param("teamId") Long teamId,
+                                                           @Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to,
+                                                           @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                           @Param("afterId") Long afterId,
+                                                           Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(s)
+            FROM TeamMatchSummary s
+            WHERE s.teamId = :teamId
+              AND s.finished = true
+              AND s.matchDateTime >= :from
+              AND s.matchDateTime < :to
+            """)
+    long countFinishedInPeriod(@Param("teamId") Long teamId,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT s
+            FROM TeamMatchSummary s
+            WHERE s.teamId = :teamId
+              AND s.finished = true
+              AND s.matchDateTime >= :from
+              AND s.matchDateTime < :to
+              AND s.winnerMatchTeamId IS NOT NULL
+            """)
+    List<TeamMatchSummary> findFinishedWithWinnerInPeriod(@Param("teamId") Long teamId,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    /**
+     * Partidos con resultado registrado que aún no tienen resumen (datos previos a la proyección).
+     */
+    @Query("""
+            SELECT m.id
+            FROM TeamMatch m
+            WHERE (m.finished = true OR m.resultUpdatedAt IS NOT NULL)
+              AND NOT EXISTS (SELECT 1 FROM TeamMatchSummary s WHERE s.matchId = m.id)
+            ORDER BY m.id ASC
+            """)
+    List<Long> findMatchIdsMissingSummary(Pageable pageable);
+}
@@ -2,6 +2,9 @@ package com.teamsservice.repository;
 
 import com.teamsservice.entity.TeamMatchTeamPlayer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +24,11 @@ public interface TeamMatchTeamPlayerRepository extends JpaRepository<TeamMatchTe
     List<TeamMatchTeamPlayer> findByMatchTeamMatchId(Long matchId);
 
     void deleteByMatchTeamMatchIdAndUserId(Long matchId, Long userId);
+
+    /**
+     * Borra todos los jugadores de un equipo del partido en un solo DELETE (sin cargarlos uno por uno).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TeamMatchTeamPlayer p WHERE p.matchTeam.id = :matchTeamId")
+    int bulkDeleteByMatchTeamId(@Param("matchTeamId") Long matchTeamId);
 }
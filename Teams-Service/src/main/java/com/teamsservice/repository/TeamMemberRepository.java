@@ -3,10 +3,13 @@ package com.teamsservice.repository;
 import com.teamsservice.entity.TeamMember;
 import com.teamsservice.entity.TeamMember.MembershipStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +22,32 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     // Obtener la membresía de un usuario en un equipo
     Optional<TeamMember> findByTeamIdAndUserId(Long teamId, Long userId);
     
+    /**
+     * Resuelve la solicitud solo si sigue PENDING; dos aprobaciones simultáneas no pueden sumar dos veces al
+     * contador. Devuelve 0 si otra petición ya la resolvió.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE TeamMember tm
+            SET tm.status = :status,
+                tm.approvedBy = :approvedBy,
+                tm.approvedAt = :now,
+                tm.updatedAt = :now
+            WHERE tm.id = :id
+              AND tm.status = com.teamsservice.entity.TeamMember.MembershipStatus.PENDING
+            """)
+    int resolvePending(@Param("id") Long id,
+                       @Param("status") MembershipStatus status,
+                       @Param("approvedBy") Long approvedBy,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Borra la membresía y devuelve las filas eliminadas, para descontar contadores solo una vez.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TeamMember tm WHERE tm.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
     // Obtener todas las solicitudes pendientes de un equipo
     List<TeamMember> findByTeamIdAndStatus(Long teamId, MembershipStatus status);
     
@@ -32,7 +61,31 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     
     // Contar miembros aprobados de un equipo
     long countByTeamIdAndStatus(Long teamId, MembershipStatus status);
+
+    interface TeamMemberCountRow {
+        Long getTeamId();
+
+        long getTotal();
+    }
+
+    // Contar miembros aprobados de varios equipos en una sola consulta
+    @Query("""
+            SELECT tm.team.id AS teamId, COUNT(tm) AS total
+            FROM TeamMember tm
+            WHERE tm.team.id IN :teamIds AND tm.status = 'APPROVED'
+            GROUP BY tm.team.id
+            """)
+    List<TeamMemberCountRow> countApprovedByTeamIds(@Param("teamIds") Collection<Long> teamIds);
     
     // Verificar si un usuario (por email) es miembro aprobado de un equipo
     boolean existsByTeamIdAndUserEmailAndStatus(Long teamId, String userEmail, MembershipStatus status);
+
+    // Equipos donde el usuario (por id o por email normalizado) es miembro aprobado
+    @Query("""
+            SELECT tm.team.id
+            FROM TeamMember tm
+            WHERE tm.status = 'APPROVED'
+              AND (tm.userId = :userId OR lower(tm.userEmail) = :userEmail)
+            """)
+    List<Long> findApprovedTeamIdsByUser(@Param("userId") Long userId, @Param("userEmail") String userEmail);
 }
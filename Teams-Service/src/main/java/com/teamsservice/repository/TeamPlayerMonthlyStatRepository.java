@@ -0,0 +1,113 @@
+package com.teamsservice.repository;
+
+import com.teamsservice.entity.TeamPlayerMonthlyStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TeamPlayerMonthlyStatRepository extends JpaRepository<TeamPlayerMonthlyStat, Long> {
+
+    interface PlayerTotalsRow {
+        String getUserEmail();
+
+        Long getUserId();
+
+        long getTotalGoals();
+
+        long getTotalOwnGoals();
+
+        long getMatchesFinished();
+    }
+
+    /**
+     * Suma atómica de una diferencia sobre la fila (equipo, jugador, mes); la crea si no existe.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO team_player_monthly_stats
+                (team_id, user_email, user_id, stat_year, stat_month, goals, own_goals, matches_played, updated_at)
+            VALUES (:teamId, :userEmail, :userId, :year, :month, :goals, :ownGoals, :matches, now())
+            ON CONFLICT (team_id, user_email, stat_year, stat_month) DO UPDATE SET
+                goals = team_player_monthly_stats.goals + EXCLUDED.goals,
+                own_goals = team_player_monthly_stats.own_goals + EXCLUDED.own_goals,
+                matches_played = team_player_monthly_stats.matches_played + EXCLUDED.matches_played,
+                user_id = COALESCE(EXCLUDED.user_id, team_player_monthly_stats.user_id),
+                updated_at = now()
+            """, nativeQuery = true)
+    void addDelta(@Param("teamId") Long teamId,
+                  @Param("userEmail") String userEmail,
+                  @Param("userId") Long userId,
+                  @Param("year") int year,
+                  @Param("month") int month,
+                  @Param("goals") int goals,
+                  @Param("ownGoals") int ownGoals,
+                  @Param("matches") int matches);
+
+    @Modifying
+    @Query("""
+            DELETE FROM TeamPlayerMonthlyStat a
+            WHERE a.teamId = :teamId
+              AND a.statYear = :year
+              AND a.statMonth = :month
+              AND a.goals = 0
+              AND a.ownGoals = 0
+              AND a.matchesPlayed = 0
+            """)
+    int deleteEmptyRows(@Param("teamId") Long teamId, @Param("year") int year, @Param("month") int month);
+
+    @Modifying
+    @Query("DELETE FROM TeamPlayerMonthlyStat a WHERE a.teamId = :teamId")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+
+    /**
+     * Recalcula desde cero los acumulados del equipo a partir de las estadísticas por partido.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO team_player_monthly_stats
+                (team_id, user_email, user_id, stat_year, stat_month, goals, own_goals, matches_played, updated_at)
+            SELECT m.team_id,
+                   LOWER(TRIM(s.user_email)),
+                   MAX(s.user_id),
+                   CAST(EXTRACT(YEAR FROM m.match_datetime) AS INTEGER),
+                   CAST(EXTRACT(MONTH FROM m.match_datetime) AS INTEGER),
+                   SUM(s.goals),
+                   SUM(s.own_goals),
+                   COUNT(DISTINCT m.id),
+                   now()
+            FROM team_match_player_goal_stats s
+            JOIN team_matches m ON m.id = s.match_id
+            WHERE m.team_id = :teamId
+              AND m.finished = true
+            GROUP BY m.team_id,
+                     LOWER(TRIM(s.user_email)),
+                     CAST(EXTRACT(YEAR FROM m.match_datetime) AS INTEGER),
+                     CAST(EXTRACT(MONTH FROM m.match_datetime) AS INTEGER)
+            """, nativeQuery = true)
+    int insertFromGoalStats(@Param("teamId") Long teamId);
+
+    @Query("""
+            SELECT
+                a.userEmail AS userEmail,
+                MAX(a.userId) AS userId,
+                SUM(a.goals) AS totalGoals,
+                SUM(a.ownGoals) AS totalOwnGoals,
+                SUM(a.matchesPlayed) AS matchesFinished
+            FROM TeamPlayerMonthlyStat a
+            WHERE a.teamId = :teamId
+              AND a.statYear = :year
+              AND (:month IS NULL OR a.statMonth = :month)
+            GROUP BY a.userEmail
+            ORDER BY SUM(a.goals) DESC, SUM(a.ownGoals) ASC, a.userEmail ASC
+            """)
+    List<PlayerTotalsRow> findTopByTeamInPeriod(@Param("teamId") Long teamId,
+                                                @Param("year") int year,
+                                                @Param("month") Integer month,
+                                                Pageable pageable);
+}
@@ -0,0 +1,75 @@
+package com.teamsservice.repository;
+
+import com.teamsservice.entity.TeamPlayerStatTotal;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TeamPlayerStatTotalRepository extends JpaRepository<TeamPlayerStatTotal, Long> {
+
+    /**
+     * Suma atómica de una diferencia sobre la fila (equipo, jugador); la crea si no existe.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO team_player_stat_totals
+                (team_id, user_email, user_id, goals, own_goals, matches_played, updated_at)
+            VALUES (:teamId, :userEmail, :userId, :goals, :ownGoals, :matches, now())
+            ON CONFLICT (team_id, user_email) DO UPDATE SET
+                goals = team_player_stat_totals.goals + EXCLUDED.goals,
+                own_goals = team_player_stat_totals.own_goals + EXCLUDED.own_goals,
+                matches_played = team_player_stat_totals.matches_played + EXCLUDED.matches_played,
+                user_id = COALESCE(EXCLUDED.user_id, team_player_stat_totals.user_id),
+                updated_at = now()
+            """, nativeQuery = true)
+    void addDelta(@Param("teamId") Long teamId,
+                  @Param("userEmail") String userEmail,
+                  @Param("userId") Long userId,
+                  @Param("goals") int goals,
+                  @Param("ownGoals") int ownGoals,
+                  @Param("matches") int matches);
+
+    @Modifying
+    @Query("""
+            DELETE FROM TeamPlayerStatTotal t
+            WHERE t.teamId = :teamId
+              AND t.goals = 0
+              AND t.ownGoals = 0
+              AND t.matchesPlayed = 0
+            """)
+    int deleteEmptyRows(@Param("teamId") Long teamId);
+
+    @Modifying
+    @Query("DELETE FROM TeamPlayerStatTotal t WHERE t.teamId = :teamId")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+
+    /**
+     * Recalcula los totales del equipo desde sus acumulados mensuales (que deben estar reconstruidos antes).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO team_player_stat_totals
+                (team_id, user_email, user_id, goals, own_goals, matches_played, updated_at)
+            SELECT team_id, user_email, MAX(user_id), SUM(goals), SUM(own_goals), SUM(matches_played), now()
+            FROM team_player_monthly_stats
+            WHERE team_id = :teamId
+            GROUP BY team_id, user_email
+            """, nativeQuery = true)
+    int insertFromMonthlyStats(@Param("teamId") Long teamId);
+
+    /**
+     * Ranking histórico: recorre {@code idx_player_totals_team_ranking} y se detiene en el límite.
+     */
+    @Query("""
+            SELECT t FROM TeamPlayerStatTotal t
+            WHERE t.teamId = :teamId
+            ORDER BY t.goals DESC, t.ownGoals ASC, t.userEmail ASC
+            """)
+    List<TeamPlayerStatTotal> findTopByTeam(@Param("teamId") Long teamId, Pageable pageable);
+}
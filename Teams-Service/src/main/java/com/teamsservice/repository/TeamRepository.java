@@ -5,7 +5,11 @@ import com.teamsservice.entity.TeamStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,4 +34,31 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     
     // Query para encontrar por ID y estado (para operaciones internas)
     Optional<Team> findByIdAndStatus(Long id, TeamStatus status);
+
+    /**
+     * Suma {@code delta} al contador de miembros aprobados en la propia fila; no toca contadores aún sin inicializar.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE teams SET approved_member_count = approved_member_count + :delta
+            WHERE id = :teamId AND approved_member_count IS NOT NULL
+            """, nativeQuery = true)
+    int addApprovedMembers(@Param("teamId") Long teamId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE teams SET approved_member_count = 0 WHERE id = :teamId", nativeQuery = true)
+    int resetApprovedMembers(@Param("teamId") Long teamId);
+
+    /**
+     * Recalcula desde team_members el contador de todos los equipos (0 para los eliminados).
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE teams t SET approved_member_count = CASE
+                WHEN t.status = 'ACTIVE' THEN (SELECT COUNT(*) FROM team_members tm
+                                               WHERE tm.team_id = t.id AND tm.status = 'APPROVED')
+                ELSE 0 END
+            """, nativeQuery = true)
+    int recomputeApprovedMemberCounts();
 }
@@ -14,6 +14,7 @@ import javax.crypto.SecretKey;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @Slf4j
@@ -76,6 +77,20 @@ public class JwtTokenProvider {
         return data;
     }
 
+    /**
+     * Token de servicio (sin usuario) para llamadas salientes a otros servicios que comparten JWT_SECRET.
+     */
+    public String generateServiceToken(String subject, long ttlMillis, Map<String, Object> extraClaims) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claims(extraClaims)
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMillis))
+                .signWith(getSigningKey())
+                .compact();
+    }
+
     public Claims getClaimsFromToken(String token) {
         return Jwts.parser()
                 .verifyWith(getSigningKey())
@@ -127,6 +142,14 @@ public class JwtTokenProvider {
                 authorities.add(new SimpleGrantedAuthority("ROLE_" + role.toString()));
             }
         }
+        // El auth-service emite un único claim "role" (USER, GROUP_ADMIN, SYSTEM_ADMIN)
+        Object role = claims.get("role");
+        if (role != null && !role.toString().isBlank()) {
+            SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
+            if (!authorities.contains(authority)) {
+                authorities.add(authority);
+            }
+        }
         
         return authorities;
     }
@@ -1,13 +1,21 @@
 package com.teamsservice.service;
 
 import com.teamsservice.dto.UserInfoDto;
+import com.teamsservice.security.ServiceTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Servicio para comunicarse con el auth-service y obtener información de usuarios
  */
@@ -17,6 +25,7 @@ import org.springframework.web.client.RestClientException;
 public class AuthServiceClient {
 
     private final RestTemplate restTemplate;
+    private final ServiceTokenProvider serviceTokenProvider;
     
     @Value("${app.auth-service.url:http://localhost:8080}")
     private String authServiceUrl;
@@ -62,4 +71,42 @@ public class AuthServiceClient {
             return null;
         }
     }
+
+    /**
+     * Obtiene en lote la información de varios usuarios (POST /api/v1/user/by-emails, máx. 200 por llamada). El
+     * endpoint solo acepta tokens de servicio, así que la llamada va con el de {@link ServiceTokenProvider}.
+     * Si el endpoint en lote falla, consulta uno por uno para no perder los datos de contacto.
+     * @return usuarios encontrados indexados por email normalizado (minúsculas)
+     */
+    public Map<String, UserInfoDto> getUsersByEmails(Collection<String> emails) {
+        Map<String, UserInfoDto> result = new HashMap<>();
+        if (emails == null || emails.isEmpty()) {
+            return result;
+        }
+        try {
+            String url = authServiceUrl + "/api/v1/user/by-emails";
+            log.info("Fetching {} users in batch from auth-service: {}", emails.size(), url);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(serviceTokenProvider.getToken());
+            UserInfoDto[] users = restTemplate.postForObject(url, new HttpEntity<>(emails, headers), UserInfoDto[].class);
+            if (users != null) {
+                for (UserInfoDto user : users) {
+                    if (user != null && user.getEmail() != null) {
+                        result.put(user.getEmail().trim().toLowerCase(Locale.ROOT), user);
+                    }
+                }
+            }
+            return result;
+        } catch (RestClientException e) {
+            log.warn("Batch user lookup failed ({}); falling back to per-email lookups", e.getMessage());
+        }
+        for (String email : emails) {
+            UserInfoDto user = getUserByEmail(email);
+            if (user != null) {
+                result.put(email.trim().toLowerCase(Locale.ROOT), user);
+            }
+        }
+        return result;
+    }
 }
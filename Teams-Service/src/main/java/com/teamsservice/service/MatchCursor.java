@@ -0,0 +1,72 @@
+package com.teamsservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginar partidos por (matchDateTime, id) descendente.
+ *
+ * El cliente solo lo reenvía tal cual; internamente es la posición del último elemento entregado codificada en
+ * base64url, de modo que la siguiente página se lee con un rango sobre el índice en vez de OFFSET. Los listados que
+ * recorren varios tramos (p. ej. próximos y luego historial) anteponen el tramo al que pertenece la posición.
+ */
+final class MatchCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String phase;
+    private final LocalDateTime matchDateTime;
+    private final Long id;
+
+    private MatchCursor(String phase, LocalDateTime matchDateTime, Long id) {
+        this.phase = phase;
+        this.matchDateTime = matchDateTime;
+        this.id = id;
+    }
+
+    /**
+     * Tramo del listado al que pertenece la posición; null si el cursor no lo lleva
+     */
+    String getPhase() {
+        return phase;
+    }
+
+    LocalDateTime getMatchDateTime() {
+        return matchDateTime;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    static String encode(LocalDateTime matchDateTime, Long id) {
+        return encode(null, matchDateTime, id);
+    }
+
+    static String encode(String phase, LocalDateTime matchDateTime, Long id) {
+        String raw = (phase != null ? phase + SEPARATOR : "") + matchDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException si el cursor no fue generado por este servicio
+     */
+    static MatchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            if (sep <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String head = raw.substring(0, sep);
+            int phaseSep = head.indexOf(SEPARATOR);
+            String phase = phaseSep >= 0 ? head.substring(0, phaseSep) : null;
+            return new MatchCursor(phase, LocalDateTime.parse(head.substring(phaseSep + 1)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
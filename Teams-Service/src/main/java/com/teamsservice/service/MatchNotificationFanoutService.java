@@ -0,0 +1,353 @@
+package com.teamsservice.service;
+
+import com.teamsservice.config.MatchNotificationProperties;
+import com.teamsservice.dto.MatchNotificationProgressResponse;
+import com.teamsservice.dto.NotificationSendRequest;
+import com.teamsservice.dto.UserInfoDto;
+import com.teamsservice.entity.Team;
+import com.teamsservice.entity.TeamMatch;
+import com.teamsservice.entity.TeamMatchNotificationJob;
+import com.teamsservice.entity.TeamMember;
+import com.teamsservice.exception.ResourceNotFoundException;
+import com.teamsservice.exception.UnauthorizedException;
+import com.teamsservice.repository.TeamMatchNotificationJobRepository;
+import com.teamsservice.repository.TeamMatchRepository;
+import com.teamsservice.repository.TeamMemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fan-out de la notificación "nuevo partido" fuera del request de creación.
+ *
+ * {@link #schedule} deja un job PENDING en la transacción del partido y, tras el commit, lo entrega a un pool
+ * acotado. El worker resuelve los contactos en lote contra el auth-service, publica una notificación por miembro
+ * al exchange de Notificacion-Service (o por HTTP como respaldo) y persiste el avance, consultable por partido.
+ * Cada job RUNNING lleva la instancia dueña y un latido; {@link MatchNotificationRecovery} retoma los PENDING que
+ * nadie tomó y da por perdidos solo los RUNNING cuyo latido venció.
+ */
+@Service
+@Slf4j
+public class MatchNotificationFanoutService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final TeamMatchNotificationJobRepository jobRepository;
+    private final TeamMatchRepository teamMatchRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final AuthServiceClient authServiceClient;
+    private final NotificationServiceClient notificationServiceClient;
+    private final RabbitTemplate rabbitTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final MatchNotificationProperties properties;
+    private final TransactionTemplate readOnlyTx;
+    private final String instanceId;
+
+    @Value("${app.frontend.url:http://localhost:4200}")
+    private String frontendUrl;
+
+    public MatchNotificationFanoutService(TeamMatchNotificationJobRepository jobRepository,
+                                          TeamMatchRepository teamMatchRepository,
+                                          TeamMemberRepository teamMemberRepository,
+                                          AuthServiceClient authServiceClient,
+                                          NotificationServiceClient notificationServiceClient,
+                                          RabbitTemplate rabbitTemplate,
+                                          @Qualifier("matchNotificationExecutor") ThreadPoolTaskExecutor executor,
+                                          MatchNotificationProperties properties,
+                                          PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.teamMatchRepository = teamMatchRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.authServiceClient = authServiceClient;
+        this.notificationServiceClient = notificationServiceClient;
+        this.rabbitTemplate = rabbitTemplate;
+        this.executor = executor;
+        this.properties = properties;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.instanceId = resolveInstanceId(properties.getInstanceId());
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /** Datos del partido necesarios para armar los mensajes, leídos dentro de una transacción corta */
+    private record FanoutPlan(Team team, TeamMatch match, List<String> recipients) {
+    }
+
+    /**
+     * Registra el envío del partido recién creado y lo agenda para después del commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void schedule(TeamMatch match) {
+        TeamMatchNotificationJob job = jobRepository.save(TeamMatchNotificationJob.builder()
+                .matchId(match.getId())
+                .status(TeamMatchNotificationJob.JobStatus.PENDING)
+                .build());
+        Long jobId = job.getId();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(jobId);
+            }
+        });
+    }
+
+    /**
+     * Entrega el job al pool. Si la cola está llena queda PENDING y lo retoma {@link #resumePending()}.
+     */
+    public void submit(Long jobId) {
+        try {
+            // Conserva el JWT del owner para el respaldo HTTP hacia Notificacion-Service
+            executor.execute(new DelegatingSecurityContextRunnable(() -> run(jobId)));
+        } catch (TaskRejectedException e) {
+            log.warn("Match notification queue full; job {} stays PENDING", jobId);
+        }
+    }
+
+    /**
+     * Toma los jobs PENDING que ningún worker recibió, solo hasta el cupo libre de la cola, y los entrega al pool.
+     * Un job que el pool rechace de todos modos vuelve a PENDING para el siguiente barrido.
+     *
+     * @return cantidad de jobs entregados al pool
+     */
+    public int resumePending() {
+        int capacity = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity <= 0) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> jobIds = jobRepository.claimPending(instanceId, now, now.minus(properties.getPendingGrace()), capacity);
+
+        int submitted = 0;
+        for (Long jobId : jobIds) {
+            try {
+                executor.execute(() -> execute(jobId));
+                submitted++;
+            } catch (TaskRejectedException e) {
+                jobRepository.release(jobId, instanceId);
+            }
+        }
+        return submitted;
+    }
+
+    @Transactional(readOnly = true)
+    public MatchNotificationProgressResponse getProgress(Long teamId, Long matchId, Long currentUserId) {
+        TeamMatch match = teamMatchRepository.findById(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + matchId));
+
+        if (!match.getTeam().getId().equals(teamId)) {
+            throw new IllegalArgumentException("Match does not belong to this team");
+        }
+        if (!match.getTeam().getOwnerUserId().equals(currentUserId)) {
+            throw new UnauthorizedException("Only team owner can view match notifications");
+        }
+
+        TeamMatchNotificationJob job = jobRepository.findByMatchId(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("No notifications were scheduled for match: " + matchId));
+
+        return MatchNotificationProgressResponse.builder()
+                .matchId(matchId)
+                .status(job.getStatus().name())
+                .totalRecipients(job.getTotalRecipients())
+                .enqueued(job.getEnqueued())
+                .failed(job.getFailed())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    void run(Long jobId) {
+        if (jobRepository.claim(jobId, instanceId, LocalDateTime.now()) == 0) {
+            return;
+        }
+        execute(jobId);
+    }
+
+    /**
+     * Envía un job que esta instancia ya tomó (RUNNING con owner = instanceId).
+     */
+    void execute(Long jobId) {
+        try {
+            TeamMatchNotificationJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null) {
+                return;
+            }
+            FanoutPlan plan = readOnlyTx.execute(status -> loadPlan(job.getMatchId()));
+            if (plan == null) {
+                jobRepository.finish(jobId, TeamMatchNotificationJob.JobStatus.FAILED, "Match not found", LocalDateTime.now());
+                return;
+            }
+            jobRepository.start(jobId, plan.recipients().size(), LocalDateTime.now());
+
+            int flushEvery = Math.max(1, properties.getProgressFlushEvery());
+            int batchSize = Math.max(1, Math.min(200, properties.getContactBatchSize()));
+            int enqueued = 0;
+            int failed = 0;
+            String lastError = null;
+
+            List<String> recipients = plan.recipients();
+            for (int from = 0; from < recipients.size(); from += batchSize) {
+                List<String> batch = recipients.subList(from, Math.min(recipients.size(), from + batchSize));
+                Map<String, UserInfoDto> contacts = authServiceClient.getUsersByEmails(batch);
+
+                for (String email : batch) {
+                    try {
+                        deliver(buildNotification(plan, email, contacts.get(email.toLowerCase(Locale.ROOT))));
+                        enqueued++;
+                    } catch (Exception e) {
+                        failed++;
+                        lastError = truncate(e.getMessage());
+                        log.warn("Could not enqueue match {} notification for {}: {}", plan.match().getId(), email, e.getMessage());
+                    }
+                    if (enqueued + failed >= flushEvery) {
+                        jobRepository.addProgress(jobId, enqueued, failed, LocalDateTime.now());
+                        enqueued = 0;
+                        failed = 0;
+                    }
+                }
+            }
+            jobRepository.addProgress(jobId, enqueued, failed, LocalDateTime.now());
+            jobRepository.finish(jobId, TeamMatchNotificationJob.JobStatus.COMPLETED, lastError, LocalDateTime.now());
+            log.info("Match {} notifications finished for {} recipients", plan.match().getId(), recipients.size());
+        } catch (Exception e) {
+            log.error("Match notification job {} failed: {}", jobId, e.getMessage(), e);
+            jobRepository.finish(jobId, TeamMatchNotificationJob.JobStatus.FAILED, truncate(e.getMessage()), LocalDateTime.now());
+        }
+    }
+
+    private FanoutPlan loadPlan(Long matchId) {
+        TeamMatch match = teamMatchRepository.findById(matchId).orElse(null);
+        if (match == null) {
+            return null;
+        }
+        Team team = match.getTeam();
+        // Inicializa el proxy dentro de la transacción; el envío ocurre fuera de ella
+        team.getName();
+
+        Set<String> recipients = new LinkedHashSet<>();
+        for (TeamMember member : teamMemberRepository.findApprovedMembersByTeamId(team.getId())) {
+            String email = member.getUserEmail();
+            if (email != null && !email.isBlank()) {
+                recipients.add(email.trim());
+            }
+        }
+        return new FanoutPlan(team, match, new ArrayList<>(recipients));
+    }
+
+    private void deliver(NotificationSendRequest notification) {
+        if ("rabbit".equalsIgnoreCase(properties.getMode())) {
+            try {
+                rabbitTemplate.convertAndSend(properties.getExchange(), properties.getRoutingKey(), notification);
+                return;
+            } catch (AmqpException e) {
+                log.warn("Could not publish match notification to RabbitMQ ({}); falling back to HTTP", e.getMessage());
+            }
+        }
+        notificationServiceClient.sendNotification(notification);
+    }
+
+    private NotificationSendRequest buildNotification(FanoutPlan plan, String email, UserInfoDto userInfo) {
+        Team team = plan.team();
+        TeamMatch match = plan.match();
+
+        String phone = null;
+        if (userInfo != null && userInfo.getCountryCode() != null && userInfo.getPhoneNumber() != null) {
+            phone = userInfo.getCountryCode() + userInfo.getPhoneNumber();
+        }
+
+        List<String> channels = new ArrayList<>();
+        channels.add("EMAIL");
+        if (phone != null && !phone.isBlank()) {
+            channels.add("WHATSAPP");
+            channels.add("SMS");
+        }
+
+        String mapsUrl;
+        if (match.getLatitude() != null && match.getLongitude() != null && match.getPlaceId() != null) {
+            mapsUrl = String.format(
+                    "https://www.google.com/maps/search/?api=1&query=%f,%f&query_place_id=%s",
+                    match.getLatitude(),
+                    match.getLongitude(),
+                    match.getPlaceId()
+            );
+        } else if (match.getAddress() != null) {
+            mapsUrl = "https://www.google.com/maps/search/?api=1&query=" + match.getAddress().replace(" ", "+");
+        } else {
+            mapsUrl = "https://www.google.com/maps";
+        }
+
+        String confirmUrl = String.format("%s/equipos/%d/partidos/%d", frontendUrl, team.getId(), match.getId());
+
+        String subject = "Nuevo partido del equipo " + team.getName();
+        String body = String.format(
+                "El grupo %s programó un partido el %s en %s.\n\n" +
+                "Ver ubicación en Google Maps: %s\n\n" +
+                "Para confirmar tu asistencia da clic aquí: %s",
+                team.getName(),
+                match.getMatchDateTime().format(DATE_FORMAT),
+                match.getAddress(),
+                mapsUrl,
+                confirmUrl
+        );
+
+        return NotificationSendRequest.builder()
+                .channels(channels)
+                .recipient(email)
+                .recipientPhone(phone)
+                .subject(subject)
+                .body(body)
+                .serviceOrigin("teams-service")
+                .build();
+    }
+
+    private static String resolveInstanceId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.trim();
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "teams-service";
+        }
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String id = host + "-" + suffix;
+        return id.length() <= 100 ? id : id.substring(id.length() - 100);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,66 @@
+package com.teamsservice.service;
+
+import com.teamsservice.config.MatchNotificationProperties;
+import com.teamsservice.repository.TeamMatchNotificationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recuperación de los envíos de partidos con varias instancias activas.
+ *
+ * Cada sweep-interval retoma los jobs PENDING que ningún worker recibió (cola llena o instancia reiniciada) y marca
+ * FAILED los RUNNING cuyo latido superó el lease: su instancia se detuvo y reintentarlos podría duplicar
+ * notificaciones ya enviadas. Los RUNNING de otras instancias vivas no se tocan.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class MatchNotificationRecovery implements ApplicationRunner {
+
+    private final TeamMatchNotificationJobRepository jobRepository;
+    private final MatchNotificationFanoutService fanoutService;
+    private final MatchNotificationProperties properties;
+
+    /**
+     * Si la instancia reinicia con el mismo instance-id, sus jobs RUNNING quedaron huérfanos sin esperar el lease.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int failed = jobRepository.failOwnedBy(fanoutService.getInstanceId(),
+                    "Interrupted by service restart", LocalDateTime.now());
+            if (failed > 0) {
+                log.info("Marked {} match notification jobs of this instance as FAILED after restart", failed);
+            }
+        } catch (Exception e) {
+            log.warn("Match notification recovery failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.match-notifications.sweep-initial-delay:10000}",
+            fixedDelayString = "${app.match-notifications.sweep-interval:30000}")
+    public void sweep() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int expired = jobRepository.failExpired(now.minus(properties.getLease()),
+                    "Worker lease expired", now);
+            if (expired > 0) {
+                log.warn("Marked {} match notification jobs with an expired lease as FAILED", expired);
+            }
+            int resumed = fanoutService.resumePending();
+            if (resumed > 0) {
+                log.info("Resumed {} pending match notification jobs", resumed);
+            }
+        } catch (Exception e) {
+            log.warn("Match notification sweep failed: {}", e.getMessage());
+        }
+    }
+}
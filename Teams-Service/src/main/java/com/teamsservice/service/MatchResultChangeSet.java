@@ -0,0 +1,147 @@
+package com.teamsservice.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Diferencia entre las estadísticas de goles guardadas de un partido y las que trae un nuevo resultado.
+ *
+ * Se escribe solo lo que cambió (inserts, updates y deletes) y los agregados que dependen del partido
+ * (acumulados por jugador, resumen) aplican esta misma diferencia en lugar de recalcular todo el partido.
+ */
+public final class MatchResultChangeSet {
+
+    /**
+     * Goles de un jugador en el partido. {@code id} es el de la fila guardada (null si aún no existe).
+     */
+    public record PlayerGoals(Long id, String userEmail, Long userId, int goals, int ownGoals) {
+    }
+
+    /** Fila existente cuyo valor cambia */
+    public record Change(PlayerGoals before, PlayerGoals after) {
+    }
+
+    private final boolean wasFinished;
+    private final boolean finished;
+    private final List<PlayerGoals> inserted;
+    private final List<Change> updated;
+    private final List<PlayerGoals> deleted;
+    private final List<PlayerGoals> unchanged;
+
+    private MatchResultChangeSet(boolean wasFinished, boolean finished, List<PlayerGoals> inserted,
+                                 List<Change> updated, List<PlayerGoals> deleted, List<PlayerGoals> unchanged) {
+        this.wasFinished = wasFinished;
+        this.finished = finished;
+        this.inserted = Collections.unmodifiableList(inserted);
+        this.updated = Collections.unmodifiableList(updated);
+        this.deleted = Collections.unmodifiableList(deleted);
+        this.unchanged = Collections.unmodifiableList(unchanged);
+    }
+
+    /**
+     * Compara por email normalizado. Si hay filas guardadas repetidas para el mismo email (datos viejos sin
+     * normalizar) se conserva la primera y las demás se eliminan.
+     *
+     * @param existing filas guardadas del partido
+     * @param desired  estado pedido, ya deduplicado; los jugadores sin goles ni autogoles no deben venir
+     */
+    public static MatchResultChangeSet diff(Collection<PlayerGoals> existing,
+                                            Collection<PlayerGoals> desired,
+                                            boolean wasFinished,
+                                            boolean finished) {
+        List<PlayerGoals> inserted = new ArrayList<>();
+        List<Change> updated = new ArrayList<>();
+        List<PlayerGoals> deleted = new ArrayList<>();
+        List<PlayerGoals> unchanged = new ArrayList<>();
+
+        Map<String, PlayerGoals> existingByEmail = new LinkedHashMap<>();
+        for (PlayerGoals row : existing) {
+            if (existingByEmail.putIfAbsent(normalizeEmail(row.userEmail()), row) != null) {
+                deleted.add(row);
+            }
+        }
+
+        for (PlayerGoals want : desired) {
+            PlayerGoals have = existingByEmail.remove(normalizeEmail(want.userEmail()));
+            if (have == null) {
+                inserted.add(want);
+                continue;
+            }
+            Long userId = want.userId() != null ? want.userId() : have.userId();
+            PlayerGoals after = new PlayerGoals(have.id(), want.userEmail(), userId, want.goals(), want.ownGoals());
+            if (have.goals() == after.goals()
+                    && have.ownGoals() == after.ownGoals()
+                    && Objects.equals(have.userId(), after.userId())
+                    && Objects.equals(have.userEmail(), after.userEmail())) {
+                unchanged.add(have);
+            } else {
+                updated.add(new Change(have, after));
+            }
+        }
+        deleted.addAll(existingByEmail.values());
+
+        return new MatchResultChangeSet(wasFinished, finished, inserted, updated, deleted, unchanged);
+    }
+
+    public boolean wasFinished() {
+        return wasFinished;
+    }
+
+    public boolean finished() {
+        return finished;
+    }
+
+    public List<PlayerGoals> inserted() {
+        return inserted;
+    }
+
+    public List<Change> updated() {
+        return updated;
+    }
+
+    public List<PlayerGoals> deleted() {
+        return deleted;
+    }
+
+    public boolean hasStatChanges() {
+        return !inserted.isEmpty() || !updated.isEmpty() || !deleted.isEmpty();
+    }
+
+    /** Estadísticas del partido antes del cambio */
+    public List<PlayerGoals> before() {
+        List<PlayerGoals> result = changedBefore();
+        result.addAll(unchanged);
+        return result;
+    }
+
+    /** Estadísticas del partido después del cambio */
+    public List<PlayerGoals> after() {
+        List<PlayerGoals> result = changedAfter();
+        result.addAll(unchanged);
+        return result;
+    }
+
+    /** Valores anteriores de las filas que cambian o se eliminan */
+    public List<PlayerGoals> changedBefore() {
+        List<PlayerGoals> result = new ArrayList<>(deleted);
+        updated.forEach(c -> result.add(c.before()));
+        return result;
+    }
+
+    /** Valores nuevos de las filas que cambian o se insertan */
+    public List<PlayerGoals> changedAfter() {
+        List<PlayerGoals> result = new ArrayList<>(inserted);
+        updated.forEach(c -> result.add(c.after()));
+        return result;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
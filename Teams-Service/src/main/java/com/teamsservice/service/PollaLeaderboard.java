@@ -0,0 +1,188 @@
+package com.teamsservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla de posiciones inmutable de una polla.
+ *
+ * Se ordena una sola vez al construirse por (puntos, aciertos exactos, aciertos de ganador) descendente; las
+ * posiciones de competición (1,2,2,4) y densas (1,2,2,3) quedan precalculadas, así que las ventanas de página y
+ * la consulta "mi posición y vecinos" no vuelven a ordenar ni recorren la tabla completa.
+ */
+public final class PollaLeaderboard {
+
+    public enum RankingMode {
+        /** Empatados comparten posición y se salta la siguiente (1,2,2,4) */
+        COMPETITION,
+        /** Empatados comparten posición sin saltos (1,2,2,3) */
+        DENSE
+    }
+
+    /** Fila acumulada de un participante */
+    public static final class Entry {
+        private final String email;
+        private int points;
+        private int exactHits;
+        private int winnerHits;
+
+        public Entry(String email) {
+            this.email = email;
+        }
+
+        public Entry(String email, int points, int exactHits, int winnerHits) {
+            this.email = email;
+            this.points = points;
+            this.exactHits = exactHits;
+            this.winnerHits = winnerHits;
+        }
+
+        public void add(int points, boolean exactHit, boolean winnerHit) {
+            this.points += points;
+            if (exactHit) {
+                this.exactHits++;
+            }
+            if (winnerHit) {
+                this.winnerHits++;
+            }
+        }
+
+        public void setPoints(int points) {
+            this.points = points;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+
+        public int getExactHits() {
+            return exactHits;
+        }
+
+        public int getWinnerHits() {
+            return winnerHits;
+        }
+    }
+
+    /** Fila con su posición ya resuelta para un modo de ranking */
+    public static final class RankedEntry {
+        private final Entry entry;
+        private final int position;
+
+        RankedEntry(Entry entry, int position) {
+            this.entry = entry;
+            this.position = position;
+        }
+
+        public Entry getEntry() {
+            return entry;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt(Entry::getPoints).reversed()
+            .thenComparing(Comparator.comparingInt(Entry::getExactHits).reversed())
+            .thenComparing(Comparator.comparingInt(Entry::getWinnerHits).reversed())
+            .thenComparing(Entry::getEmail, String.CASE_INSENSITIVE_ORDER);
+
+    private final Entry[] entries;
+    private final int[] competitionRank;
+    private final int[] denseRank;
+    private final Map<String, Integer> indexByEmail;
+
+    private PollaLeaderboard(Entry[] entries) {
+        this.entries = entries;
+        this.competitionRank = new int[entries.length];
+        this.denseRank = new int[entries.length];
+        this.indexByEmail = new HashMap<>(entries.length * 2);
+
+        int dense = 0;
+        for (int i = 0; i < entries.length; i++) {
+            if (i > 0 && sameKey(entries[i - 1], entries[i])) {
+                competitionRank[i] = competitionRank[i - 1];
+                denseRank[i] = denseRank[i - 1];
+            } else {
+                competitionRank[i] = i + 1;
+                denseRank[i] = ++dense;
+            }
+            indexByEmail.put(normalize(entries[i].getEmail()), i);
+        }
+    }
+
+    public static PollaLeaderboard of(Collection<Entry> rows) {
+        Entry[] sorted = rows.toArray(new Entry[0]);
+        Arrays.sort(sorted, ORDER);
+        return new PollaLeaderboard(sorted);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Ventana [offset, offset + limit) de la tabla ya ordenada.
+     */
+    public List<RankedEntry> window(int offset, int limit, RankingMode mode) {
+        if (offset < 0 || limit <= 0 || offset >= entries.length) {
+            return Collections.emptyList();
+        }
+        int to = (int) Math.min((long) offset + limit, entries.length);
+        List<RankedEntry> result = new ArrayList<>(to - offset);
+        for (int i = offset; i < to; i++) {
+            result.add(new RankedEntry(entries[i], rankAt(i, mode)));
+        }
+        return result;
+    }
+
+    /**
+     * Índice (0-based) del participante en la tabla ordenada, o -1 si no figura.
+     */
+    public int indexOf(String email) {
+        if (email == null) {
+            return -1;
+        }
+        Integer idx = indexByEmail.get(normalize(email));
+        return idx == null ? -1 : idx;
+    }
+
+    /**
+     * El participante y hasta {@code neighbours} filas por encima y por debajo.
+     */
+    public List<RankedEntry> around(String email, int neighbours, RankingMode mode) {
+        int idx = indexOf(email);
+        if (idx < 0) {
+            return Collections.emptyList();
+        }
+        int n = Math.max(0, neighbours);
+        int from = Math.max(0, idx - n);
+        return window(from, idx - from + n + 1, mode);
+    }
+
+    private int rankAt(int index, RankingMode mode) {
+        return mode == RankingMode.DENSE ? denseRank[index] : competitionRank[index];
+    }
+
+    private static boolean sameKey(Entry a, Entry b) {
+        return a.getPoints() == b.getPoints()
+                && a.getExactHits() == b.getExactHits()
+                && a.getWinnerHits() == b.getWinnerHits();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+}
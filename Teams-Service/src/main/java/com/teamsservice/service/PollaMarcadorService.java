@@ -9,7 +9,6 @@ import com.teamsservice.entity.PollaPronostico;
 import com.teamsservice.exception.ResourceNotFoundException;
 import com.teamsservice.exception.UnauthorizedException;
 import com.teamsservice.repository.PollaPartidoRepository;
-import com.teamsservice.repository.PollaParticipanteRepository;
 import com.teamsservice.repository.PollaPuntajePartidoRepository;
 import com.teamsservice.repository.PollaPronosticoRepository;
 import com.teamsservice.repository.PollaRepository;
@@ -25,7 +24,10 @@ import java.sql.Connection;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class PollaMarcadorService {
@@ -36,7 +38,7 @@ public class PollaMarcadorService {
     private static final Duration TTL_SCHEDULED = Duration.ofMinutes(10);
 
     private final PollaRepository pollaRepository;
-    private final PollaParticipanteRepository participanteRepository;
+    private final UserAccessIndex userAccessIndex;
     private final PollaPartidoRepository partidoRepository;
     private final PollaPronosticoRepository pronosticoRepository;
     private final PollaPuntajePartidoRepository puntajePartidoRepository;
@@ -48,7 +50,7 @@ public class PollaMarcadorService {
 
     public PollaMarcadorService(
             PollaRepository pollaRepository,
-            PollaParticipanteRepository participanteRepository,
+            UserAccessIndex userAccessIndex,
             PollaPartidoRepository partidoRepository,
             PollaPronosticoRepository pronosticoRepository,
             PollaPuntajePartidoRepository puntajePartidoRepository,
@@ -58,7 +60,7 @@ public class PollaMarcadorService {
             DataSource dataSource
     ) {
         this.pollaRepository = pollaRepository;
-        this.participanteRepository = participanteRepository;
+        this.userAccessIndex = userAccessIndex;
         this.partidoRepository = partidoRepository;
         this.pronosticoRepository = pronosticoRepository;
         this.puntajePartidoRepository = puntajePartidoRepository;
@@ -74,7 +76,7 @@ public class PollaMarcadorService {
                 .orElseThrow(() -> new ResourceNotFoundException("Polla not found with id: " + pollaId));
 
         if (!polla.getCreadorEmail().equalsIgnoreCase(userEmail)
-                && !participanteRepository.existsByPollaIdAndEmailUsuario(pollaId, userEmail)) {
+                && !userAccessIndex.isPollaParticipant(pollaId, userEmail)) {
             throw new UnauthorizedException("No tienes acceso a esta polla");
         }
 
@@ -343,6 +345,19 @@ public class PollaMarcadorService {
     private void persistFinalPointsForPolla(Long pollaId) {
         try {
             List<PollaPartido> partidos = partidoRepository.findByPollaIdOrderByFechaHoraPartidoAsc(pollaId);
+
+            // Pronósticos y puntajes de toda la polla en dos consultas; las escrituras van en lote al hacer flush
+            Map<Long, List<PollaPronostico>> pronosticosPorPartido = new HashMap<>();
+            for (PollaPronostico p : pronosticoRepository.findByPollaId(pollaId)) {
+                pronosticosPorPartido.computeIfAbsent(p.getPollaPartido().getId(), k -> new ArrayList<>()).add(p);
+            }
+            Map<String, PollaPuntajePartido> puntajes = new HashMap<>();
+            for (PollaPuntajePartido puntaje : puntajePartidoRepository.findByPollaId(pollaId)) {
+                puntajes.put(puntajeKey(puntaje.getPollaPartido().getId(), puntaje.getEmailParticipante()), puntaje);
+            }
+
+            List<PollaPartido> partidosActualizados = new ArrayList<>();
+            List<PollaPuntajePartido> puntajesNuevos = new ArrayList<>();
             for (PollaPartido partido : partidos) {
                 boolean finished = Boolean.TRUE.equals(partido.getPartidoFinalizado())
                         || (isFinishedStatus(partido.getApiStatusShort())
@@ -359,11 +374,10 @@ public class PollaMarcadorService {
 
                 if (!Boolean.TRUE.equals(partido.getPartidoFinalizado())) {
                     partido.setPartidoFinalizado(true);
-                    partidoRepository.save(partido);
+                    partidosActualizados.add(partido);
                 }
 
-                List<PollaPronostico> pronosticos = pronosticoRepository.findByPollaPartidoId(partido.getId());
-                for (PollaPronostico p : pronosticos) {
+                for (PollaPronostico p : pronosticosPorPartido.getOrDefault(partido.getId(), List.of())) {
                     int puntos = PollaPointsCalculator.calculate(
                             p.getGolesLocalPronosticado(),
                             p.getGolesVisitante(),
@@ -373,29 +387,36 @@ public class PollaMarcadorService {
                     );
 
                     // Persistencia clara: tabla dedicada de puntajes por partido/participante
-                    PollaPuntajePartido puntaje = puntajePartidoRepository
-                            .findByPollaPartidoIdAndEmailParticipante(partido.getId(), p.getEmailParticipante())
-                            .orElseGet(() -> PollaPuntajePartido.builder()
-                                    .pollaPartido(partido)
-                                    .emailParticipante(p.getEmailParticipante())
-                                    .definitivo(true)
-                                    .build());
+                    PollaPuntajePartido puntaje = puntajes.get(puntajeKey(partido.getId(), p.getEmailParticipante()));
+                    if (puntaje == null) {
+                        puntaje = PollaPuntajePartido.builder()
+                                .pollaPartido(partido)
+                                .emailParticipante(p.getEmailParticipante())
+                                .build();
+                        puntajesNuevos.add(puntaje);
+                    }
+                    // Las entidades ya cargadas solo generan UPDATE si el valor cambia
                     puntaje.setPuntos(puntos);
                     puntaje.setDefinitivo(true);
-                    puntajePartidoRepository.save(puntaje);
 
                     // Back-compat: mantener también en pronóstico
                     p.setPuntosObtenidos(puntos);
                 }
-                pronosticoRepository.saveAll(pronosticos);
             }
 
-            log.info("Persisted final polla points for pollaId={}", pollaId);
+            partidoRepository.saveAll(partidosActualizados);
+            puntajePartidoRepository.saveAll(puntajesNuevos);
+
+            log.info("Persisted final polla points for pollaId={} (nuevos puntajes={})", pollaId, puntajesNuevos.size());
         } catch (Exception e) {
             log.warn("Failed to persist final polla points for pollaId={}: {}", pollaId, e.getMessage());
         }
     }
 
+    private static String puntajeKey(Long pollaPartidoId, String emailParticipante) {
+        return pollaPartidoId + "|" + emailParticipante;
+    }
+
     private static Duration determineTtl(String statusShort, Integer homeScore, Integer awayScore) {
         // FINISHED -> infinito si ya tenemos marcador definitivo
         if (isFinishedStatus(statusShort) && homeScore != null && awayScore != null) {
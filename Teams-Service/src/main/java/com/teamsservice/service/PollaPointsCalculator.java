@@ -36,6 +36,20 @@ public final class PollaPointsCalculator {
         return scorePoints + winnerPoints;
     }
 
+    public static boolean isExactScore(Integer predictedHome, Integer predictedAway, Integer actualHome, Integer actualAway) {
+        if (predictedHome == null || predictedAway == null || actualHome == null || actualAway == null) {
+            return false;
+        }
+        return predictedHome.equals(actualHome) && predictedAway.equals(actualAway);
+    }
+
+    public static boolean isCorrectWinner(Integer predictedHome, Integer predictedAway, Integer actualHome, Integer actualAway) {
+        if (predictedHome == null || predictedAway == null || actualHome == null || actualAway == null) {
+            return false;
+        }
+        return isSameOutcome(predictedHome, predictedAway, actualHome, actualAway);
+    }
+
     private static boolean isSameOutcome(int predictedHome, int predictedAway, int actualHome, int actualAway) {
         int predictedDiff = Integer.compare(predictedHome, predictedAway);
         int actualDiff = Integer.compare(actualHome, actualAway);
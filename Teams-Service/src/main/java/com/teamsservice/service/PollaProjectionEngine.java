@@ -0,0 +1,353 @@
+package com.teamsservice.service;
+
+import com.teamsservice.config.PollaScoringProperties;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Motor de proyecciones "what-if" de una polla.
+ *
+ * Recibe los puntos ya consolidados por participante y, para cada partido restante, el conjunto de marcadores
+ * plausibles con su probabilidad. Recorre los escenarios (enumerados si son pocos, muestreados si no) en paralelo
+ * con fork/join y acumula, por participante, la distribución de la posición final.
+ *
+ * Todo el cálculo trabaja sobre arreglos primitivos: los puntos de cada pronóstico para cada marcador posible se
+ * precalculan una sola vez con {@link PollaPointsCalculator}, de modo que evaluar un escenario es sumar filas.
+ */
+public final class PollaProjectionEngine {
+
+    /** Escenarios mínimos por tarea hoja (evita sobre-particionar proyecciones pequeñas) */
+    private static final int MIN_SCENARIOS_PER_TASK = 256;
+
+    /** Particiones objetivo; fijo (no depende de los cores) para que el muestreo sea reproducible */
+    private static final int TARGET_TASKS = 64;
+
+    /** Marcador sin pronóstico del participante */
+    public static final int NO_PREDICTION = -1;
+
+    private PollaProjectionEngine() {
+    }
+
+    /**
+     * Marcadores plausibles de un partido restante: (golesLocal[i], golesVisitante[i]) con probabilidad[i].
+     */
+    public static final class Scorelines {
+
+        private final int[] homeGoals;
+        private final int[] awayGoals;
+        private final double[] probability;
+        private final double[] cumulative;
+
+        public Scorelines(int[] homeGoals, int[] awayGoals, double[] probability) {
+            if (homeGoals.length == 0 || homeGoals.length != awayGoals.length || homeGoals.length != probability.length) {
+                throw new IllegalArgumentException("Scorelines arrays must be non-empty and of equal length");
+            }
+            this.homeGoals = homeGoals;
+            this.awayGoals = awayGoals;
+
+            double total = 0;
+            for (double p : probability) {
+                total += p;
+            }
+            this.probability = new double[probability.length];
+            this.cumulative = new double[probability.length];
+            double acc = 0;
+            for (int i = 0; i < probability.length; i++) {
+                this.probability[i] = total > 0 ? probability[i] / total : 1.0 / probability.length;
+                acc += this.probability[i];
+                this.cumulative[i] = acc;
+            }
+            this.cumulative[probability.length - 1] = 1.0;
+        }
+
+        public int size() {
+            return homeGoals.length;
+        }
+
+        int sample(SplittableRandom random) {
+            int idx = Arrays.binarySearch(cumulative, random.nextDouble());
+            return idx >= 0 ? idx : Math.min(-idx - 1, cumulative.length - 1);
+        }
+    }
+
+    /**
+     * Resultado agregado de la proyección. Las posiciones son 1-based con ranking de competición
+     * (empates comparten la mejor posición).
+     */
+    public static final class Result {
+
+        private final int participants;
+        private final double[] positionProbability;
+        private final double[] expectedPosition;
+        private final int[] bestPosition;
+        private final int[] worstPosition;
+        private final long scenarios;
+        private final boolean enumerated;
+
+        Result(int participants, double[] positionProbability, double[] expectedPosition,
+               int[] bestPosition, int[] worstPosition, long scenarios, boolean enumerated) {
+            this.participants = participants;
+            this.positionProbability = positionProbability;
+            this.expectedPosition = expectedPosition;
+            this.bestPosition = bestPosition;
+            this.worstPosition = worstPosition;
+            this.scenarios = scenarios;
+            this.enumerated = enumerated;
+        }
+
+        /** Probabilidad de que el participante termine exactamente en la posición indicada (1-based) */
+        public double probability(int participant, int position) {
+            return positionProbability[participant * participants + (position - 1)];
+        }
+
+        public double expectedPosition(int participant) {
+            return expectedPosition[participant];
+        }
+
+        public int bestPosition(int participant) {
+            return bestPosition[participant];
+        }
+
+        public int worstPosition(int participant) {
+            return worstPosition[participant];
+        }
+
+        public int participants() {
+            return participants;
+        }
+
+        public long scenarios() {
+            return scenarios;
+        }
+
+        public boolean enumerated() {
+            return enumerated;
+        }
+    }
+
+    /**
+     * @param basePoints          puntos consolidados por participante
+     * @param remaining           marcadores plausibles de cada partido restante
+     * @param predictedHome       [partido][participante] goles local pronosticados, o {@link #NO_PREDICTION}
+     * @param predictedAway       [partido][participante] goles visitante pronosticados, o {@link #NO_PREDICTION}
+     * @param rules               reglas de puntaje vigentes
+     * @param simulations         escenarios a muestrear si no se enumera
+     * @param maxEnumerated       umbral de combinaciones para enumerar exhaustivamente
+     * @param seed                semilla del muestreo
+     */
+    public static Result project(int[] basePoints,
+                                 List<Scorelines> remaining,
+                                 int[][] predictedHome,
+                                 int[][] predictedAway,
+                                 PollaScoringProperties rules,
+                                 int simulations,
+                                 long maxEnumerated,
+                                 long seed) {
+        int participants = basePoints.length;
+        int matches = remaining.size();
+        if (participants == 0) {
+            return new Result(0, new double[0], new double[0], new int[0], new int[0], 0, true);
+        }
+
+        // points[m][s * participants + p]: puntos del participante p si el partido m termina con el marcador s
+        int[][] points = new int[matches][];
+        int maxTotal = 0;
+        for (int base : basePoints) {
+            maxTotal = Math.max(maxTotal, base);
+        }
+        for (int m = 0; m < matches; m++) {
+            Scorelines scorelines = remaining.get(m);
+            int[] row = new int[scorelines.size() * participants];
+            int best = 0;
+            for (int s = 0; s < scorelines.size(); s++) {
+                int offset = s * participants;
+                for (int p = 0; p < participants; p++) {
+                    int home = predictedHome[m][p];
+                    int away = predictedAway[m][p];
+                    int pts = home == NO_PREDICTION || away == NO_PREDICTION
+                            ? 0
+                            : PollaPointsCalculator.calculate(home, away,
+                            scorelines.homeGoals[s], scorelines.awayGoals[s], rules);
+                    row[offset + p] = pts;
+                    best = Math.max(best, pts);
+                }
+            }
+            points[m] = row;
+            maxTotal += best;
+        }
+
+        long combinations = 1;
+        boolean enumerate = true;
+        for (Scorelines scorelines : remaining) {
+            combinations *= scorelines.size();
+            if (combinations > maxEnumerated) {
+                enumerate = false;
+                break;
+            }
+        }
+        long scenarios = enumerate ? combinations : Math.max(1, simulations);
+
+        Kernel kernel = new Kernel(basePoints, remaining, points, maxTotal, enumerate, seed);
+        long threshold = Math.max(MIN_SCENARIOS_PER_TASK, scenarios / TARGET_TASKS);
+
+        Accumulator acc = ForkJoinPool.commonPool().invoke(new ScenarioTask(kernel, 0, scenarios, threshold));
+
+        double[] probability = acc.positionWeight;
+        double[] expected = new double[participants];
+        for (int p = 0; p < participants; p++) {
+            int offset = p * participants;
+            double sum = 0;
+            for (int pos = 0; pos < participants; pos++) {
+                probability[offset + pos] /= acc.totalWeight;
+                sum += probability[offset + pos] * (pos + 1);
+            }
+            expected[p] = sum;
+        }
+
+        return new Result(participants, probability, expected, acc.bestPosition, acc.worstPosition, scenarios, enumerate);
+    }
+
+    /** Estado inmutable compartido por todas las tareas */
+    private static final class Kernel {
+        final int[] basePoints;
+        final Scorelines[] remaining;
+        final int[][] points;
+        final int maxTotal;
+        final boolean enumerate;
+        final long seed;
+
+        Kernel(int[] basePoints, List<Scorelines> remaining, int[][] points, int maxTotal, boolean enumerate, long seed) {
+            this.basePoints = basePoints;
+            this.remaining = remaining.toArray(new Scorelines[0]);
+            this.points = points;
+            this.maxTotal = maxTotal;
+            this.enumerate = enumerate;
+            this.seed = seed;
+        }
+    }
+
+    private static final class Accumulator {
+        final int participants;
+        final double[] positionWeight;
+        final int[] bestPosition;
+        final int[] worstPosition;
+        double totalWeight;
+
+        Accumulator(int participants) {
+            this.participants = participants;
+            this.positionWeight = new double[participants * participants];
+            this.bestPosition = new int[participants];
+            this.worstPosition = new int[participants];
+            Arrays.fill(bestPosition, Integer.MAX_VALUE);
+        }
+
+        void merge(Accumulator other) {
+            for (int i = 0; i < positionWeight.length; i++) {
+                positionWeight[i] += other.positionWeight[i];
+            }
+            for (int p = 0; p < participants; p++) {
+                bestPosition[p] = Math.min(bestPosition[p], other.bestPosition[p]);
+                worstPosition[p] = Math.max(worstPosition[p], other.worstPosition[p]);
+            }
+            totalWeight += other.totalWeight;
+        }
+    }
+
+    private static final class ScenarioTask extends RecursiveTask<Accumulator> {
+
+        private final Kernel kernel;
+        private final long from;
+        private final long to;
+        private final long threshold;
+
+        ScenarioTask(Kernel kernel, long from, long to, long threshold) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= threshold) {
+                return evaluate();
+            }
+            long mid = (from + to) >>> 1;
+            ScenarioTask left = new ScenarioTask(kernel, from, mid, threshold);
+            ScenarioTask right = new ScenarioTask(kernel, mid, to, threshold);
+            left.fork();
+            Accumulator result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private Accumulator evaluate() {
+            int[] base = kernel.basePoints;
+            int participants = base.length;
+            Scorelines[] remaining = kernel.remaining;
+            int[][] points = kernel.points;
+
+            Accumulator acc = new Accumulator(participants);
+            int[] totals = new int[participants];
+            int[] greater = new int[kernel.maxTotal + 1];
+            int[] chosen = new int[remaining.length];
+            // Semilla derivada del rango: mismo estado => misma proyección, sin importar qué hilo ejecute la hoja
+            SplittableRandom random = kernel.enumerate ? null : new SplittableRandom(kernel.seed + from * 0x9E3779B97F4A7C15L);
+
+            for (long scenario = from; scenario < to; scenario++) {
+                double weight = 1.0;
+                if (kernel.enumerate) {
+                    long rest = scenario;
+                    for (int m = 0; m < remaining.length; m++) {
+                        int size = remaining[m].size();
+                        chosen[m] = (int) (rest % size);
+                        rest /= size;
+                        weight *= remaining[m].probability[chosen[m]];
+                    }
+                } else {
+                    for (int m = 0; m < remaining.length; m++) {
+                        chosen[m] = remaining[m].sample(random);
+                    }
+                }
+
+                System.arraycopy(base, 0, totals, 0, participants);
+                for (int m = 0; m < remaining.length; m++) {
+                    int[] row = points[m];
+                    int offset = chosen[m] * participants;
+                    for (int p = 0; p < participants; p++) {
+                        totals[p] += row[offset + p];
+                    }
+                }
+
+                // Conteo por puntaje -> cuántos participantes quedan estrictamente por encima (sin ordenar)
+                Arrays.fill(greater, 0);
+                for (int p = 0; p < participants; p++) {
+                    greater[totals[p]]++;
+                }
+                int running = 0;
+                for (int v = kernel.maxTotal; v >= 0; v--) {
+                    int count = greater[v];
+                    greater[v] = running;
+                    running += count;
+                }
+
+                for (int p = 0; p < participants; p++) {
+                    int position = greater[totals[p]] + 1;
+                    acc.positionWeight[p * participants + (position - 1)] += weight;
+                    if (position < acc.bestPosition[p]) {
+                        acc.bestPosition[p] = position;
+                    }
+                    if (position > acc.worstPosition[p]) {
+                        acc.worstPosition[p] = position;
+                    }
+                }
+                acc.totalWeight += weight;
+            }
+            return acc;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.teamsservice.service;
+
+import com.teamsservice.config.PollaProjectionProperties;
+import com.teamsservice.config.PollaScoringProperties;
+import com.teamsservice.dto.PollaProjectionItemResponse;
+import com.teamsservice.dto.PollaProjectionResponse;
+import com.teamsservice.entity.Polla;
+import com.teamsservice.entity.PollaPartido;
+import com.teamsservice.entity.PollaPronostico;
+import com.teamsservice.exception.ResourceNotFoundException;
+import com.teamsservice.exception.UnauthorizedException;
+import com.teamsservice.repository.PollaPartidoRepository;
+import com.teamsservice.repository.PollaPronosticoRepository;
+import com.teamsservice.repository.PollaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class PollaProjectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PollaProjectionService.class);
+
+    private final PollaRepository pollaRepository;
+    private final UserAccessIndex userAccessIndex;
+    private final PollaPartidoRepository partidoRepository;
+    private final PollaPronosticoRepository pronosticoRepository;
+    private final PollaRankingService rankingService;
+    private final PollaScoringProperties scoringProperties;
+    private final PollaProjectionProperties projectionProperties;
+
+    public PollaProjectionService(
+            PollaRepository pollaRepository,
+            UserAccessIndex userAccessIndex,
+            PollaPartidoRepository partidoRepository,
+            PollaPronosticoRepository pronosticoRepository,
+            PollaRankingService rankingService,
+            PollaScoringProperties scoringProperties,
+            PollaProjectionProperties projectionProperties
+    ) {
+        this.pollaRepository = pollaRepository;
+        this.userAccessIndex = userAccessIndex;
+        this.partidoRepository = partidoRepository;
+        this.pronosticoRepository = pronosticoRepository;
+        this.rankingService = rankingService;
+        this.scoringProperties = scoringProperties;
+        this.projectionProperties = projectionProperties;
+    }
+
+    /**
+     * Proyección "what-if": distribución de la posición final de cada participante sobre los marcadores plausibles
+     * de los partidos que faltan, partiendo de los puntos ya asegurados.
+     */
+    @Transactional(readOnly = true)
+    public PollaProjectionResponse getProjection(Long pollaId, String userEmail) {
+        Polla polla = pollaRepository.findByIdAndDeletedAtIsNull(pollaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Polla not found with id: " + pollaId));
+
+        if (!polla.getCreadorEmail().equalsIgnoreCase(userEmail)
+                && !userAccessIndex.isPollaParticipant(pollaId, userEmail)) {
+            throw new UnauthorizedException("No tienes acceso a esta polla");
+        }
+
+        List<PollaPronostico> pronosticos = pronosticoRepository.findByPollaId(pollaId);
+        Map<String, Integer> puntosConsolidados = rankingService.getPuntosConsolidados(pollaId, pronosticos);
+
+        List<PollaPartido> restantes = new ArrayList<>();
+        for (PollaPartido partido : partidoRepository.findByPollaIdOrderByFechaHoraPartidoAsc(pollaId)) {
+            if (!PollaRankingService.isPartidoFinalizado(partido)) {
+                restantes.add(partido);
+            }
+        }
+
+        // Índices compactos: participante -> columna, partido restante -> fila
+        List<String> emails = new ArrayList<>(puntosConsolidados.keySet());
+        emails.sort(Comparator.naturalOrder());
+        Map<String, Integer> participantIndex = new HashMap<>();
+        for (int i = 0; i < emails.size(); i++) {
+            participantIndex.put(emails.get(i), i);
+        }
+        Map<Long, Integer> matchIndex = new HashMap<>();
+        for (int m = 0; m < restantes.size(); m++) {
+            matchIndex.put(restantes.get(m).getId(), m);
+        }
+
+        int participants = emails.size();
+        int[] basePoints = new int[participants];
+        for (int i = 0; i < participants; i++) {
+            basePoints[i] = puntosConsolidados.get(emails.get(i));
+        }
+
+        int[][] predictedHome = new int[restantes.size()][participants];
+        int[][] predictedAway = new int[restantes.size()][participants];
+        for (int m = 0; m < restantes.size(); m++) {
+            Arrays.fill(predictedHome[m], PollaProjectionEngine.NO_PREDICTION);
+            Arrays.fill(predictedAway[m], PollaProjectionEngine.NO_PREDICTION);
+        }
+        for (PollaPronostico p : pronosticos) {
+            Integer m = matchIndex.get(p.getPollaPartido().getId());
+            if (m == null || p.getGolesLocalPronosticado() == null || p.getGolesVisitante() == null) {
+                continue;
+            }
+            int i = participantIndex.get(p.getEmailParticipante());
+            predictedHome[m][i] = p.getGolesLocalPronosticado();
+            predictedAway[m][i] = p.getGolesVisitante();
+        }
+
+        List<PollaProjectionEngine.Scorelines> scorelines = new ArrayList<>();
+        for (PollaPartido partido : restantes) {
+            scorelines.add(buildScorelines(partido));
+        }
+
+        long start = System.nanoTime();
+        PollaProjectionEngine.Result result = PollaProjectionEngine.project(
+                basePoints,
+                scorelines,
+                predictedHome,
+                predictedAway,
+                scoringProperties,
+                projectionProperties.getSimulations(),
+                projectionProperties.getMaxEnumeratedScenarios(),
+                projectionProperties.getSeed()
+        );
+        log.debug("Projection for polla {} ({} participants, {} remaining matches, {} scenarios) took {}ms",
+                pollaId, participants, restantes.size(), result.scenarios(), (System.nanoTime() - start) / 1_000_000);
+
+        List<PollaProjectionItemResponse> items = new ArrayList<>();
+        for (int p = 0; p < participants; p++) {
+            int posicionActual = 1;
+            for (int q = 0; q < participants; q++) {
+                if (basePoints[q] > basePoints[p]) {
+                    posicionActual++;
+                }
+            }
+
+            Map<Integer, Double> distribucion = new LinkedHashMap<>();
+            for (int pos = 1; pos <= participants; pos++) {
+                double prob = result.probability(p, pos);
+                if (prob > 0) {
+                    distribucion.put(pos, round(prob));
+                }
+            }
+
+            double top3 = 0;
+            for (int pos = 1; pos <= Math.min(3, participants); pos++) {
+                top3 += result.probability(p, pos);
+            }
+
+            items.add(PollaProjectionItemResponse.builder()
+                    .emailParticipante(emails.get(p))
+                    .puntosActuales(basePoints[p])
+                    .posicionActual(posicionActual)
+                    .mejorPosicion(result.bestPosition(p))
+                    .peorPosicion(result.worstPosition(p))
+                    .posicionEsperada(round(result.expectedPosition(p)))
+                    .probabilidadPrimerLugar(round(result.probability(p, 1)))
+                    .probabilidadTop3(round(top3))
+                    .distribucionPosiciones(distribucion)
+                    .build());
+        }
+
+        items.sort(Comparator.comparing(PollaProjectionItemResponse::getPosicionEsperada)
+                .thenComparing(PollaProjectionItemResponse::getPosicionActual));
+
+        return PollaProjectionResponse.builder()
+                .pollaId(pollaId)
+                .estadoPolla(polla.getEstado().name())
+                .partidosRestantes(restantes.size())
+                .escenariosEvaluados(result.scenarios())
+                .metodo(result.enumerated() ? "ENUMERACION" : "MUESTREO")
+                .proyeccion(items)
+                .build();
+    }
+
+    /**
+     * Marcadores plausibles de un partido restante. Goles de cada equipo ~ Poisson independiente (truncada);
+     * si el partido está en vivo se parte del marcador actual y solo se modela el tiempo que falta.
+     */
+    private PollaProjectionEngine.Scorelines buildScorelines(PollaPartido partido) {
+        boolean enVivo = partido.getGolesLocal() != null
+                && partido.getGolesVisitante() != null
+                && !isNotStartedStatus(partido.getApiStatusShort());
+
+        double fraction = enVivo ? projectionProperties.getLiveRemainingFraction() : 1.0;
+        int baseHome = enVivo ? partido.getGolesLocal() : 0;
+        int baseAway = enVivo ? partido.getGolesVisitante() : 0;
+
+        double[] home = poisson(projectionProperties.getHomeGoalsMean() * fraction, projectionProperties.getMaxGoals());
+        double[] away = poisson(projectionProperties.getAwayGoalsMean() * fraction, projectionProperties.getMaxGoals());
+
+        int size = home.length * away.length;
+        int[] homeGoals = new int[size];
+        int[] awayGoals = new int[size];
+        double[] probability = new double[size];
+        int s = 0;
+        for (int h = 0; h < home.length; h++) {
+            for (int a = 0; a < away.length; a++) {
+                homeGoals[s] = baseHome + h;
+                awayGoals[s] = baseAway + a;
+                probability[s] = home[h] * away[a];
+                s++;
+            }
+        }
+        return new PollaProjectionEngine.Scorelines(homeGoals, awayGoals, probability);
+    }
+
+    private static double[] poisson(double mean, int maxGoals) {
+        double[] pmf = new double[Math.max(0, maxGoals) + 1];
+        double p = Math.exp(-mean);
+        for (int k = 0; k < pmf.length; k++) {
+            pmf[k] = p;
+            p = p * mean / (k + 1);
+        }
+        return pmf;
+    }
+
+    private static boolean isNotStartedStatus(String statusShort) {
+        if (statusShort == null) {
+            return false;
+        }
+        String s = statusShort.trim().toUpperCase();
+        return s.equals("NS") || s.equals("TBD");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000d) / 10000d;
+    }
+}
@@ -9,7 +9,6 @@ import com.teamsservice.entity.PollaPronostico;
 import com.teamsservice.exception.ResourceNotFoundException;
 import com.teamsservice.exception.UnauthorizedException;
 import com.teamsservice.repository.PollaPartidoRepository;
-import com.teamsservice.repository.PollaParticipanteRepository;
 import com.teamsservice.repository.PollaPronosticoRepository;
 import com.teamsservice.repository.PollaPuntajePartidoRepository;
 import com.teamsservice.repository.PollaRepository;
@@ -18,19 +17,31 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Service
 public class PollaRankingService {
 
     private static final Logger log = LoggerFactory.getLogger(PollaRankingService.class);
 
+    /** Igual al TTL de marcadores en vivo: la tabla provisional no puede ser más fresca que sus marcadores */
+    private static final Duration TTL_PROVISIONAL = Duration.ofSeconds(30);
+    private static final Duration TTL_DEFINITIVO = Duration.ofMinutes(10);
+    private static final int MAX_CACHED_POLLAS = 1000;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final ConcurrentMap<Long, RankingSnapshot> snapshots = new ConcurrentHashMap<>();
+
     private final PollaRepository pollaRepository;
-    private final PollaParticipanteRepository participanteRepository;
+    private final UserAccessIndex userAccessIndex;
     private final PollaPartidoRepository partidoRepository;
     private final PollaPronosticoRepository pronosticoRepository;
     private final PollaPuntajePartidoRepository puntajePartidoRepository;
@@ -40,7 +51,7 @@ public class PollaRankingService {
 
     public PollaRankingService(
             PollaRepository pollaRepository,
-            PollaParticipanteRepository participanteRepository,
+            UserAccessIndex userAccessIndex,
             PollaPartidoRepository partidoRepository,
             PollaPronosticoRepository pronosticoRepository,
             PollaPuntajePartidoRepository puntajePartidoRepository,
@@ -49,7 +60,7 @@ public class PollaRankingService {
             PollaScoringProperties scoringProperties
     ) {
         this.pollaRepository = pollaRepository;
-        this.participanteRepository = participanteRepository;
+        this.userAccessIndex = userAccessIndex;
         this.partidoRepository = partidoRepository;
         this.pronosticoRepository = pronosticoRepository;
         this.puntajePartidoRepository = puntajePartidoRepository;
@@ -63,14 +74,76 @@ public class PollaRankingService {
      */
     @Transactional
     public PollaRankingResponse getRanking(Long pollaId, String userEmail) {
+        return getRanking(pollaId, userEmail, null, null, PollaLeaderboard.RankingMode.COMPETITION);
+    }
+
+    /**
+     * Tabla de posiciones paginada. Si {@code page} es null se devuelve completa.
+     * Solo las filas de la ventana devuelta se enriquecen con datos del Auth-Service.
+     */
+    @Transactional
+    public PollaRankingResponse getRanking(Long pollaId, String userEmail, Integer page, Integer size,
+                                           PollaLeaderboard.RankingMode mode) {
+        RankingSnapshot snapshot = resolveSnapshot(pollaId, userEmail);
+        PollaLeaderboard leaderboard = snapshot.leaderboard;
+
+        List<PollaLeaderboard.RankedEntry> window;
+        if (page == null) {
+            window = leaderboard.window(0, leaderboard.size(), mode);
+        } else {
+            int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+            window = leaderboard.window(Math.max(0, page) * pageSize, pageSize, mode);
+            size = pageSize;
+        }
+
+        return PollaRankingResponse.builder()
+                .pollaId(pollaId)
+                .estadoPolla(snapshot.estadoPolla)
+                .definitivo(snapshot.definitivo)
+                .modoRanking(mode.name())
+                .totalParticipantes(leaderboard.size())
+                .page(page)
+                .size(page == null ? null : size)
+                .ranking(toItems(window))
+                .build();
+    }
+
+    /**
+     * Posición del usuario autenticado y sus {@code vecinos} inmediatos por encima y por debajo.
+     */
+    @Transactional
+    public PollaRankingResponse getMiPosicion(Long pollaId, String userEmail, int vecinos,
+                                              PollaLeaderboard.RankingMode mode) {
+        RankingSnapshot snapshot = resolveSnapshot(pollaId, userEmail);
+        PollaLeaderboard leaderboard = snapshot.leaderboard;
+
+        int neighbours = Math.max(0, Math.min(vecinos, MAX_PAGE_SIZE));
+        List<PollaLeaderboard.RankedEntry> window = leaderboard.around(userEmail, neighbours, mode);
+
+        return PollaRankingResponse.builder()
+                .pollaId(pollaId)
+                .estadoPolla(snapshot.estadoPolla)
+                .definitivo(snapshot.definitivo)
+                .modoRanking(mode.name())
+                .totalParticipantes(leaderboard.size())
+                .ranking(toItems(window))
+                .build();
+    }
+
+    private RankingSnapshot resolveSnapshot(Long pollaId, String userEmail) {
         Polla polla = pollaRepository.findByIdAndDeletedAtIsNull(pollaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Polla not found with id: " + pollaId));
 
         if (!polla.getCreadorEmail().equalsIgnoreCase(userEmail)
-                && !participanteRepository.existsByPollaIdAndEmailUsuario(pollaId, userEmail)) {
+                && !userAccessIndex.isPollaParticipant(pollaId, userEmail)) {
             throw new UnauthorizedException("No tienes acceso a esta polla");
         }
 
+        RankingSnapshot cached = snapshots.get(pollaId);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
         // Regla de negocio: la tabla de posiciones es DEFINITIVA si (y solo si) TODOS los partidos están finalizados.
         // Para evitar inconsistencias (polla con estado desactualizado), aseguramos la finalización en BD.
         boolean allMatchesFinished = marcadorService.ensurePollaFinalizadaIfAllMatchesFinished(pollaId);
@@ -81,89 +154,121 @@ public class PollaRankingService {
 
         boolean definitivo = allMatchesFinished || polla.getEstado() == Polla.PollaEstado.FINALIZADA;
 
-        Map<String, Integer> pointsByEmail = new HashMap<>();
+        PollaLeaderboard leaderboard = buildLeaderboard(pollaId, definitivo, userEmail);
+        RankingSnapshot snapshot = new RankingSnapshot(leaderboard, polla.getEstado().name(), definitivo,
+                System.nanoTime() + (definitivo ? TTL_DEFINITIVO : TTL_PROVISIONAL).toNanos());
 
-        if (definitivo) {
-            // Definitivo: leer snapshot persistido en tabla dedicada
-            List<Object[]> rows = puntajePartidoRepository.findTablaPosicionesDefinitiva(pollaId);
-            if (rows == null || rows.isEmpty()) {
-                // fallback por compatibilidad (si la tabla nueva aún no tiene datos)
-                rows = pronosticoRepository.findTablaPosiciones(pollaId);
-            }
-            for (Object[] row : rows) {
-                String email = (String) row[0];
-                Number sum = (Number) row[1];
-                pointsByEmail.put(email, sum != null ? sum.intValue() : 0);
+        if (snapshots.size() >= MAX_CACHED_POLLAS) {
+            snapshots.values().removeIf(RankingSnapshot::isExpired);
+        }
+        if (snapshots.size() < MAX_CACHED_POLLAS) {
+            snapshots.put(pollaId, snapshot);
+        }
+        return snapshot;
+    }
+
+    private PollaLeaderboard buildLeaderboard(Long pollaId, boolean definitivo, String userEmail) {
+        // Marcador vigente por partido (null = aún no suma puntos)
+        Map<Long, int[]> scoreByPartido = new HashMap<>();
+        List<PollaPartido> partidos = partidoRepository.findByPollaIdOrderByFechaHoraPartidoAsc(pollaId);
+
+        for (PollaPartido partido : partidos) {
+            if (definitivo) {
+                if (partido.getGolesLocal() != null && partido.getGolesVisitante() != null) {
+                    scoreByPartido.put(partido.getId(), new int[]{partido.getGolesLocal(), partido.getGolesVisitante()});
+                }
+                continue;
             }
-        } else {
+
             // Provisional: calcular en vivo con marcador real (TTL + lock)
-            List<PollaPartido> partidos = partidoRepository.findByPollaIdOrderByFechaHoraPartidoAsc(pollaId);
-
-            for (PollaPartido partido : partidos) {
-                Integer actualHome;
-                Integer actualAway;
-                String statusShort;
-
-                // Si no hay marcador en BD, pedir snapshot (TTL+lock) para LIVE/SCHEDULED.
-                if (partido.getGolesLocal() == null || partido.getGolesVisitante() == null) {
-                    var marcador = marcadorService.getMarcador(pollaId, partido.getId(), userEmail);
-                    actualHome = marcador.getGolesLocal();
-                    actualAway = marcador.getGolesVisitante();
-                    statusShort = marcador.getApiStatusShort();
-                } else {
-                    actualHome = partido.getGolesLocal();
-                    actualAway = partido.getGolesVisitante();
-                    statusShort = partido.getApiStatusShort();
-                }
+            Integer actualHome;
+            Integer actualAway;
+            String statusShort;
 
-                // Si el partido está NS/TBD, NO debe sumar puntos aunque venga 0-0
-                if (isNotStartedStatus(statusShort)) {
-                    continue;
-                }
+            // Si no hay marcador en BD, pedir snapshot (TTL+lock) para LIVE/SCHEDULED.
+            if (partido.getGolesLocal() == null || partido.getGolesVisitante() == null) {
+                var marcador = marcadorService.getMarcador(pollaId, partido.getId(), userEmail);
+                actualHome = marcador.getGolesLocal();
+                actualAway = marcador.getGolesVisitante();
+                statusShort = marcador.getApiStatusShort();
+            } else {
+                actualHome = partido.getGolesLocal();
+                actualAway = partido.getGolesVisitante();
+                statusShort = partido.getApiStatusShort();
+            }
 
-                // Si aún no hay goles (partido sin datos), no suma puntos
-                if (actualHome == null || actualAway == null) {
-                    continue;
-                }
+            // Si el partido está NS/TBD, NO debe sumar puntos aunque venga 0-0
+            if (isNotStartedStatus(statusShort) || isNotStartedStatus(partido.getApiStatusShort())) {
+                continue;
+            }
 
-                // Si el partido está NS/TBD, no debe sumar puntos aunque venga 0-0.
-                if (partido.getApiStatusShort() != null) {
-                    String st = partido.getApiStatusShort().trim().toUpperCase();
-                    if (st.equals("NS") || st.equals("TBD")) {
-                        continue;
-                    }
-                }
+            // Si aún no hay goles (partido sin datos), no suma puntos
+            if (actualHome == null || actualAway == null) {
+                continue;
+            }
 
-                List<PollaPronostico> pronosticos = pronosticoRepository.findByPollaPartidoId(partido.getId());
-                for (PollaPronostico p : pronosticos) {
-                    int puntos = PollaPointsCalculator.calculate(
-                            p.getGolesLocalPronosticado(),
-                            p.getGolesVisitante(),
-                            actualHome,
-                            actualAway,
-                            scoringProperties
-                    );
-
-                    pointsByEmail.merge(p.getEmailParticipante(), puntos, Integer::sum);
-                }
+            scoreByPartido.put(partido.getId(), new int[]{actualHome, actualAway});
+        }
+
+        Map<String, PollaLeaderboard.Entry> rows = new HashMap<>();
+        for (PollaPronostico p : pronosticoRepository.findByPollaId(pollaId)) {
+            PollaLeaderboard.Entry entry = rows.computeIfAbsent(p.getEmailParticipante(), PollaLeaderboard.Entry::new);
+            int[] score = scoreByPartido.get(p.getPollaPartido().getId());
+            if (score == null) {
+                continue;
             }
+
+            int puntos = PollaPointsCalculator.calculate(
+                    p.getGolesLocalPronosticado(),
+                    p.getGolesVisitante(),
+                    score[0],
+                    score[1],
+                    scoringProperties
+            );
+            entry.add(
+                    puntos,
+                    PollaPointsCalculator.isExactScore(p.getGolesLocalPronosticado(), p.getGolesVisitante(), score[0], score[1]),
+                    PollaPointsCalculator.isCorrectWinner(p.getGolesLocalPronosticado(), p.getGolesVisitante(), score[0], score[1])
+            );
         }
 
-        List<PollaRankingItemResponse> ranking = new ArrayList<>();
-        for (Map.Entry<String, Integer> entry : pointsByEmail.entrySet()) {
+        if (definitivo) {
+            // Definitivo: los puntos salen del snapshot persistido en tabla dedicada
+            List<Object[]> persisted = puntajePartidoRepository.findTablaPosicionesDefinitiva(pollaId);
+            if (persisted == null || persisted.isEmpty()) {
+                // fallback por compatibilidad (si la tabla nueva aún no tiene datos)
+                persisted = pronosticoRepository.findTablaPosiciones(pollaId);
+            }
+            for (Object[] row : persisted) {
+                String email = (String) row[0];
+                Number sum = (Number) row[1];
+                rows.computeIfAbsent(email, PollaLeaderboard.Entry::new).setPoints(sum != null ? sum.intValue() : 0);
+            }
+        }
+
+        return PollaLeaderboard.of(rows.values());
+    }
+
+    private List<PollaRankingItemResponse> toItems(List<PollaLeaderboard.RankedEntry> window) {
+        List<PollaRankingItemResponse> ranking = new ArrayList<>(window.size());
+        for (PollaLeaderboard.RankedEntry ranked : window) {
+            PollaLeaderboard.Entry entry = ranked.getEntry();
             PollaRankingItemResponse item = PollaRankingItemResponse.builder()
-                    .emailParticipante(entry.getKey())
-                    .puntos(entry.getValue())
+                    .posicion(ranked.getPosition())
+                    .emailParticipante(entry.getEmail())
+                    .puntos(entry.getPoints())
+                    .aciertosExactos(entry.getExactHits())
+                    .aciertosGanador(entry.getWinnerHits())
                     .build();
 
             try {
-                var info = authServiceClient.getUserByEmail(entry.getKey());
+                var info = authServiceClient.getUserByEmail(entry.getEmail());
                 item.setUserInfo(info);
                 if (info != null && info.getFullName() != null && !info.getFullName().trim().isEmpty()) {
                     item.setNombreParticipante(info.getFullName().trim());
                 }
             } catch (Exception e) {
-                log.debug("Could not enrich ranking user info for {}: {}", entry.getKey(), e.getMessage());
+                log.debug("Could not enrich ranking user info for {}: {}", entry.getEmail(), e.getMessage());
             }
 
             if (item.getNombreParticipante() == null || item.getNombreParticipante().trim().isEmpty()) {
@@ -172,15 +277,65 @@ public class PollaRankingService {
 
             ranking.add(item);
         }
+        return ranking;
+    }
 
-        ranking.sort(Comparator.comparing(PollaRankingItemResponse::getPuntos).reversed());
+    /** Tabla ya ordenada de una polla con su vigencia */
+    private static final class RankingSnapshot {
+        final PollaLeaderboard leaderboard;
+        final String estadoPolla;
+        final boolean definitivo;
+        final long expiresAtNanos;
 
-        return PollaRankingResponse.builder()
-                .pollaId(pollaId)
-                .estadoPolla(polla.getEstado().name())
-                .definitivo(definitivo)
-                .ranking(ranking)
-                .build();
+        RankingSnapshot(PollaLeaderboard leaderboard, String estadoPolla, boolean definitivo, long expiresAtNanos) {
+            this.leaderboard = leaderboard;
+            this.estadoPolla = estadoPolla;
+            this.definitivo = definitivo;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Puntos asegurados por participante: solo partidos finalizados con marcador en BD (no consulta la API).
+     * Es la base fija sobre la que se proyectan los partidos restantes.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getPuntosConsolidados(Long pollaId, List<PollaPronostico> pronosticos) {
+        Map<Long, PollaPartido> finalizados = new HashMap<>();
+        for (PollaPartido partido : partidoRepository.findByPollaIdOrderByFechaHoraPartidoAsc(pollaId)) {
+            if (isPartidoFinalizado(partido)) {
+                finalizados.put(partido.getId(), partido);
+            }
+        }
+
+        Map<String, Integer> pointsByEmail = new HashMap<>();
+        for (PollaPronostico p : pronosticos) {
+            PollaPartido partido = finalizados.get(p.getPollaPartido().getId());
+            int puntos = partido == null ? 0 : PollaPointsCalculator.calculate(
+                    p.getGolesLocalPronosticado(),
+                    p.getGolesVisitante(),
+                    partido.getGolesLocal(),
+                    partido.getGolesVisitante(),
+                    scoringProperties
+            );
+            pointsByEmail.merge(p.getEmailParticipante(), puntos, Integer::sum);
+        }
+        return pointsByEmail;
+    }
+
+    static boolean isPartidoFinalizado(PollaPartido partido) {
+        if (partido.getGolesLocal() == null || partido.getGolesVisitante() == null) {
+            return false;
+        }
+        if (Boolean.TRUE.equals(partido.getPartidoFinalizado())) {
+            return true;
+        }
+        String s = partido.getApiStatusShort() == null ? "" : partido.getApiStatusShort().trim().toUpperCase();
+        return s.equals("FT") || s.equals("AET") || s.equals("PEN");
     }
 
     private static boolean isNotStartedStatus(String statusShort) {
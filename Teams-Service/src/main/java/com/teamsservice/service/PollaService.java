@@ -28,6 +28,7 @@ public class PollaService {
     private final TeamRepository teamRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final AuthServiceClient authServiceClient;
+    private final UserAccessIndex userAccessIndex;
     /**
      * Crea una nueva polla, valida grupos e invitados y agrega al creador como participante aceptado.
      */
@@ -83,6 +84,10 @@ public class PollaService {
     Polla saved = pollaRepository.save(polla);
     log.info("Polla creada con id {}", saved.getId());
 
+    // Creador e invitados ganan acceso a la polla
+    userAccessIndex.invalidateUser(null, userEmail);
+    participantes.forEach(p -> userAccessIndex.invalidateUser(null, p.getEmailUsuario()));
+
     PollaResponse response = mapToResponse(saved);
     response.setEmailUsuarioAutenticado(userEmail);
     return response;
@@ -119,7 +124,7 @@ public class PollaService {
 
         // Verificar que el usuario tiene acceso (es creador o participante)
         if (!polla.getCreadorEmail().equals(userEmail) &&
-            !participanteRepository.existsByPollaIdAndEmailUsuario(pollaId, userEmail)) {
+            !userAccessIndex.isPollaParticipant(pollaId, userEmail)) {
             throw new UnauthorizedException("No tienes acceso a esta polla");
         }
 
@@ -167,6 +172,7 @@ public class PollaService {
         participante.setEstado(PollaParticipante.EstadoParticipante.ACEPTADO);
         participante.setFechaRespuesta(LocalDateTime.now());
         participanteRepository.save(participante);
+        userAccessIndex.invalidateUser(null, userEmail);
 
         log.info("Invitation accepted successfully");
     }
@@ -186,6 +192,7 @@ public class PollaService {
         participante.setEstado(PollaParticipante.EstadoParticipante.RECHAZADO);
         participante.setFechaRespuesta(LocalDateTime.now());
         participanteRepository.save(participante);
+        userAccessIndex.invalidateUser(null, userEmail);
 
         log.info("Invitation rejected successfully");
     }
@@ -231,8 +238,8 @@ public class PollaService {
                  userEmail, request.getPollaPartidoId(), pollaId);
 
         // Verificar que el usuario es participante aceptado o es el creador de la polla
-        boolean esCreador = pollaRepository.isUserCreator(pollaId, userEmail);
-        boolean esParticipanteAceptado = participanteRepository.isUserAceptado(pollaId, userEmail);
+        boolean esCreador = userAccessIndex.isPollaCreator(pollaId, userEmail);
+        boolean esParticipanteAceptado = userAccessIndex.isPollaParticipantAceptado(pollaId, userEmail);
         if (!esCreador && !esParticipanteAceptado) {
             throw new UnauthorizedException("Debes ser participante aceptado para pronosticar");
         }
@@ -327,8 +334,7 @@ public class PollaService {
 
         // Verificar que el usuario es miembro de todos los grupos
         for (Team grupo : grupos) {
-            if (!teamMemberRepository.existsByTeamIdAndUserEmailAndStatus(
-                    grupo.getId(), userEmail, TeamMember.MembershipStatus.APPROVED)) {
+            if (!userAccessIndex.isApprovedTeamMember(grupo.getId(), null, userEmail)) {
                 throw new UnauthorizedException("No eres miembro del grupo: " + grupo.getName());
             }
         }
@@ -361,8 +367,8 @@ public class PollaService {
     }
 
     private void validateUserAccess(Long pollaId, String userEmail) {
-        if (!pollaRepository.isUserCreator(pollaId, userEmail) &&
-            !participanteRepository.existsByPollaIdAndEmailUsuario(pollaId, userEmail)) {
+        if (!userAccessIndex.isPollaCreator(pollaId, userEmail) &&
+            !userAccessIndex.isPollaParticipant(pollaId, userEmail)) {
             throw new UnauthorizedException("No tienes acceso a esta polla");
         }
     }
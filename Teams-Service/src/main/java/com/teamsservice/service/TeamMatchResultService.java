@@ -12,18 +12,19 @@ import com.teamsservice.entity.TeamMatch;
 import com.teamsservice.entity.TeamMatchPlayerGoalStat;
 import com.teamsservice.entity.TeamMatchTeam;
 import com.teamsservice.entity.TeamMatchTeamPlayer;
-import com.teamsservice.entity.TeamMember;
 import com.teamsservice.entity.TeamStatus;
 import com.teamsservice.exception.ResourceNotFoundException;
 import com.teamsservice.exception.UnauthorizedException;
+import com.teamsservice.repository.TeamMatchPlayerGoalStatJdbcRepository;
 import com.teamsservice.repository.TeamMatchPlayerGoalStatRepository;
 import com.teamsservice.repository.TeamMatchRepository;
 import com.teamsservice.repository.TeamMatchTeamPlayerRepository;
 import com.teamsservice.repository.TeamMatchTeamRepository;
-import com.teamsservice.repository.TeamMemberRepository;
+import com.teamsservice.repository.TeamPlayerStatTotalRepository;
 import com.teamsservice.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,9 +41,13 @@ public class TeamMatchResultService {
     private final TeamMatchTeamRepository teamMatchTeamRepository;
     private final TeamMatchTeamPlayerRepository teamMatchTeamPlayerRepository;
     private final TeamMatchPlayerGoalStatRepository teamMatchPlayerGoalStatRepository;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamMatchPlayerGoalStatJdbcRepository goalStatJdbcRepository;
+    private final TeamPlayerStatTotalRepository teamPlayerStatTotalRepository;
     private final TeamRepository teamRepository;
     private final AuthServiceClient authServiceClient;
+    private final TeamMatchSummaryService teamMatchSummaryService;
+    private final TeamPlayerStatsService teamPlayerStatsService;
+    private final UserAccessIndex userAccessIndex;
 
     @Transactional
     public MatchResultResponse upsertMatchResult(Long teamId,
@@ -50,7 +55,9 @@ public class TeamMatchResultService {
                                                 MatchResultUpsertRequest request,
                                                 Long currentUserId) {
 
-        TeamMatch match = getMatchOrThrow(teamId, matchId);
+        // Bloquea el partido antes de leer el estado anterior: los acumulados se actualizan con diferencias, y dos
+        // envíos simultáneos calculados sobre el mismo "antes" sumarían dos veces el aporte del partido
+        TeamMatch match = getMatchForUpdateOrThrow(teamId, matchId);
         assertOwner(match.getTeam(), currentUserId);
 
         List<TeamMatchTeam> teams = teamMatchTeamRepository.findByMatchIdOrderByIdAsc(matchId);
@@ -62,10 +69,22 @@ public class TeamMatchResultService {
                 ? Collections.emptyList()
                 : request.getPlayers();
 
-        // Replace strategy: wipe existing stats and insert the provided ones.
-        // Important: payload can contain duplicates for the same (match_id, user_email),
-        // so dedupe by normalized email to keep this endpoint idempotent.
-        Map<String, MatchPlayerGoalsUpsertRequest> byEmail = new LinkedHashMap<>();
+        // Jugadores asignados a los equipos del partido, cargados una sola vez para validar el payload en memoria
+        List<TeamMatchTeamPlayer> assignedPlayers = teamMatchTeamPlayerRepository.findByMatchTeamMatchId(matchId);
+        Map<String, TeamMatchTeamPlayer> assignedByEmail = new HashMap<>();
+        Map<Long, TeamMatchTeamPlayer> assignedByUserId = new HashMap<>();
+        for (TeamMatchTeamPlayer tp : assignedPlayers) {
+            if (tp.getUserEmail() != null) {
+                assignedByEmail.putIfAbsent(normalizeEmail(tp.getUserEmail()), tp);
+            }
+            if (tp.getUserId() != null) {
+                assignedByUserId.putIfAbsent(tp.getUserId(), tp);
+            }
+        }
+
+        // Payload can contain duplicates for the same (match_id, user_email): dedupe by normalized email
+        // to keep this endpoint idempotent. Players without goals/own-goals have no row.
+        Map<String, MatchResultChangeSet.PlayerGoals> desired = new LinkedHashMap<>();
         for (MatchPlayerGoalsUpsertRequest p : players) {
             String email = normalizeEmail(p.getUserEmail());
             if (email == null || email.isBlank()) {
@@ -79,36 +98,38 @@ public class TeamMatchResultService {
                 continue;
             }
 
-            MatchPlayerGoalsUpsertRequest prev = byEmail.put(email, p);
+            // Ensure player is assigned to a match team (so we can compute team scores)
+            if (!assignedByEmail.containsKey(email)
+                    && (p.getUserId() == null || !assignedByUserId.containsKey(p.getUserId()))) {
+                throw new IllegalArgumentException("Player must be assigned to a match team to set goals/own-goals");
+            }
+
+            MatchResultChangeSet.PlayerGoals prev = desired.put(email,
+                    new MatchResultChangeSet.PlayerGoals(null, email, p.getUserId(), goals, ownGoals));
             if (prev != null) {
                 log.warn("Duplicate player stat in request for matchId={} email={}; keeping last value", matchId, email);
             }
         }
 
-        teamMatchPlayerGoalStatRepository.deleteByMatchId(matchId);
-        teamMatchPlayerGoalStatRepository.flush();
-
-        for (MatchPlayerGoalsUpsertRequest p : byEmail.values()) {
-            String email = normalizeEmail(p.getUserEmail());
-            int goals = Math.max(0, p.getGoals());
-            int ownGoals = Math.max(0, p.getOwnGoals());
-
-            // Ensure player is assigned to a match team (so we can compute team scores)
-            resolveAssignedPlayer(matchId, p.getUserId(), email);
-
-            TeamMatchPlayerGoalStat stat = TeamMatchPlayerGoalStat.builder()
-                    .match(match)
-                    .userId(p.getUserId())
-                    .userEmail(email)
-                    .goals(goals)
-                    .ownGoals(ownGoals)
-                    .build();
+        List<MatchResultChangeSet.PlayerGoals> existing = teamMatchPlayerGoalStatRepository.findRowsByMatchId(matchId)
+                .stream()
+                .map(r -> new MatchResultChangeSet.PlayerGoals(
+                        r.getId(), r.getUserEmail(), r.getUserId(), r.getGoals(), r.getOwnGoals()))
+                .collect(Collectors.toList());
 
-            teamMatchPlayerGoalStatRepository.save(stat);
-        }
+        boolean wasFinished = match.isFinished();
+        boolean finished = Boolean.TRUE.equals(request.getFinished());
+        MatchResultChangeSet changes = MatchResultChangeSet.diff(existing, desired.values(), wasFinished, finished);
 
+        // Solo se escriben las filas que cambiaron; deletes primero para liberar (match_id, user_email)
         LocalDateTime now = LocalDateTime.now();
-        match.setFinished(Boolean.TRUE.equals(request.getFinished()));
+        goalStatJdbcRepository.deleteAll(changes.deleted());
+        goalStatJdbcRepository.updateAll(changes.updated(), now);
+        goalStatJdbcRepository.insertAll(matchId, changes.inserted(), now);
+        log.debug("Match {} result stats: {} inserted, {} updated, {} deleted", matchId,
+                changes.inserted().size(), changes.updated().size(), changes.deleted().size());
+
+        match.setFinished(finished);
         match.setResultUpdatedAt(now);
         if (match.isFinished()) {
             if (match.getFinishedAt() == null) {
@@ -119,6 +140,8 @@ public class TeamMatchResultService {
         }
 
         teamMatchRepository.save(match);
+        teamMatchSummaryService.applyResultChange(match, teams, assignedPlayers, changes);
+        teamPlayerStatsService.applyResultChange(match, changes);
 
         return buildMatchResultResponse(teamId, match, teams);
     }
@@ -149,11 +172,7 @@ public class TeamMatchResultService {
 
         Map<String, UserInfoDto> userInfoCache = new HashMap<>();
 
-        return teamMatchPlayerGoalStatRepository.aggregateByTeamFinished(teamId).stream()
-                .sorted(Comparator.comparingLong(TeamMatchPlayerGoalStatRepository.PlayerAggRow::getTotalGoals)
-                        .reversed()
-                        .thenComparingLong(TeamMatchPlayerGoalStatRepository.PlayerAggRow::getTotalOwnGoals))
-                .limit(safeLimit)
+        return teamPlayerStatTotalRepository.findTopByTeam(teamId, PageRequest.of(0, safeLimit)).stream()
                 .map(row -> {
                     UserInfoDto userInfo = null;
                     try {
@@ -167,9 +186,9 @@ public class TeamMatchResultService {
                     return PlayerHistoricalStatsResponse.builder()
                             .userEmail(row.getUserEmail())
                             .userId(row.getUserId())
-                            .totalGoals((int) row.getTotalGoals())
-                            .totalOwnGoals((int) row.getTotalOwnGoals())
-                            .matchesFinished((int) row.getMatchesFinished())
+                            .totalGoals(row.getGoals())
+                            .totalOwnGoals(row.getOwnGoals())
+                            .matchesFinished(row.getMatchesPlayed())
                             .userInfo(userInfo)
                             .build();
                 })
@@ -278,6 +297,17 @@ public class TeamMatchResultService {
         return match;
     }
 
+    private TeamMatch getMatchForUpdateOrThrow(Long teamId, Long matchId) {
+        TeamMatch match = teamMatchRepository.findByIdForUpdate(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + matchId));
+
+        if (!match.getTeam().getId().equals(teamId)) {
+            throw new IllegalArgumentException("Match does not belong to this team");
+        }
+
+        return match;
+    }
+
     private void assertOwner(Team team, Long currentUserId) {
         if (currentUserId == null || !team.getOwnerUserId().equals(currentUserId)) {
             throw new UnauthorizedException("Only team owner can manage match results");
@@ -289,45 +319,11 @@ public class TeamMatchResultService {
             return;
         }
 
-        boolean isApprovedMember = false;
-        if (currentUserId != null && currentUserId != 0) {
-            isApprovedMember = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                    .map(m -> m.getStatus() == TeamMember.MembershipStatus.APPROVED)
-                    .orElse(false);
-        }
-
-        if (!isApprovedMember && currentUserEmail != null && !currentUserEmail.isBlank()) {
-            isApprovedMember = teamMemberRepository.existsByTeamIdAndUserEmailAndStatus(
-                    teamId,
-                    currentUserEmail,
-                    TeamMember.MembershipStatus.APPROVED);
-        }
-
-        if (!isApprovedMember) {
+        if (!userAccessIndex.isApprovedTeamMember(teamId, currentUserId, currentUserEmail)) {
             throw new UnauthorizedException("You are not a member of this team");
         }
     }
 
-    private TeamMatchTeamPlayer resolveAssignedPlayer(Long matchId, Long userId, String userEmail) {
-        if (userEmail != null && !userEmail.isBlank()) {
-            Optional<TeamMatchTeamPlayer> byEmail = teamMatchTeamPlayerRepository
-                    .findByMatchTeamMatchIdAndUserEmailIgnoreCase(matchId, userEmail);
-            if (byEmail.isPresent()) {
-                return byEmail.get();
-            }
-        }
-
-        if (userId != null) {
-            Optional<TeamMatchTeamPlayer> byUserId = teamMatchTeamPlayerRepository
-                    .findByMatchTeamMatchIdAndUserId(matchId, userId);
-            if (byUserId.isPresent()) {
-                return byUserId.get();
-            }
-        }
-
-        throw new IllegalArgumentException("Player must be assigned to a match team to set goals/own-goals");
-    }
-
     private String normalizeEmail(String email) {
         return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
@@ -1,7 +1,6 @@
 package com.teamsservice.service;
 
 import com.teamsservice.dto.MatchAttendanceSummaryResponse;
-import com.teamsservice.dto.NotificationSendRequest;
 import com.teamsservice.dto.PageResponse;
 import com.teamsservice.dto.TeamMatchAttendanceResponse;
 import com.teamsservice.dto.TeamMatchCreateRequest;
@@ -21,16 +20,14 @@ import com.teamsservice.repository.TeamMatchAttendanceRepository;
 import com.teamsservice.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -48,10 +45,12 @@ public class TeamMatchService {
     private final TeamMemberRepository teamMemberRepository;
     private final TeamMatchAttendanceRepository teamMatchAttendanceRepository;
     private final AuthServiceClient authServiceClient;
-    private final NotificationServiceClient notificationServiceClient;
+    private final MatchNotificationFanoutService matchNotificationFanoutService;
 
-    @Value("${app.frontend.url:http://localhost:4200}")
-    private String frontendUrl;
+    private static final String FEED_UPCOMING = "U";
+    private static final String FEED_HISTORY = "H";
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 100;
 
     @Transactional
     public TeamMatchResponse createTeamMatch(Long teamId, TeamMatchCreateRequest request,
@@ -81,7 +80,8 @@ public class TeamMatchService {
         match = teamMatchRepository.save(match);
         log.info("Team match created with id {} for team {}", match.getId(), teamId);
 
-        notifyTeamMembers(team, match);
+        // El envío a los miembros corre en segundo plano después del commit; el owner no lo espera
+        matchNotificationFanoutService.schedule(match);
 
         return mapToResponse(match);
     }
@@ -94,16 +94,120 @@ public class TeamMatchService {
 
         log.info("Getting matches for authenticated user email={}", currentUserEmail);
 
-        return teamMatchAttendanceRepository.findMatchesByUserEmail(currentUserEmail)
+        return teamMatchAttendanceRepository.findMatchesByUserEmail(normalizeEmail(currentUserEmail))
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Próximos partidos del usuario (solo fechas futuras), del más cercano al más lejano.
+     */
+    @Transactional(readOnly = true)
+    public List<TeamMatchResponse> getMyUpcomingMatches(String currentUserEmail, int limit) {
+        if (currentUserEmail == null || currentUserEmail.isBlank()) {
+            throw new UnauthorizedException("No se pudo identificar el usuario autenticado");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return teamMatchAttendanceRepository.findUpcomingByUserEmail(
+                        normalizeEmail(currentUserEmail), now, now, 0L, PageRequest.of(0, clampFeedSize(limit)))
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Feed paginado de "mis partidos": primero los próximos (ascendente) y luego el historial (descendente).
+     * Cada página se lee por keyset desde la posición del cursor; no hay COUNT, así que los totales vienen en -1.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<TeamMatchResponse> getMyMatchesFeed(String currentUserEmail, String cursor, int size) {
+        if (currentUserEmail == null || currentUserEmail.isBlank()) {
+            throw new UnauthorizedException("No se pudo identificar el usuario autenticado");
+        }
+
+        String email = normalizeEmail(currentUserEmail);
+        size = clampFeedSize(size);
+        LocalDateTime now = LocalDateTime.now();
+
+        MatchCursor after = cursor != null && !cursor.isBlank() ? MatchCursor.decode(cursor) : null;
+        if (after != null && !FEED_UPCOMING.equals(after.getPhase()) && !FEED_HISTORY.equals(after.getPhase())) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        List<TeamMatch> matches = new ArrayList<>(size + 1);
+        String nextCursor = null;
+
+        if (after == null || FEED_UPCOMING.equals(after.getPhase())) {
+            List<TeamMatch> upcoming = teamMatchAttendanceRepository.findUpcomingByUserEmail(
+                    email,
+                    now,
+                    after != null ? after.getMatchDateTime() : now,
+                    after != null ? after.getId() : 0L,
+                    PageRequest.of(0, size + 1));
+            if (upcoming.size() > size) {
+                matches.addAll(upcoming.subList(0, size));
+                TeamMatch lastMatch = matches.get(size - 1);
+                nextCursor = MatchCursor.encode(FEED_UPCOMING, lastMatch.getMatchDateTime(), lastMatch.getId());
+                return feedPage(matches, size, nextCursor);
+            }
+            matches.addAll(upcoming);
+            // Se agotaron los próximos: el historial arranca justo antes de "now"
+            after = null;
+        }
+
+        int remaining = size - matches.size();
+        LocalDateTime beforeDateTime = after != null ? after.getMatchDateTime() : now;
+        Long beforeId = after != null ? after.getId() : Long.MAX_VALUE;
+        // Se pide una fila de más para saber si queda historial (también cuando la página ya está llena)
+        List<TeamMatch> history = teamMatchAttendanceRepository.findHistoryByUserEmail(
+                email, beforeDateTime, beforeId, PageRequest.of(0, remaining + 1));
+        if (history.size() > remaining) {
+            matches.addAll(history.subList(0, remaining));
+            nextCursor = remaining == 0
+                    ? MatchCursor.encode(FEED_HISTORY, beforeDateTime, beforeId)
+                    : MatchCursor.encode(FEED_HISTORY, history.get(remaining - 1).getMatchDateTime(),
+                            history.get(remaining - 1).getId());
+        } else {
+            matches.addAll(history);
+        }
+        return feedPage(matches, size, nextCursor);
+    }
+
+    private PageResponse<TeamMatchResponse> feedPage(List<TeamMatch> matches, int size, String nextCursor) {
+        return PageResponse.<TeamMatchResponse>builder()
+            .content(matches.stream().map(this::mapToResponse).collect(Collectors.toList()))
+            .page(0)
+            .size(size)
+            .totalElements(-1)
+            .totalPages(-1)
+            .last(nextCursor == null)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    private static int clampFeedSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_FEED_SIZE;
+        }
+        return Math.min(size, MAX_FEED_SIZE);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Partidos del equipo, del más reciente al más antiguo. Sin cursor pagina por número de página; con cursor
+     * (el {@code nextCursor} de la respuesta anterior) continúa por keyset e ignora {@code page}.
+     * Con {@code includeTotal=false} no se ejecuta el COUNT y los totales vienen en -1.
+     */
     @Transactional(readOnly = true)
     public PageResponse<TeamMatchResponse> getTeamMatches(Long teamId, Long currentUserId, String currentUserEmail,
-                                                          int page, int size) {
-        log.info("User {} listing matches for team {} (page={}, size={})", currentUserId, teamId, page, size);
+                                                          int page, int size, String cursor, boolean includeTotal) {
+        log.info("User {} listing matches for team {} (page={}, size={}, cursor={})",
+                currentUserId, teamId, page, size, cursor != null);
 
         Team team = teamRepository.findByIdAndStatus(teamId, TeamStatus.ACTIVE)
                 .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + teamId));
@@ -119,21 +223,40 @@ public class TeamMatchService {
             page = 0;
         }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "matchDateTime"));
-
-        Page<TeamMatch> matchesPage = teamMatchRepository.findByTeamId(teamId, pageable);
+        List<TeamMatch> matches;
+        boolean last;
+        if (cursor != null && !cursor.isBlank()) {
+            MatchCursor after = MatchCursor.decode(cursor);
+            matches = teamMatchRepository.findByTeamIdAfterCursor(
+                    teamId, after.getMatchDateTime(), after.getId(), PageRequest.of(0, size + 1));
+            last = matches.size() <= size;
+            if (!last) {
+                matches = matches.subList(0, size);
+            }
+            page = 0;
+        } else {
+            Pageable pageable = PageRequest.of(page, size,
+                    Sort.by(Sort.Direction.DESC, "matchDateTime").and(Sort.by(Sort.Direction.DESC, "id")));
+            Slice<TeamMatch> slice = teamMatchRepository.findSliceByTeamId(teamId, pageable);
+            matches = slice.getContent();
+            last = !slice.hasNext();
+        }
 
-        List<TeamMatchResponse> content = matchesPage.getContent().stream()
+        List<TeamMatchResponse> content = matches.stream()
             .map(this::mapToResponse)
             .collect(Collectors.toList());
 
+        long totalElements = includeTotal ? teamMatchRepository.countByTeamId(teamId) : -1;
+        TeamMatch lastMatch = matches.isEmpty() ? null : matches.get(matches.size() - 1);
+
         return PageResponse.<TeamMatchResponse>builder()
             .content(content)
-            .page(matchesPage.getNumber())
-            .size(matchesPage.getSize())
-            .totalElements(matchesPage.getTotalElements())
-            .totalPages(matchesPage.getTotalPages())
-            .last(matchesPage.isLast())
+            .page(page)
+            .size(size)
+            .totalElements(totalElements)
+            .totalPages(includeTotal ? (int) ((totalElements + size - 1) / size) : -1)
+            .last(last)
+            .nextCursor(last || lastMatch == null ? null : MatchCursor.encode(lastMatch.getMatchDateTime(), lastMatch.getId()))
             .build();
     }
 
@@ -144,48 +267,23 @@ public class TeamMatchService {
                                                                 String currentUserEmail) {
         log.info("User {} listing attendance for match {} in team {}", currentUserId, matchId, teamId);
 
-        TeamMatch match = teamMatchRepository.findById(matchId)
-                .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + matchId));
-
-        if (!match.getTeam().getId().equals(teamId)) {
-            throw new IllegalArgumentException("Match does not belong to this team");
-        }
-
-        // Permitir ver la asistencia al owner o a cualquier miembro aprobado
-        Team team = match.getTeam();
-        boolean isOwner = team.getOwnerUserId().equals(currentUserId);
-        boolean isApprovedMember = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                .map(m -> m.getStatus() == TeamMember.MembershipStatus.APPROVED)
-                .orElse(false);
-
-        if (!isOwner && !isApprovedMember) {
-            throw new UnauthorizedException("You are not allowed to view attendance for this match");
-        }
-
-        List<TeamMember> members = teamMemberRepository.findApprovedMembersByTeamId(teamId);
-
-        return members.stream().map(member -> {
-            TeamMatchAttendance attendance = teamMatchAttendanceRepository
-                    .findByMatchIdAndUserId(matchId, member.getUserId())
-                    .orElse(null);
-
-            String status = attendance != null ? attendance.getStatus().name() : "PENDING";
-            java.time.LocalDateTime respondedAt = attendance != null ? attendance.getUpdatedAt() : null;
+        getMatchForAttendanceView(teamId, matchId, currentUserId);
 
+        return teamMatchAttendanceRepository.findRoster(teamId, matchId).stream().map(row -> {
             UserInfoDto userInfo = null;
             try {
-                if (member.getUserEmail() != null) {
-                    userInfo = authServiceClient.getUserByEmail(member.getUserEmail());
+                if (row.getUserEmail() != null) {
+                    userInfo = authServiceClient.getUserByEmail(row.getUserEmail());
                 }
             } catch (Exception e) {
-                log.warn("Could not fetch user info for email {}: {}", member.getUserEmail(), e.getMessage());
+                log.warn("Could not fetch user info for email {}: {}", row.getUserEmail(), e.getMessage());
             }
 
             return TeamMatchAttendanceResponse.builder()
-                    .userId(member.getUserId())
-                    .userEmail(member.getUserEmail())
-                    .status(status)
-                    .respondedAt(respondedAt)
+                    .userId(row.getUserId())
+                    .userEmail(row.getUserEmail())
+                    .status(row.getStatus() != null ? row.getStatus().name() : "PENDING")
+                    .respondedAt(row.getRespondedAt())
                     .userInfo(userInfo)
                     .build();
         }).collect(Collectors.toList());
@@ -196,6 +294,44 @@ public class TeamMatchService {
                                         Long matchId,
                                         Long currentUserId,
                                         String currentUserEmail) {
+        return getMatchAttendanceSummary(teamId, matchId, currentUserId, currentUserEmail, true);
+        }
+
+    /**
+     * Resumen de asistencia. Con {@code includeRoster=false} solo devuelve los conteos, leídos de los contadores
+     * del partido (sin roster ni llamadas al auth-service); PENDING = miembros aprobados - respuestas. Las respuestas
+     * de quien sale del equipo se descuentan de los partidos sin finalizar ({@link TeamMemberService#removeMember}).
+     */
+    @Transactional(readOnly = true)
+    public MatchAttendanceSummaryResponse getMatchAttendanceSummary(Long teamId,
+                                                                    Long matchId,
+                                                                    Long currentUserId,
+                                                                    String currentUserEmail,
+                                                                    boolean includeRoster) {
+        if (!includeRoster) {
+            TeamMatch match = getMatchForAttendanceView(teamId, matchId, currentUserId);
+
+            long attendingCount = match.getAttendingCount() != null
+                    ? match.getAttendingCount()
+                    : teamMatchAttendanceRepository.countByMatchIdAndStatus(matchId, TeamMatchAttendance.AttendanceStatus.ATTENDING);
+            long notAttendingCount = match.getNotAttendingCount() != null
+                    ? match.getNotAttendingCount()
+                    : teamMatchAttendanceRepository.countByMatchIdAndStatus(matchId, TeamMatchAttendance.AttendanceStatus.NOT_ATTENDING);
+            Integer approvedCounter = match.getTeam().getApprovedMemberCount();
+            long approved = approvedCounter != null
+                    ? approvedCounter
+                    : teamMemberRepository.countByTeamIdAndStatus(teamId, TeamMember.MembershipStatus.APPROVED);
+
+            return MatchAttendanceSummaryResponse.builder()
+                .attendingCount(attendingCount)
+                .notAttendingCount(notAttendingCount)
+                .pendingCount(Math.max(0, approved - attendingCount - notAttendingCount))
+                .attending(List.of())
+                .notAttending(List.of())
+                .pending(List.of())
+                .build();
+        }
+
         List<TeamMatchAttendanceResponse> all = getMatchAttendance(teamId, matchId, currentUserId, currentUserEmail);
 
         Map<String, List<TeamMatchAttendanceResponse>> byStatus = all.stream()
@@ -221,7 +357,7 @@ public class TeamMatchService {
             .notAttending(notAttending)
             .pending(pending)
             .build();
-        }
+    }
 
     @Transactional
     public void confirmAttendance(Long teamId,
@@ -231,7 +367,8 @@ public class TeamMatchService {
                                   boolean attending) {
         log.info("User {} setting attendance={} for match {} in team {}", userId, attending, matchId, teamId);
 
-        TeamMatch match = teamMatchRepository.findById(matchId)
+        // Con la fila del partido bloqueada, leer la respuesta anterior y ajustar los contadores no compite con otro request
+        TeamMatch match = teamMatchRepository.findByIdForUpdate(matchId)
             .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + matchId));
 
         if (!match.getTeam().getId().equals(teamId)) {
@@ -246,6 +383,8 @@ public class TeamMatchService {
             throw new UnauthorizedException("Your membership is not approved");
         }
 
+        ensureAttendanceCounters(match);
+
         TeamMatchAttendance attendance = teamMatchAttendanceRepository
             .findByMatchIdAndUserId(matchId, userId)
             .orElse(TeamMatchAttendance.builder()
@@ -254,11 +393,13 @@ public class TeamMatchService {
                 .userEmail(userEmail)
                 .build());
 
+        TeamMatchAttendance.AttendanceStatus previous = attendance.getStatus();
         attendance.setStatus(attending
             ? TeamMatchAttendance.AttendanceStatus.ATTENDING
             : TeamMatchAttendance.AttendanceStatus.NOT_ATTENDING);
 
         teamMatchAttendanceRepository.save(attendance);
+        applyAttendanceChange(matchId, previous, attendance.getStatus());
     }
 
     @Transactional
@@ -268,7 +409,8 @@ public class TeamMatchService {
                                                               String status,
                                                               Long currentUserId,
                                                               String currentUserEmail) {
-        TeamMatch match = teamMatchRepository.findById(matchId)
+        // Con la fila del partido bloqueada, leer la respuesta anterior y ajustar los contadores no compite con otro request
+        TeamMatch match = teamMatchRepository.findByIdForUpdate(matchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + matchId));
 
         if (!match.getTeam().getId().equals(teamId)) {
@@ -288,27 +430,38 @@ public class TeamMatchService {
         }
 
         String normalized = status == null ? "" : status.trim().toUpperCase(Locale.ROOT);
-        switch (normalized) {
-            case "ATTENDING" -> {
-                upsertAttendance(match, targetUserId, member.getUserEmail(), TeamMatchAttendance.AttendanceStatus.ATTENDING);
-            }
-            case "NOT_ATTENDING" -> {
-                upsertAttendance(match, targetUserId, member.getUserEmail(), TeamMatchAttendance.AttendanceStatus.NOT_ATTENDING);
-            }
-            case "PENDING" -> {
-                teamMatchAttendanceRepository.findByMatchIdAndUserId(matchId, targetUserId)
-                        .ifPresent(teamMatchAttendanceRepository::delete);
-            }
+        TeamMatchAttendance.AttendanceStatus target = switch (normalized) {
+            case "ATTENDING" -> TeamMatchAttendance.AttendanceStatus.ATTENDING;
+            case "NOT_ATTENDING" -> TeamMatchAttendance.AttendanceStatus.NOT_ATTENDING;
+            case "PENDING" -> null;
             default -> throw new IllegalArgumentException("Invalid status. Allowed: ATTENDING, NOT_ATTENDING, PENDING");
+        };
+
+        ensureAttendanceCounters(match);
+
+        TeamMatchAttendance.AttendanceStatus previous;
+        if (target != null) {
+            previous = upsertAttendance(match, targetUserId, member.getUserEmail(), target);
+        } else {
+            TeamMatchAttendance existing = teamMatchAttendanceRepository.findByMatchIdAndUserId(matchId, targetUserId)
+                    .orElse(null);
+            previous = existing == null ? null : existing.getStatus();
+            if (existing != null) {
+                teamMatchAttendanceRepository.delete(existing);
+            }
         }
+        applyAttendanceChange(matchId, previous, target);
 
         return getMatchAttendanceSummary(teamId, matchId, currentUserId, currentUserEmail);
     }
 
-    private void upsertAttendance(TeamMatch match,
-                                 Long userId,
-                                 String userEmail,
-                                 TeamMatchAttendance.AttendanceStatus status) {
+    /**
+     * @return el estado anterior (null si no había respuesta)
+     */
+    private TeamMatchAttendance.AttendanceStatus upsertAttendance(TeamMatch match,
+                                                                  Long userId,
+                                                                  String userEmail,
+                                                                  TeamMatchAttendance.AttendanceStatus status) {
         TeamMatchAttendance attendance = teamMatchAttendanceRepository
                 .findByMatchIdAndUserId(match.getId(), userId)
                 .orElse(TeamMatchAttendance.builder()
@@ -317,79 +470,53 @@ public class TeamMatchService {
                         .userEmail(userEmail)
                         .build());
 
+        TeamMatchAttendance.AttendanceStatus previous = attendance.getStatus();
         attendance.setUserEmail(userEmail);
         attendance.setStatus(status);
         teamMatchAttendanceRepository.save(attendance);
+        return previous;
     }
 
-    private void notifyTeamMembers(Team team, TeamMatch match) {
-        List<TeamMember> members = teamMemberRepository.findApprovedMembersByTeamId(team.getId());
-        if (members.isEmpty()) {
-            log.info("No approved members found for team {} when notifying new match", team.getId());
-            return;
-        }
+    private TeamMatch getMatchForAttendanceView(Long teamId, Long matchId, Long currentUserId) {
+        TeamMatch match = teamMatchRepository.findById(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + matchId));
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-        String formattedDate = match.getMatchDateTime().format(formatter);
-
-        String mapsUrl;
-        if (match.getLatitude() != null && match.getLongitude() != null && match.getPlaceId() != null) {
-            mapsUrl = String.format(
-                    "https://www.google.com/maps/search/?api=1&query=%f,%f&query_place_id=%s",
-                    match.getLatitude(),
-                    match.getLongitude(),
-                    match.getPlaceId()
-            );
-        } else if (match.getAddress() != null) {
-            mapsUrl = "https://www.google.com/maps/search/?api=1&query=" + match.getAddress().replace(" ", "+");
-        } else {
-            mapsUrl = "https://www.google.com/maps";
+        if (!match.getTeam().getId().equals(teamId)) {
+            throw new IllegalArgumentException("Match does not belong to this team");
         }
 
-        String confirmUrl = String.format("%s/equipos/%d/partidos/%d", frontendUrl, team.getId(), match.getId());
-
-        for (TeamMember member : members) {
-            String email = member.getUserEmail();
-            if (email == null || email.isBlank()) {
-                continue;
-            }
-
-            UserInfoDto userInfo = authServiceClient.getUserByEmail(email);
-
-            String phone = null;
-            if (userInfo != null && userInfo.getCountryCode() != null && userInfo.getPhoneNumber() != null) {
-                phone = userInfo.getCountryCode() + userInfo.getPhoneNumber();
-            }
+        // Permitir ver la asistencia al owner o a cualquier miembro aprobado
+        Team team = match.getTeam();
+        boolean isOwner = team.getOwnerUserId().equals(currentUserId);
+        boolean isApprovedMember = isOwner || teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
+                .map(m -> m.getStatus() == TeamMember.MembershipStatus.APPROVED)
+                .orElse(false);
 
-            List<String> channels = new ArrayList<>();
-            channels.add("EMAIL");
-            if (phone != null && !phone.isBlank()) {
-                channels.add("WHATSAPP");
-                channels.add("SMS");
-            }
+        if (!isApprovedMember) {
+            throw new UnauthorizedException("You are not allowed to view attendance for this match");
+        }
+        return match;
+    }
 
-            String subject = "Nuevo partido del equipo " + team.getName();
-            String body = String.format(
-                    "El grupo %s programó un partido el %s en %s.\n\n" +
-                    "Ver ubicación en Google Maps: %s\n\n" +
-                    "Para confirmar tu asistencia da clic aquí: %s",
-                    team.getName(),
-                    formattedDate,
-                    match.getAddress(),
-                    mapsUrl,
-                    confirmUrl
-            );
-
-            NotificationSendRequest notification = NotificationSendRequest.builder()
-                    .channels(channels)
-                    .recipient(email)
-                    .recipientPhone(phone)
-                    .subject(subject)
-                    .body(body)
-                    .serviceOrigin("teams-service")
-                    .build();
+    /**
+     * Partidos anteriores a los contadores los inicializan antes del primer cambio (debe ir antes de escribir la
+     * asistencia para no contar dos veces el cambio).
+     */
+    private void ensureAttendanceCounters(TeamMatch match) {
+        if (match.getAttendingCount() == null || match.getNotAttendingCount() == null) {
+            teamMatchRepository.initAttendanceCounters(match.getId());
+        }
+    }
 
-            notificationServiceClient.sendNotification(notification);
+    private void applyAttendanceChange(Long matchId,
+                                       TeamMatchAttendance.AttendanceStatus previous,
+                                       TeamMatchAttendance.AttendanceStatus current) {
+        int attending = (current == TeamMatchAttendance.AttendanceStatus.ATTENDING ? 1 : 0)
+                - (previous == TeamMatchAttendance.AttendanceStatus.ATTENDING ? 1 : 0);
+        int notAttending = (current == TeamMatchAttendance.AttendanceStatus.NOT_ATTENDING ? 1 : 0)
+                - (previous == TeamMatchAttendance.AttendanceStatus.NOT_ATTENDING ? 1 : 0);
+        if (attending != 0 || notAttending != 0) {
+            teamMatchRepository.addAttendanceCounts(matchId, attending, notAttending);
         }
     }
 
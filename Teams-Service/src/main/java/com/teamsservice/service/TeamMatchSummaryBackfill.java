@@ -0,0 +1,51 @@
+package com.teamsservice.service;
+
+import com.teamsservice.repository.TeamMatchSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Genera el resumen de los partidos con resultado registrado antes de existir la proyección.
+ *
+ * Solo corre al arrancar con {@code --backfill-match-summaries} (una vez por base, después de desplegar la
+ * proyección): sin la opción no consulta nada. Procesa por lotes (cada lote en su propia transacción) y termina
+ * cuando ya no quedan partidos sin resumen.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class TeamMatchSummaryBackfill implements ApplicationRunner {
+
+    static final String BACKFILL_OPTION = "backfill-match-summaries";
+
+    private static final int BATCH_SIZE = 200;
+
+    private final TeamMatchSummaryRepository teamMatchSummaryRepository;
+    private final TeamMatchSummaryService teamMatchSummaryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(BACKFILL_OPTION)) {
+            return;
+        }
+        int total = 0;
+        try {
+            List<Long> ids;
+            while (!(ids = teamMatchSummaryRepository.findMatchIdsMissingSummary(PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+                total += teamMatchSummaryService.backfill(ids);
+            }
+        } catch (Exception e) {
+            log.warn("Match summary backfill stopped after {} matches: {}", total, e.getMessage());
+            return;
+        }
+        log.info("Match summary backfill wrote {} summaries", total);
+    }
+}
@@ -0,0 +1,175 @@
+package com.teamsservice.service;
+
+import com.teamsservice.entity.TeamMatch;
+import com.teamsservice.entity.TeamMatchPlayerGoalStat;
+import com.teamsservice.entity.TeamMatchSummary;
+import com.teamsservice.entity.TeamMatchTeam;
+import com.teamsservice.entity.TeamMatchTeamPlayer;
+import com.teamsservice.repository.TeamMatchPlayerGoalStatRepository;
+import com.teamsservice.repository.TeamMatchRepository;
+import com.teamsservice.repository.TeamMatchSummaryRepository;
+import com.teamsservice.repository.TeamMatchTeamPlayerRepository;
+import com.teamsservice.repository.TeamMatchTeamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mantiene la proyección {@link TeamMatchSummary}: se recalcula dentro de la misma transacción que modifica el
+ * resultado o los equipos del partido, así que nunca queda desfasada respecto a los datos de origen.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TeamMatchSummaryService {
+
+    private final TeamMatchRepository teamMatchRepository;
+    private final TeamMatchTeamRepository teamMatchTeamRepository;
+    private final TeamMatchTeamPlayerRepository teamMatchTeamPlayerRepository;
+    private final TeamMatchPlayerGoalStatRepository teamMatchPlayerGoalStatRepository;
+    private final TeamMatchSummaryRepository teamMatchSummaryRepository;
+
+    /**
+     * Recalcula y guarda el resumen del partido (llamado al registrar el resultado).
+     */
+    @Transactional
+    public TeamMatchSummary write(TeamMatch match) {
+        TeamMatchSummary summary = summarize(
+                match,
+                teamMatchTeamRepository.findByMatchIdOrderByIdAsc(match.getId()),
+                teamMatchTeamPlayerRepository.findByMatchTeamMatchId(match.getId()),
+                teamMatchPlayerGoalStatRepository.findByMatchId(match.getId())
+        );
+        return teamMatchSummaryRepository.save(summary);
+    }
+
+    /**
+     * Actualiza el resumen tras registrar un resultado con los datos que el llamador ya tiene en memoria.
+     * Si ni las estadísticas ni el estado finalizado cambiaron y el resumen existe, no escribe nada.
+     */
+    @Transactional
+    public void applyResultChange(TeamMatch match,
+                                  List<TeamMatchTeam> teams,
+                                  List<TeamMatchTeamPlayer> players,
+                                  MatchResultChangeSet changes) {
+        if (!changes.hasStatChanges()
+                && changes.wasFinished() == changes.finished()
+                && teamMatchSummaryRepository.existsById(match.getId())) {
+            return;
+        }
+        List<TeamMatchPlayerGoalStat> stats = changes.after().stream()
+                .map(s -> TeamMatchPlayerGoalStat.builder()
+                        .userEmail(s.userEmail())
+                        .userId(s.userId())
+                        .goals(s.goals())
+                        .ownGoals(s.ownGoals())
+                        .build())
+                .toList();
+        teamMatchSummaryRepository.save(summarize(match, teams, players, stats));
+    }
+
+    /**
+     * Recalcula el resumen solo si el partido ya tiene uno (cambios de equipos o jugadores antes de registrar
+     * un resultado no generan filas).
+     */
+    @Transactional
+    public void refreshIfPresent(TeamMatch match) {
+        if (teamMatchSummaryRepository.existsById(match.getId())) {
+            write(match);
+        }
+    }
+
+    /**
+     * Genera los resúmenes faltantes de un lote de partidos (backfill).
+     */
+    @Transactional
+    public int backfill(Collection<Long> matchIds) {
+        int written = 0;
+        for (TeamMatch match : teamMatchRepository.findAllById(matchIds)) {
+            write(match);
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Cálculo puro del resumen: el marcador de cada lado suma los goles de sus jugadores más los autogoles del
+     * rival. Los goles de jugadores que no están asignados a ninguno de los dos equipos no cuentan.
+     */
+    static TeamMatchSummary summarize(TeamMatch match,
+                                      List<TeamMatchTeam> teams,
+                                      List<TeamMatchTeamPlayer> players,
+                                      List<TeamMatchPlayerGoalStat> stats) {
+        TeamMatchTeam teamA = teams.size() > 0 ? teams.get(0) : null;
+        TeamMatchTeam teamB = teams.size() > 1 ? teams.get(1) : null;
+
+        TeamMatchSummary summary = TeamMatchSummary.builder()
+                .matchId(match.getId())
+                .teamId(match.getTeam().getId())
+                .matchDateTime(match.getMatchDateTime())
+                .matchAddress(match.getAddress())
+                .finished(match.isFinished())
+                .teamAMatchTeamId(teamA == null ? null : teamA.getId())
+                .teamAName(teamA == null ? null : teamA.getName())
+                .teamAColor(teamA == null ? null : teamA.getColor())
+                .teamBMatchTeamId(teamB == null ? null : teamB.getId())
+                .teamBName(teamB == null ? null : teamB.getName())
+                .teamBColor(teamB == null ? null : teamB.getColor())
+                .build();
+
+        if (teamA == null || teamB == null) {
+            return summary;
+        }
+
+        Map<String, Long> playerTeamByEmail = new HashMap<>();
+        for (TeamMatchTeamPlayer p : players) {
+            playerTeamByEmail.put(normalizeEmail(p.getUserEmail()), p.getMatchTeam().getId());
+        }
+
+        int goalsAPlayers = 0;
+        int goalsBPlayers = 0;
+        int ownGoalsA = 0;
+        int ownGoalsB = 0;
+
+        for (TeamMatchPlayerGoalStat s : stats) {
+            Long matchTeamId = playerTeamByEmail.get(normalizeEmail(s.getUserEmail()));
+            if (matchTeamId == null) {
+                continue;
+            }
+
+            if (matchTeamId.equals(teamA.getId())) {
+                goalsAPlayers += s.getGoals();
+                ownGoalsA += s.getOwnGoals();
+            } else if (matchTeamId.equals(teamB.getId())) {
+                goalsBPlayers += s.getGoals();
+                ownGoalsB += s.getOwnGoals();
+            }
+        }
+
+        int goalsA = goalsAPlayers + ownGoalsB;
+        int goalsB = goalsBPlayers + ownGoalsA;
+
+        summary.setTeamAGoals(goalsA);
+        summary.setTeamAOwnGoals(ownGoalsA);
+        summary.setTeamBGoals(goalsB);
+        summary.setTeamBOwnGoals(ownGoalsB);
+
+        if (goalsA > goalsB) {
+            summary.setWinnerMatchTeamId(teamA.getId());
+        } else if (goalsB > goalsA) {
+            summary.setWinnerMatchTeamId(teamB.getId());
+        }
+        return summary;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
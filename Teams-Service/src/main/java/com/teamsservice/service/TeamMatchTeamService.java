@@ -37,19 +37,15 @@ public class TeamMatchTeamService {
     private final TeamMatchTeamRepository teamMatchTeamRepository;
     private final TeamMatchTeamPlayerRepository teamMatchTeamPlayerRepository;
     private final AuthServiceClient authServiceClient;
+    private final TeamMatchSummaryService teamMatchSummaryService;
 
     @Transactional
     public TeamMatchTeamResponse createMatchTeam(Long teamId, Long matchId, TeamMatchTeamCreateRequest request, Long currentUserId) {
         TeamMatch match = getMatchOrThrow(teamId, matchId);
         assertOwner(match.getTeam(), currentUserId);
 
-        TeamMatchTeam team = TeamMatchTeam.builder()
-                .match(match)
-                .name(request.getName().trim())
-                .color(request.getColor().trim())
-                .build();
-
-        team = teamMatchTeamRepository.save(team);
+        TeamMatchTeam team = teamMatchTeamRepository.save(buildMatchTeam(match, request));
+        teamMatchSummaryService.refreshIfPresent(match);
         return mapToResponse(team, Collections.emptyList());
     }
 
@@ -77,11 +73,16 @@ public class TeamMatchTeamService {
         TeamMatch match = getMatchOrThrow(teamId, matchId);
         assertOwner(match.getTeam(), currentUserId);
 
-        List<TeamMatchTeamResponse> created = new ArrayList<>();
-        for (TeamMatchTeamCreateRequest req : teams) {
-            created.add(createMatchTeam(teamId, matchId, req, currentUserId));
-        }
-        return created;
+        // Un solo flush con los INSERT en lote y un solo refresco del resumen para todos los equipos
+        List<TeamMatchTeam> toCreate = teams.stream()
+                .map(req -> buildMatchTeam(match, req))
+                .collect(Collectors.toList());
+        List<TeamMatchTeam> saved = teamMatchTeamRepository.saveAllAndFlush(toCreate);
+        teamMatchSummaryService.refreshIfPresent(match);
+
+        return saved.stream()
+                .map(team -> mapToResponse(team, Collections.emptyList()))
+                .collect(Collectors.toList());
     }
 
     @Transactional
@@ -99,6 +100,7 @@ public class TeamMatchTeamService {
         team.setName(request.getName().trim());
         team.setColor(request.getColor().trim());
         team = teamMatchTeamRepository.save(team);
+        teamMatchSummaryService.refreshIfPresent(match);
 
         List<TeamMatchTeamPlayer> players = teamMatchTeamPlayerRepository.findByMatchTeamIdOrderByIdAsc(matchTeamId);
         return mapToResponse(team, players);
@@ -117,9 +119,9 @@ public class TeamMatchTeamService {
         }
 
         // Delete players first to avoid FK issues
-        List<TeamMatchTeamPlayer> players = teamMatchTeamPlayerRepository.findByMatchTeamIdOrderByIdAsc(matchTeamId);
-        teamMatchTeamPlayerRepository.deleteAll(players);
+        teamMatchTeamPlayerRepository.bulkDeleteByMatchTeamId(matchTeamId);
         teamMatchTeamRepository.delete(team);
+        teamMatchSummaryService.refreshIfPresent(match);
     }
 
     @Transactional
@@ -184,6 +186,7 @@ public class TeamMatchTeamService {
 
             teamMatchTeamPlayerRepository.save(player);
         }
+        teamMatchSummaryService.refreshIfPresent(match);
 
         List<TeamMatchTeamPlayer> players = teamMatchTeamPlayerRepository.findByMatchTeamIdOrderByIdAsc(matchTeamId);
         return mapToResponse(team, players);
@@ -207,11 +210,20 @@ public class TeamMatchTeamService {
 
         teamMatchTeamPlayerRepository.findByMatchTeamIdAndUserId(matchTeamId, targetUserId)
                 .ifPresent(teamMatchTeamPlayerRepository::delete);
+        teamMatchSummaryService.refreshIfPresent(match);
 
         List<TeamMatchTeamPlayer> players = teamMatchTeamPlayerRepository.findByMatchTeamIdOrderByIdAsc(matchTeamId);
         return mapToResponse(team, players);
     }
 
+    private TeamMatchTeam buildMatchTeam(TeamMatch match, TeamMatchTeamCreateRequest request) {
+        return TeamMatchTeam.builder()
+                .match(match)
+                .name(request.getName().trim())
+                .color(request.getColor().trim())
+                .build();
+    }
+
     private TeamMatch getMatchOrThrow(Long teamId, Long matchId) {
         TeamMatch match = teamMatchRepository.findById(matchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + matchId));
@@ -0,0 +1,40 @@
+package com.teamsservice.service;
+
+import com.teamsservice.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reparación del contador de miembros aprobados de cada equipo a partir de team_members.
+ *
+ * Solo corre al arrancar con {@code --repair-member-counts} y recalcula todos los equipos (por ejemplo después de
+ * corregir membresías a mano en la base). La inicialización de los contadores previos a la columna la hace la
+ * migración V5.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class TeamMemberCountRepair implements ApplicationRunner {
+
+    static final String REPAIR_OPTION = "repair-member-counts";
+
+    private final TeamRepository teamRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(REPAIR_OPTION)) {
+            return;
+        }
+        try {
+            int teams = teamRepository.recomputeApprovedMemberCounts();
+            log.info("Approved member counters recomputed for {} teams", teams);
+        } catch (Exception e) {
+            log.warn("Approved member counter repair failed: {}", e.getMessage());
+        }
+    }
+}
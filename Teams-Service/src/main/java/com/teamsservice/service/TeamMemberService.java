@@ -9,6 +9,8 @@ import com.teamsservice.entity.TeamStatus;
 import com.teamsservice.exception.DuplicateResourceException;
 import com.teamsservice.exception.ResourceNotFoundException;
 import com.teamsservice.exception.UnauthorizedException;
+import com.teamsservice.repository.TeamMatchAttendanceRepository;
+import com.teamsservice.repository.TeamMatchRepository;
 import com.teamsservice.repository.TeamMemberRepository;
 import com.teamsservice.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +29,10 @@ public class TeamMemberService {
 
     private final TeamMemberRepository teamMemberRepository;
     private final TeamRepository teamRepository;
+    private final TeamMatchRepository teamMatchRepository;
+    private final TeamMatchAttendanceRepository teamMatchAttendanceRepository;
     private final AuthServiceClient authServiceClient;
+    private final UserAccessIndex userAccessIndex;
 
     /**
      * Solicitar unirse a un equipo usando el código de unión
@@ -121,19 +126,65 @@ public class TeamMemberService {
             throw new IllegalArgumentException("Membership request is not pending");
         }
 
-        // Actualizar estado
-        teamMember.setStatus(request.getApproved() 
-                ? TeamMember.MembershipStatus.APPROVED 
-                : TeamMember.MembershipStatus.REJECTED);
-        teamMember.setApprovedBy(userId);
-        teamMember.setApprovedAt(LocalDateTime.now());
+        // Actualizar estado de forma condicional: si otra petición la resolvió primero no se vuelve a contar
+        TeamMember.MembershipStatus newStatus = request.getApproved()
+                ? TeamMember.MembershipStatus.APPROVED
+                : TeamMember.MembershipStatus.REJECTED;
+        if (teamMemberRepository.resolvePending(memberId, newStatus, userId, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Membership request is not pending");
+        }
+        teamMember = teamMemberRepository.findById(memberId)
+                .orElseThrow(() -> new ResourceNotFoundException("Membership request not found with id: " + memberId));
 
-        teamMember = teamMemberRepository.save(teamMember);
+        if (newStatus == TeamMember.MembershipStatus.APPROVED) {
+            teamRepository.addApprovedMembers(teamId, 1);
+            userAccessIndex.invalidateUser(teamMember.getUserId(), teamMember.getUserEmail());
+        }
         log.info("Membership {} {}", memberId, teamMember.getStatus());
 
         return mapToResponse(teamMember);
     }
 
+    /**
+     * Eliminar una membresía: el owner puede sacar a cualquier miembro y cada usuario puede salir por su cuenta.
+     * El dueño no puede eliminar su propia membresía.
+     */
+    @Transactional
+    public void removeMember(Long teamId, Long memberId, Long userId) {
+        log.info("User {} removing membership {} from team {}", userId, memberId, teamId);
+
+        Team team = teamRepository.findByIdAndStatus(teamId, TeamStatus.ACTIVE)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + teamId));
+
+        TeamMember teamMember = teamMemberRepository.findById(memberId)
+                .orElseThrow(() -> new ResourceNotFoundException("Membership not found with id: " + memberId));
+
+        if (!teamMember.getTeam().getId().equals(teamId)) {
+            throw new IllegalArgumentException("Membership does not belong to this team");
+        }
+
+        boolean isOwner = team.getOwnerUserId().equals(userId);
+        if (!isOwner && !teamMember.getUserId().equals(userId)) {
+            throw new UnauthorizedException("Only team owner can remove other members");
+        }
+        if (teamMember.getUserId().equals(team.getOwnerUserId())) {
+            throw new IllegalArgumentException("The team owner cannot be removed from the team");
+        }
+
+        // Si dos peticiones eliminan la misma membresía, solo la que borró la fila descuenta
+        if (teamMemberRepository.deleteByIdReturningCount(memberId) == 0) {
+            throw new ResourceNotFoundException("Membership not found with id: " + memberId);
+        }
+        if (teamMember.getStatus() == TeamMember.MembershipStatus.APPROVED) {
+            teamRepository.addApprovedMembers(teamId, -1);
+            // Sus respuestas a partidos por jugar dejan de contar (los pendientes salen de aprobados - respuestas)
+            teamMatchRepository.subtractMemberAttendance(teamId, teamMember.getUserId());
+            teamMatchAttendanceRepository.deleteOpenMatchAttendance(teamId, teamMember.getUserId());
+            userAccessIndex.invalidateUser(teamMember.getUserId(), teamMember.getUserEmail());
+        }
+        log.info("Membership {} removed from team {}", memberId, teamId);
+    }
+
     /**
      * Obtener todos los miembros aprobados de un equipo
      */
@@ -180,7 +231,12 @@ public class TeamMemberService {
      * Contar miembros aprobados de un equipo
      */
     public long countApprovedMembers(Long teamId) {
-        return teamMemberRepository.countByTeamIdAndStatus(teamId, TeamMember.MembershipStatus.APPROVED);
+        Integer counter = teamRepository.findById(teamId)
+                .map(Team::getApprovedMemberCount)
+                .orElse(null);
+        return counter != null
+                ? counter
+                : teamMemberRepository.countByTeamIdAndStatus(teamId, TeamMember.MembershipStatus.APPROVED);
     }
 
     /**
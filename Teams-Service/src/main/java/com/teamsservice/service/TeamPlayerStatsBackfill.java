@@ -0,0 +1,46 @@
+package com.teamsservice.service;
+
+import com.teamsservice.repository.TeamMatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconstrucción de los acumulados mensuales por jugador.
+ *
+ * Solo corre al arrancar con {@code --rebuild-player-stats} y reconstruye todos los equipos: hay que pasarla una vez
+ * al desplegar los acumulados sobre una base con partidos terminados, o después de corregir estadísticas a mano.
+ * Sin la opción no consulta nada.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class TeamPlayerStatsBackfill implements ApplicationRunner {
+
+    static final String REBUILD_OPTION = "rebuild-player-stats";
+
+    private final TeamMatchRepository teamMatchRepository;
+    private final TeamPlayerStatsService teamPlayerStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(REBUILD_OPTION)) {
+            return;
+        }
+        try {
+            int teams = 0;
+            int rows = 0;
+            for (Long teamId : teamMatchRepository.findTeamIdsWithFinishedMatches()) {
+                rows += teamPlayerStatsService.rebuildTeam(teamId);
+                teams++;
+            }
+            log.info("Player stats rebuild finished: {} teams, {} monthly rows", teams, rows);
+        } catch (Exception e) {
+            log.warn("Player stats rebuild failed: {}", e.getMessage());
+        }
+    }
+}
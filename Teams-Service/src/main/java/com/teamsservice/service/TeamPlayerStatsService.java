@@ -0,0 +1,114 @@
+package com.teamsservice.service;
+
+import com.teamsservice.entity.TeamMatch;
+import com.teamsservice.repository.TeamPlayerMonthlyStatRepository;
+import com.teamsservice.repository.TeamPlayerStatTotalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mantiene los acumulados mensuales por jugador ({@code team_player_monthly_stats}) y el total histórico
+ * ({@code team_player_stat_totals}) con las mismas diferencias.
+ *
+ * Un partido aporta sus estadísticas solo si está finalizado. Al cambiar el resultado se resta el aporte anterior
+ * y se suma el nuevo; únicamente se escriben los jugadores cuya diferencia no es cero. Si el partido sigue
+ * finalizado solo se miran las filas del {@link MatchResultChangeSet} que cambiaron.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TeamPlayerStatsService {
+
+    private final TeamPlayerMonthlyStatRepository monthlyStatRepository;
+    private final TeamPlayerStatTotalRepository statTotalRepository;
+
+    private static final class Delta {
+        private Long userId;
+        private int goals;
+        private int ownGoals;
+        private int matches;
+
+        private boolean isZero() {
+            return goals == 0 && ownGoals == 0 && matches == 0;
+        }
+    }
+
+    /**
+     * Aplica la diferencia entre el aporte anterior y el nuevo de un partido. Debe ejecutarse en la transacción
+     * que escribe las estadísticas del partido y con la fila del partido bloqueada
+     * ({@code TeamMatchRepository.findByIdForUpdate}) desde antes de leer el estado anterior: dos cambios calculados
+     * sobre el mismo "antes" sumarían el aporte dos veces.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyResultChange(TeamMatch match, MatchResultChangeSet changes) {
+        boolean stillFinished = changes.wasFinished() && changes.finished();
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        if (changes.wasFinished()) {
+            accumulate(deltas, stillFinished ? changes.changedBefore() : changes.before(), -1);
+        }
+        if (changes.finished()) {
+            accumulate(deltas, stillFinished ? changes.changedAfter() : changes.after(), 1);
+        }
+
+        Long teamId = match.getTeam().getId();
+        LocalDateTime dateTime = match.getMatchDateTime();
+        int year = dateTime.getYear();
+        int month = dateTime.getMonthValue();
+
+        boolean removed = false;
+        for (Map.Entry<String, Delta> e : deltas.entrySet()) {
+            Delta d = e.getValue();
+            if (d.isZero()) {
+                continue;
+            }
+            monthlyStatRepository.addDelta(teamId, e.getKey(), d.userId, year, month, d.goals, d.ownGoals, d.matches);
+            statTotalRepository.addDelta(teamId, e.getKey(), d.userId, d.goals, d.ownGoals, d.matches);
+            removed |= d.matches < 0;
+        }
+        if (removed) {
+            monthlyStatRepository.deleteEmptyRows(teamId, year, month);
+            statTotalRepository.deleteEmptyRows(teamId);
+        }
+    }
+
+    /**
+     * Reconstruye los acumulados de un equipo desde las estadísticas por partido.
+     */
+    @Transactional
+    public int rebuildTeam(Long teamId) {
+        monthlyStatRepository.deleteByTeamId(teamId);
+        statTotalRepository.deleteByTeamId(teamId);
+        int rows = monthlyStatRepository.insertFromGoalStats(teamId);
+        statTotalRepository.insertFromMonthlyStats(teamId);
+        return rows;
+    }
+
+    private static void accumulate(Map<String, Delta> deltas, List<MatchResultChangeSet.PlayerGoals> stats, int sign) {
+        for (MatchResultChangeSet.PlayerGoals s : stats) {
+            String email = normalizeEmail(s.userEmail());
+            if (email == null || email.isBlank()) {
+                continue;
+            }
+            Delta d = deltas.computeIfAbsent(email, k -> new Delta());
+            d.goals += sign * s.goals();
+            d.ownGoals += sign * s.ownGoals();
+            d.matches += sign;
+            if (s.userId() != null) {
+                d.userId = s.userId();
+            }
+        }
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
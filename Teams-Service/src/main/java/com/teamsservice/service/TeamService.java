@@ -26,6 +26,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +40,7 @@ public class TeamService {
     private final TeamMapper teamMapper;
     private final JoinCodeGeneratorService joinCodeGeneratorService;
     private final TeamMemberRepository teamMemberRepository;
+    private final UserAccessIndex userAccessIndex;
 
     @Transactional
     public TeamResponse createTeam(TeamCreateRequest request, MultipartFile logo, Long userId, String userEmail) throws IOException {
@@ -64,6 +66,8 @@ public class TeamService {
                 .ownerUserId(userId)
                 .ownerEmail(userEmail)
                 .status(TeamStatus.ACTIVE)
+                // El dueño entra como miembro aprobado en esta misma transacción
+                .approvedMemberCount(1)
                 .build();
 
         // Save team first to get the ID
@@ -88,6 +92,7 @@ public class TeamService {
                 .approvedBy(userId) // El dueño se auto-aprueba
                 .build();
         teamMemberRepository.save(ownerMember);
+        userAccessIndex.invalidateUser(userId, userEmail);
         log.info("Owner {} added as approved member of team {}", userId, team.getId());
 
         // Publish event to RabbitMQ
@@ -129,14 +134,25 @@ public class TeamService {
         Page<Team> teamsPage = teamRepository.findByOwnerUserIdAndStatus(userId, TeamStatus.ACTIVE, pageable);
 
         List<TeamResponse> content = teamsPage.getContent().stream()
-                .map(team -> {
-                    TeamResponse response = teamMapper.toResponse(team);
-                    response.setMemberCount((int) teamMemberRepository
-                            .countByTeamIdAndStatus(team.getId(), TeamMember.MembershipStatus.APPROVED));
-                    return response;
-                })
+                .map(teamMapper::toResponse)
                 .collect(Collectors.toList());
 
+        // El conteo sale del contador del equipo; los que aún no lo tienen se cuentan juntos en una sola consulta
+        List<Long> missingCounts = teamsPage.getContent().stream()
+                .filter(team -> team.getApprovedMemberCount() == null)
+                .map(Team::getId)
+                .collect(Collectors.toList());
+        if (!missingCounts.isEmpty()) {
+            Map<Long, Long> counts = teamMemberRepository.countApprovedByTeamIds(missingCounts).stream()
+                    .collect(Collectors.toMap(TeamMemberRepository.TeamMemberCountRow::getTeamId,
+                            TeamMemberRepository.TeamMemberCountRow::getTotal));
+            for (TeamResponse response : content) {
+                if (response.getMemberCount() == null) {
+                    response.setMemberCount(counts.getOrDefault(response.getId(), 0L).intValue());
+                }
+            }
+        }
+
         return PageResponse.<TeamResponse>builder()
                 .content(content)
                 .page(teamsPage.getNumber())
@@ -206,6 +222,7 @@ public class TeamService {
         team.setStatus(TeamStatus.DELETED);
         team.setDeletedAt(LocalDateTime.now());
         teamRepository.save(team);
+        teamRepository.resetApprovedMembers(teamId);
 
         // Publish event to RabbitMQ
         TeamEventDto event = TeamEventDto.builder()
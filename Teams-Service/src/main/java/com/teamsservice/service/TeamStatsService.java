@@ -8,9 +8,9 @@ import com.teamsservice.exception.UnauthorizedException;
 import com.teamsservice.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,10 +27,10 @@ public class TeamStatsService {
     private final TeamRepository teamRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final TeamMatchRepository teamMatchRepository;
-    private final TeamMatchTeamRepository teamMatchTeamRepository;
-    private final TeamMatchTeamPlayerRepository teamMatchTeamPlayerRepository;
-    private final TeamMatchPlayerGoalStatRepository teamMatchPlayerGoalStatRepository;
+    private final TeamPlayerMonthlyStatRepository teamPlayerMonthlyStatRepository;
+    private final TeamMatchSummaryRepository teamMatchSummaryRepository;
     private final AuthServiceClient authServiceClient;
+    private final UserAccessIndex userAccessIndex;
 
     @Transactional(readOnly = true)
     public List<StatsTeamAccessResponse> getAccessibleTeams(Long userId) {
@@ -79,12 +79,18 @@ public class TeamStatsService {
         return teamMatchRepository.findFinishedMonths(teamId, year);
     }
 
+    /**
+     * Historial de partidos finalizados del período. Con cursor (el {@code nextCursor} de la respuesta anterior)
+     * continúa por keyset e ignora {@code page}; con {@code includeTotal=false} los totales vienen en -1.
+     */
     @Transactional(readOnly = true)
     public StatsMatchesPageResponse getFinishedMatchSummaries(Long teamId,
                                                              int year,
                                                              Integer month,
                                                              int page,
                                                              int size,
+                                                             String cursor,
+                                                             boolean includeTotal,
                                                              Long currentUserId,
                                                              String currentUserEmail) {
         Team team = getTeamOrThrow(teamId);
@@ -93,21 +99,45 @@ public class TeamStatsService {
         int safePage = Math.max(0, page);
         int safeSize = Math.max(1, Math.min(size, 50));
 
-        Pageable pageable = PageRequest.of(safePage, safeSize, Sort.by(Sort.Direction.DESC, "matchDateTime"));
-
-        Page<TeamMatch> matches = teamMatchRepository.findFinishedMatches(teamId, year, month, pageable);
+        LocalDateTime from = periodStart(year, month);
+        LocalDateTime to = periodEnd(from, month);
+
+        List<TeamMatchSummary> matches;
+        boolean last;
+        if (cursor != null && !cursor.isBlank()) {
+            MatchCursor after = MatchCursor.decode(cursor);
+            matches = teamMatchSummaryRepository.findFinishedInPeriodAfterCursor(
+                    teamId, from, to, after.getMatchDateTime(), after.getId(), PageRequest.of(0, safeSize + 1));
+            last = matches.size() <= safeSize;
+            if (!last) {
+                matches = matches.subList(0, safeSize);
+            }
+            safePage = 0;
+        } else {
+            Pageable pageable = PageRequest.of(safePage, safeSize,
+                    Sort.by(Sort.Direction.DESC, "matchDateTime").and(Sort.by(Sort.Direction.DESC, "matchId")));
+            Slice<TeamMatchSummary> slice = teamMatchSummaryRepository.findFinishedInPeriod(teamId, from, to, pageable);
+            matches = slice.getContent();
+            last = !slice.hasNext();
+        }
 
-        List<StatsMatchSummaryResponse> content = matches.getContent().stream()
-                .map(this::buildMatchSummary)
+        List<StatsMatchSummaryResponse> content = matches.stream()
+                .map(this::toMatchSummaryResponse)
                 .collect(Collectors.toList());
 
+        long totalElements = includeTotal ? teamMatchSummaryRepository.countFinishedInPeriod(teamId, from, to) : -1;
+        TeamMatchSummary lastMatch = matches.isEmpty() ? null : matches.get(matches.size() - 1);
+
         return StatsMatchesPageResponse.builder()
                 .content(content)
-                .page(matches.getNumber())
-                .size(matches.getSize())
-                .totalElements(matches.getTotalElements())
-                .totalPages(matches.getTotalPages())
-                .last(matches.isLast())
+                .page(safePage)
+                .size(safeSize)
+                .totalElements(totalElements)
+                .totalPages(includeTotal ? (int) ((totalElements + safeSize - 1) / safeSize) : -1)
+                .last(last)
+                .nextCursor(last || lastMatch == null
+                        ? null
+                        : MatchCursor.encode(lastMatch.getMatchDateTime(), lastMatch.getMatchId()))
                 .build();
     }
 
@@ -125,11 +155,8 @@ public class TeamStatsService {
 
         Map<String, UserInfoDto> userInfoCache = new HashMap<>();
 
-        return teamMatchPlayerGoalStatRepository.aggregateByTeamFinishedInPeriod(teamId, year, month).stream()
-                .sorted(Comparator.comparingLong(TeamMatchPlayerGoalStatRepository.PlayerAggRow::getTotalGoals)
-                        .reversed()
-                        .thenComparingLong(TeamMatchPlayerGoalStatRepository.PlayerAggRow::getTotalOwnGoals))
-                .limit(safeLimit)
+        return teamPlayerMonthlyStatRepository.findTopByTeamInPeriod(teamId, year, month, PageRequest.of(0, safeLimit))
+                .stream()
                 .map(row -> {
                     UserInfoDto userInfo = null;
                     try {
@@ -160,18 +187,16 @@ public class TeamStatsService {
         Team team = getTeamOrThrow(teamId);
         assertMemberOrOwner(team, teamId, currentUserId, currentUserEmail);
 
-        // Load all matches for the period (bounded). If you need more, paginate and aggregate in frontend.
-        List<TeamMatch> matches = teamMatchRepository.findFinishedMatches(teamId, year, month);
+        LocalDateTime from = periodStart(year, month);
+        List<TeamMatchSummary> matches = teamMatchSummaryRepository.findFinishedWithWinnerInPeriod(
+                teamId, from, periodEnd(from, month));
 
         Map<String, Long> winsByKey = new HashMap<>();
         Map<String, StatsMatchTeamScoreResponse> teamByKey = new HashMap<>();
 
-        for (TeamMatch match : matches) {
-            StatsMatchSummaryResponse summary = buildMatchSummary(match);
+        for (TeamMatchSummary match : matches) {
+            StatsMatchSummaryResponse summary = toMatchSummaryResponse(match);
             Long winnerId = summary.getWinnerMatchTeamId();
-            if (winnerId == null) {
-                continue;
-            }
 
             StatsMatchTeamScoreResponse winner = null;
             if (summary.getTeamA() != null && winnerId.equals(summary.getTeamA().getMatchTeamId())) {
@@ -202,76 +227,42 @@ public class TeamStatsService {
                 .collect(Collectors.toList());
     }
 
-    private StatsMatchSummaryResponse buildMatchSummary(TeamMatch match) {
-        List<TeamMatchTeam> teams = teamMatchTeamRepository.findByMatchIdOrderByIdAsc(match.getId());
-        StatsMatchTeamScoreResponse teamA = teams.size() > 0 ? StatsMatchTeamScoreResponse.builder()
-                .matchTeamId(teams.get(0).getId())
-                .name(teams.get(0).getName())
-                .color(teams.get(0).getColor())
-                .goals(0)
-                .build() : null;
-
-        StatsMatchTeamScoreResponse teamB = teams.size() > 1 ? StatsMatchTeamScoreResponse.builder()
-                .matchTeamId(teams.get(1).getId())
-                .name(teams.get(1).getName())
-                .color(teams.get(1).getColor())
-                .goals(0)
-                .build() : null;
-
-        Long winnerId = null;
-
-        if (teamA != null && teamB != null) {
-            Map<String, Long> playerTeamByEmail = teamMatchTeamPlayerRepository.findByMatchTeamMatchId(match.getId())
-                    .stream()
-                    .collect(Collectors.toMap(
-                            p -> normalizeEmail(p.getUserEmail()),
-                            p -> p.getMatchTeam().getId(),
-                            (a, b) -> b
-                    ));
-
-            int goalsAPlayers = 0;
-            int goalsBPlayers = 0;
-            int ownGoalsA = 0;
-            int ownGoalsB = 0;
-
-            for (TeamMatchPlayerGoalStat s : teamMatchPlayerGoalStatRepository.findByMatchId(match.getId())) {
-                Long matchTeamId = playerTeamByEmail.get(normalizeEmail(s.getUserEmail()));
-                if (matchTeamId == null) {
-                    continue;
-                }
-
-                if (matchTeamId.equals(teamA.getMatchTeamId())) {
-                    goalsAPlayers += s.getGoals();
-                    ownGoalsA += s.getOwnGoals();
-                } else if (matchTeamId.equals(teamB.getMatchTeamId())) {
-                    goalsBPlayers += s.getGoals();
-                    ownGoalsB += s.getOwnGoals();
-                }
-            }
-
-            int goalsA = goalsAPlayers + ownGoalsB;
-            int goalsB = goalsBPlayers + ownGoalsA;
-
-            teamA.setGoals(goalsA);
-            teamB.setGoals(goalsB);
+    private StatsMatchSummaryResponse toMatchSummaryResponse(TeamMatchSummary summary) {
+        StatsMatchTeamScoreResponse teamA = summary.getTeamAMatchTeamId() == null ? null : StatsMatchTeamScoreResponse.builder()
+                .matchTeamId(summary.getTeamAMatchTeamId())
+                .name(summary.getTeamAName())
+                .color(summary.getTeamAColor())
+                .goals(summary.getTeamAGoals())
+                .build();
 
-            if (goalsA > goalsB) {
-                winnerId = teamA.getMatchTeamId();
-            } else if (goalsB > goalsA) {
-                winnerId = teamB.getMatchTeamId();
-            }
-        }
+        StatsMatchTeamScoreResponse teamB = summary.getTeamBMatchTeamId() == null ? null : StatsMatchTeamScoreResponse.builder()
+                .matchTeamId(summary.getTeamBMatchTeamId())
+                .name(summary.getTeamBName())
+                .color(summary.getTeamBColor())
+                .goals(summary.getTeamBGoals())
+                .build();
 
         return StatsMatchSummaryResponse.builder()
-                .matchId(match.getId())
-                .matchDateTime(match.getMatchDateTime())
-                .matchAddress(match.getAddress())
+                .matchId(summary.getMatchId())
+                .matchDateTime(summary.getMatchDateTime())
+                .matchAddress(summary.getMatchAddress())
                 .teamA(teamA)
                 .teamB(teamB)
-                .winnerMatchTeamId(winnerId)
+                .winnerMatchTeamId(summary.getWinnerMatchTeamId())
                 .build();
     }
 
+    private LocalDateTime periodStart(int year, Integer month) {
+        if (month != null && (month < 1 || month > 12)) {
+            throw new IllegalArgumentException("month must be between 1 and 12");
+        }
+        return LocalDateTime.of(year, month == null ? 1 : month, 1, 0, 0);
+    }
+
+    private LocalDateTime periodEnd(LocalDateTime start, Integer month) {
+        return month == null ? start.plusYears(1) : start.plusMonths(1);
+    }
+
     private Team getTeamOrThrow(Long teamId) {
         return teamRepository.findByIdAndStatus(teamId, TeamStatus.ACTIVE)
                 .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + teamId));
@@ -281,29 +272,12 @@ public class TeamStatsService {
         if (currentUserId != null && team.getOwnerUserId().equals(currentUserId)) {
             return;
         }
-        // Allow access only to the owner or to APPROVED members
-        boolean isApproved = false;
-
-        if (currentUserId != null && currentUserId != 0) {
-            isApproved = teamMemberRepository.findByTeamIdAndUserId(teamId, currentUserId)
-                    .map(tm -> tm.getStatus() == TeamMember.MembershipStatus.APPROVED)
-                    .orElse(false);
-        }
-
-        if (!isApproved && currentUserEmail != null && !currentUserEmail.isBlank()) {
-            isApproved = teamMemberRepository.existsByTeamIdAndUserEmailAndStatus(
-                    teamId, normalizeEmail(currentUserEmail), TeamMember.MembershipStatus.APPROVED);
-        }
-
-        if (!isApproved) {
+        // Allow access only to the owner or to APPROVED members (índice de acceso en memoria)
+        if (!userAccessIndex.isApprovedTeamMember(teamId, currentUserId, currentUserEmail)) {
             throw new UnauthorizedException("You are not an approved member of this team");
         }
     }
 
-    private String normalizeEmail(String email) {
-        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
-    }
-
     private String normalizeKey(String name, String color) {
         String n = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
         String c = color == null ? "" : color.trim().toLowerCase(Locale.ROOT);
@@ -0,0 +1,226 @@
+package com.teamsservice.service;
+
+import com.teamsservice.config.AccessCacheProperties;
+import com.teamsservice.entity.PollaParticipante;
+import com.teamsservice.repository.PollaParticipanteRepository;
+import com.teamsservice.repository.PollaRepository;
+import com.teamsservice.repository.TeamMemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice de acceso por usuario: equipos donde es miembro aprobado y pollas que creó o en las que participa.
+ *
+ * Se arma con una consulta por tipo la primera vez que el usuario pasa por un chequeo y queda en memoria por un TTL
+ * corto, así los endpoints que se consultan en bucle (marcador, ranking, estadísticas) autorizan sin ir a Postgres.
+ * Los servicios que cambian membresías o participaciones invalidan el índice del usuario afectado; el dueño del
+ * equipo y el creador con la polla ya cargada se siguen resolviendo en memoria por quien llama.
+ *
+ * El índice se carga siempre del primario, en una transacción propia de escritura: quien llama suele estar en una
+ * transacción readOnly enrutada a una réplica, y un índice leído de una réplica atrasada quedaría guardado todo el
+ * TTL (por ejemplo, sin la membresía que el owner acaba de aprobar).
+ */
+@Service
+@Slf4j
+public class UserAccessIndex {
+
+    private final TeamMemberRepository teamMemberRepository;
+    private final PollaRepository pollaRepository;
+    private final PollaParticipanteRepository participanteRepository;
+    private final AccessCacheProperties properties;
+    private final TransactionTemplate primaryTx;
+
+    private final ConcurrentMap<String, TeamAccess> teamAccess = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PollaAccess> pollaAccess = new ConcurrentHashMap<>();
+
+    /** Avanza con cada invalidación; un índice leído antes de una invalidación no se guarda */
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserAccessIndex(TeamMemberRepository teamMemberRepository,
+                           PollaRepository pollaRepository,
+                           PollaParticipanteRepository participanteRepository,
+                           AccessCacheProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.teamMemberRepository = teamMemberRepository;
+        this.pollaRepository = pollaRepository;
+        this.participanteRepository = participanteRepository;
+        this.properties = properties;
+        // Transacción nueva y no readOnly: ReplicaRoutingDataSource la envía al primario
+        this.primaryTx = new TransactionTemplate(transactionManager);
+        this.primaryTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Miembro APPROVED del equipo, por id de usuario (si es real, no el 0 de OAuth) o por email sin distinguir mayúsculas.
+     */
+    public boolean isApprovedTeamMember(Long teamId, Long userId, String userEmail) {
+        return teamAccess(userId, userEmail).teamIds.contains(teamId);
+    }
+
+    /**
+     * Creador de la polla, por email sin distinguir mayúsculas.
+     */
+    public boolean isPollaCreator(Long pollaId, String userEmail) {
+        return userEmail != null && pollaAccess(userEmail).createdIds.contains(pollaId);
+    }
+
+    /**
+     * Figura como participante de la polla en cualquier estado (invitado, aceptado o rechazado).
+     */
+    public boolean isPollaParticipant(Long pollaId, String userEmail) {
+        return userEmail != null && pollaAccess(userEmail).participaciones.containsKey(pollaId);
+    }
+
+    public boolean isPollaParticipantAceptado(Long pollaId, String userEmail) {
+        return userEmail != null
+                && pollaAccess(userEmail).participaciones.get(pollaId) == PollaParticipante.EstadoParticipante.ACEPTADO;
+    }
+
+    /**
+     * Descarta el índice del usuario ahora y, si hay una transacción en curso, otra vez al confirmarla (para que
+     * una lectura concurrente no vuelva a guardar el estado anterior al cambio).
+     */
+    public void invalidateUser(Long userId, String userEmail) {
+        invalidateNow(userId, userEmail);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(userId, userEmail);
+                }
+            });
+        }
+    }
+
+    private void invalidateNow(Long userId, String userEmail) {
+        generation.incrementAndGet();
+        Long effectiveUserId = effectiveUserId(userId);
+        String normalized = normalizeEmail(userEmail);
+        teamAccess.values().removeIf(access -> (effectiveUserId != -1L && access.userId.equals(effectiveUserId))
+                || (!normalized.isEmpty() && access.email.equals(normalized)));
+        if (!normalized.isEmpty()) {
+            pollaAccess.remove(normalized);
+        }
+    }
+
+    private TeamAccess teamAccess(Long userId, String userEmail) {
+        Long effectiveUserId = effectiveUserId(userId);
+        String email = normalizeEmail(userEmail);
+        String key = effectiveUserId + "|" + email;
+
+        TeamAccess cached = properties.isEnabled() ? teamAccess.get(key) : null;
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        long seen = generation.get();
+        Set<Long> teamIds = primaryTx.execute(status ->
+                new HashSet<>(teamMemberRepository.findApprovedTeamIdsByUser(effectiveUserId, email)));
+        TeamAccess loaded = new TeamAccess(effectiveUserId, email, teamIds, expiresAt());
+        if (properties.isEnabled() && generation.get() == seen) {
+            evictIfFull(teamAccess);
+            teamAccess.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private PollaAccess pollaAccess(String userEmail) {
+        // Misma clave que usa invalidateUser, venga el email del token o de la fila del participante
+        String email = normalizeEmail(userEmail);
+        PollaAccess cached = properties.isEnabled() ? pollaAccess.get(email) : null;
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        long seen = generation.get();
+        PollaAccess loaded = primaryTx.execute(status -> {
+            Set<Long> createdIds = new HashSet<>(pollaRepository.findIdsByCreadorEmail(email));
+            Map<Long, PollaParticipante.EstadoParticipante> participaciones = new HashMap<>();
+            for (PollaParticipanteRepository.ParticipacionRow row : participanteRepository.findParticipacionesByEmail(email)) {
+                participaciones.put(row.getPollaId(), row.getEstado());
+            }
+            return new PollaAccess(createdIds, participaciones, expiresAt());
+        });
+        if (properties.isEnabled() && generation.get() == seen) {
+            evictIfFull(pollaAccess);
+            pollaAccess.put(email, loaded);
+        }
+        return loaded;
+    }
+
+    private <T extends Expiring> void evictIfFull(ConcurrentMap<String, T> cache) {
+        if (cache.size() < properties.getMaxEntries()) {
+            return;
+        }
+        cache.values().removeIf(Expiring::isExpired);
+        if (cache.size() >= properties.getMaxEntries()) {
+            log.debug("Access cache full ({} entries), clearing", cache.size());
+            cache.clear();
+        }
+    }
+
+    private long expiresAt() {
+        return System.nanoTime() + properties.getTtl().toNanos();
+    }
+
+    private static Long effectiveUserId(Long userId) {
+        // 0 es el placeholder de tokens OAuth sin userId: nunca debe coincidir con una membresía
+        return userId != null && userId != 0 ? userId : -1L;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private abstract static class Expiring {
+        private final long expiresAtNanos;
+
+        Expiring(long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+
+    private static final class TeamAccess extends Expiring {
+        private final Long userId;
+        private final String email;
+        private final Set<Long> teamIds;
+
+        TeamAccess(Long userId, String email, Set<Long> teamIds, long expiresAtNanos) {
+            super(expiresAtNanos);
+            this.userId = Objects.requireNonNull(userId);
+            this.email = email;
+            this.teamIds = teamIds;
+        }
+    }
+
+    private static final class PollaAccess extends Expiring {
+        private final Set<Long> createdIds;
+        private final Map<Long, PollaParticipante.EstadoParticipante> participaciones;
+
+        PollaAccess(Set<Long> createdIds, Map<Long, PollaParticipante.EstadoParticipante> participaciones,
+                    long expiresAtNanos) {
+            super(expiresAtNanos);
+            this.createdIds = createdIds;
+            this.participaciones = participaciones;
+        }
+    }
+}
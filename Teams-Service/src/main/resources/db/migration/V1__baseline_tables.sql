@@ -0,0 +1,241 @@
+-- Migración V1: esquema base de Teams-Service (tablas, claves y secuencias)
+--
+-- Equivale a lo que generaba ddl-auto=update. Usa IF NOT EXISTS porque la base es compartida con los otros
+-- servicios y las instalaciones existentes ya tienen estas tablas: en ellas la migración no cambia nada y V2
+-- completa las columnas que pudieran faltar. Los índices van en V3, cuando todas las columnas ya existen.
+
+CREATE TABLE IF NOT EXISTS teams (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    logo_path VARCHAR(255),
+    join_code VARCHAR(6) NOT NULL,
+    owner_user_id BIGINT NOT NULL,
+    owner_email VARCHAR(255) NOT NULL,
+    address VARCHAR(500),
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    place_id VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    deleted_at TIMESTAMP(6),
+    approved_member_count INTEGER,
+    CONSTRAINT uk_teams_join_code UNIQUE (join_code)
+);
+
+CREATE TABLE IF NOT EXISTS team_members (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    user_email VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    requested_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    approved_at TIMESTAMP(6),
+    approved_by BIGINT,
+    CONSTRAINT uk_team_members_team_user UNIQUE (team_id, user_id),
+    CONSTRAINT fk_team_members_team FOREIGN KEY (team_id) REFERENCES teams(id)
+);
+
+CREATE TABLE IF NOT EXISTS team_matches (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    address VARCHAR(500),
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    place_id VARCHAR(255),
+    match_datetime TIMESTAMP(6) NOT NULL,
+    finished BOOLEAN NOT NULL DEFAULT false,
+    finished_at TIMESTAMP(6),
+    result_updated_at TIMESTAMP(6),
+    attending_count INTEGER,
+    not_attending_count INTEGER,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_team_matches_team FOREIGN KEY (team_id) REFERENCES teams(id)
+);
+
+CREATE TABLE IF NOT EXISTS team_match_attendance (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    match_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    user_email VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_match_attendance_match FOREIGN KEY (match_id) REFERENCES team_matches(id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS team_match_teams_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS team_match_teams (
+    id BIGINT PRIMARY KEY,
+    match_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    color VARCHAR(30) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_match_team_match FOREIGN KEY (match_id) REFERENCES team_matches(id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS team_match_team_players_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS team_match_team_players (
+    id BIGINT PRIMARY KEY,
+    match_team_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    user_email VARCHAR(255) NOT NULL,
+    position VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_match_team_player_team_user UNIQUE (match_team_id, user_id),
+    CONSTRAINT fk_match_team_player_team FOREIGN KEY (match_team_id) REFERENCES team_match_teams(id)
+);
+
+CREATE TABLE IF NOT EXISTS team_match_player_goal_stats (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    match_id BIGINT NOT NULL,
+    user_id BIGINT,
+    user_email VARCHAR(255) NOT NULL,
+    goals INTEGER NOT NULL,
+    own_goals INTEGER NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_match_player_goal_match_email UNIQUE (match_id, user_email),
+    CONSTRAINT fk_match_player_goal_match FOREIGN KEY (match_id) REFERENCES team_matches(id)
+);
+
+-- Resumen precalculado por partido (sin FK: se reconstruye desde team_matches)
+CREATE TABLE IF NOT EXISTS team_match_summary (
+    match_id BIGINT PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    match_datetime TIMESTAMP(6) NOT NULL,
+    match_address VARCHAR(500),
+    finished BOOLEAN NOT NULL,
+    team_a_match_team_id BIGINT,
+    team_a_name VARCHAR(100),
+    team_a_color VARCHAR(30),
+    team_a_goals INTEGER NOT NULL,
+    team_a_own_goals INTEGER NOT NULL,
+    team_b_match_team_id BIGINT,
+    team_b_name VARCHAR(100),
+    team_b_color VARCHAR(30),
+    team_b_goals INTEGER NOT NULL,
+    team_b_own_goals INTEGER NOT NULL,
+    winner_match_team_id BIGINT,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS team_player_monthly_stats (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    user_email VARCHAR(255) NOT NULL,
+    user_id BIGINT,
+    stat_year INTEGER NOT NULL,
+    stat_month INTEGER NOT NULL,
+    goals INTEGER NOT NULL,
+    own_goals INTEGER NOT NULL,
+    matches_played INTEGER NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_player_monthly_team_email_period UNIQUE (team_id, user_email, stat_year, stat_month)
+);
+
+CREATE TABLE IF NOT EXISTS team_match_notification_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    match_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_recipients INTEGER NOT NULL,
+    enqueued INTEGER NOT NULL,
+    failed INTEGER NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    started_at TIMESTAMP(6),
+    finished_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_match_notification_job_match UNIQUE (match_id)
+);
+
+CREATE TABLE IF NOT EXISTS pollas (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL,
+    descripcion VARCHAR(500),
+    creador_email VARCHAR(255) NOT NULL,
+    fecha_inicio TIMESTAMP(6) NOT NULL,
+    monto_entrada NUMERIC(10, 2) NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    deleted_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS polla_grupos (
+    polla_id BIGINT NOT NULL,
+    team_id BIGINT NOT NULL,
+    CONSTRAINT fk_polla_grupos_polla FOREIGN KEY (polla_id) REFERENCES pollas(id),
+    CONSTRAINT fk_polla_grupos_team FOREIGN KEY (team_id) REFERENCES teams(id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS polla_participantes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS polla_participantes (
+    id BIGINT PRIMARY KEY,
+    polla_id BIGINT NOT NULL,
+    email_usuario VARCHAR(255) NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    fecha_invitacion TIMESTAMP(6) NOT NULL,
+    fecha_respuesta TIMESTAMP(6),
+    CONSTRAINT uk_polla_participantes_polla_email UNIQUE (polla_id, email_usuario),
+    CONSTRAINT fk_polla_participantes_polla FOREIGN KEY (polla_id) REFERENCES pollas(id)
+);
+
+CREATE TABLE IF NOT EXISTS polla_partidos (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    polla_id BIGINT NOT NULL,
+    id_partido_externo VARCHAR(100) NOT NULL,
+    equipo_local VARCHAR(100) NOT NULL,
+    equipo_local_logo VARCHAR(500) NOT NULL,
+    equipo_visitante VARCHAR(100) NOT NULL,
+    equipo_visitante_logo VARCHAR(500) NOT NULL,
+    liga VARCHAR(100) NOT NULL,
+    fecha_hora_partido TIMESTAMP(6) NOT NULL,
+    fecha_limite_pronostico TIMESTAMP(6) NOT NULL,
+    goles_local INTEGER,
+    goles_visitante INTEGER,
+    api_status_short VARCHAR(20),
+    api_status_long VARCHAR(100),
+    last_api_sync_at TIMESTAMP(6),
+    partido_finalizado BOOLEAN,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_polla_partidos_polla_externo UNIQUE (polla_id, id_partido_externo),
+    CONSTRAINT fk_polla_partidos_polla FOREIGN KEY (polla_id) REFERENCES pollas(id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS polla_pronosticos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS polla_pronosticos (
+    id BIGINT PRIMARY KEY,
+    polla_partido_id BIGINT NOT NULL,
+    email_participante VARCHAR(255) NOT NULL,
+    goles_local_pronosticado INTEGER NOT NULL,
+    goles_visitante_pronosticado INTEGER NOT NULL,
+    fecha_registro TIMESTAMP(6) NOT NULL,
+    fecha_actualizacion TIMESTAMP(6),
+    puntos_obtenidos INTEGER,
+    CONSTRAINT uk_polla_pronosticos_partido_email UNIQUE (polla_partido_id, email_participante),
+    CONSTRAINT fk_polla_pronosticos_partido FOREIGN KEY (polla_partido_id) REFERENCES polla_partidos(id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS polla_puntajes_partido_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS polla_puntajes_partido (
+    id BIGINT PRIMARY KEY,
+    polla_partido_id BIGINT NOT NULL,
+    email_participante VARCHAR(255) NOT NULL,
+    puntos INTEGER NOT NULL,
+    definitivo BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uq_puntaje_partido UNIQUE (polla_partido_id, email_participante),
+    CONSTRAINT fk_puntaje_partido_polla_partido FOREIGN KEY (polla_partido_id) REFERENCES polla_partidos(id) ON DELETE CASCADE
+);
@@ -0,0 +1,47 @@
+-- Migración V2: alinea las bases creadas con ddl-auto=update y DatabaseSchemaPatcher
+--
+-- Sobre una base creada por V1 no cambia nada. Reemplaza lo que DatabaseSchemaPatcher hacía en cada arranque.
+
+-- Columnas agregadas después de que muchas bases ya existían
+ALTER TABLE teams ADD COLUMN IF NOT EXISTS approved_member_count INTEGER;
+
+ALTER TABLE team_matches ADD COLUMN IF NOT EXISTS finished BOOLEAN DEFAULT false;
+ALTER TABLE team_matches ADD COLUMN IF NOT EXISTS attending_count INTEGER;
+ALTER TABLE team_matches ADD COLUMN IF NOT EXISTS not_attending_count INTEGER;
+
+ALTER TABLE polla_partidos ADD COLUMN IF NOT EXISTS api_status_short VARCHAR(20);
+ALTER TABLE polla_partidos ADD COLUMN IF NOT EXISTS api_status_long VARCHAR(100);
+ALTER TABLE polla_partidos ADD COLUMN IF NOT EXISTS last_api_sync_at TIMESTAMP(6);
+
+-- team_matches.finished: primero completar los NULL, después el default y el NOT NULL
+UPDATE team_matches SET finished = false WHERE finished IS NULL;
+ALTER TABLE team_matches ALTER COLUMN finished SET DEFAULT false;
+ALTER TABLE team_matches ALTER COLUMN finished SET NOT NULL;
+
+-- Estas tablas nacieron con BIGSERIAL y ahora toman el id de una secuencia de a 50 (INSERT en lote).
+-- El incremento tiene que coincidir con el allocationSize de la entidad y la secuencia quedar por encima de
+-- los ids existentes: Hibernate reserva el bloque (valor - 50, valor]. Nunca se retrocede.
+ALTER SEQUENCE polla_participantes_seq INCREMENT BY 50;
+SELECT setval('polla_participantes_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM polla_participantes) + 50,
+        (SELECT last_value FROM polla_participantes_seq)));
+
+ALTER SEQUENCE polla_pronosticos_seq INCREMENT BY 50;
+SELECT setval('polla_pronosticos_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM polla_pronosticos) + 50,
+        (SELECT last_value FROM polla_pronosticos_seq)));
+
+ALTER SEQUENCE polla_puntajes_partido_seq INCREMENT BY 50;
+SELECT setval('polla_puntajes_partido_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM polla_puntajes_partido) + 50,
+        (SELECT last_value FROM polla_puntajes_partido_seq)));
+
+ALTER SEQUENCE team_match_teams_seq INCREMENT BY 50;
+SELECT setval('team_match_teams_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM team_match_teams) + 50,
+        (SELECT last_value FROM team_match_teams_seq)));
+
+ALTER SEQUENCE team_match_team_players_seq INCREMENT BY 50;
+SELECT setval('team_match_team_players_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM team_match_team_players) + 50,
+        (SELECT last_value FROM team_match_team_players_seq)));
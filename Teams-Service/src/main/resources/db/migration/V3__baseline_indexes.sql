@@ -0,0 +1,50 @@
+-- Migración V3: índices que ya declaraban las entidades (@Index) más el de expresión que creaba DatabaseSchemaPatcher
+
+CREATE INDEX IF NOT EXISTS idx_owner_user_id ON teams(owner_user_id);
+
+CREATE INDEX IF NOT EXISTS idx_team_id ON team_members(team_id);
+CREATE INDEX IF NOT EXISTS idx_user_id ON team_members(user_id);
+CREATE INDEX IF NOT EXISTS idx_status ON team_members(status);
+
+CREATE INDEX IF NOT EXISTS idx_team_match_team_id ON team_matches(team_id);
+CREATE INDEX IF NOT EXISTS idx_team_match_datetime ON team_matches(match_datetime);
+CREATE INDEX IF NOT EXISTS idx_team_match_team_date_id ON team_matches(team_id, match_datetime, id);
+CREATE INDEX IF NOT EXISTS idx_team_match_team_finished_date_id ON team_matches(team_id, finished, match_datetime, id);
+
+CREATE INDEX IF NOT EXISTS idx_match_attendance_match_id ON team_match_attendance(match_id);
+CREATE INDEX IF NOT EXISTS idx_match_attendance_user_id ON team_match_attendance(user_id);
+CREATE INDEX IF NOT EXISTS idx_match_attendance_match_user ON team_match_attendance(match_id, user_id);
+-- "Mis partidos" filtra por lower(user_email)
+CREATE INDEX IF NOT EXISTS idx_match_attendance_email_lower ON team_match_attendance(lower(user_email), match_id);
+
+CREATE INDEX IF NOT EXISTS idx_match_team_match_id ON team_match_teams(match_id);
+
+CREATE INDEX IF NOT EXISTS idx_match_team_player_team_id ON team_match_team_players(match_team_id);
+CREATE INDEX IF NOT EXISTS idx_match_team_player_user_id ON team_match_team_players(user_id);
+
+CREATE INDEX IF NOT EXISTS idx_match_player_goal_match_id ON team_match_player_goal_stats(match_id);
+CREATE INDEX IF NOT EXISTS idx_match_player_goal_user_id ON team_match_player_goal_stats(user_id);
+
+CREATE INDEX IF NOT EXISTS idx_match_summary_team_finished_date ON team_match_summary(team_id, finished, match_datetime, match_id);
+
+CREATE INDEX IF NOT EXISTS idx_player_monthly_team_period_goals ON team_player_monthly_stats(team_id, stat_year, stat_month, goals);
+
+CREATE INDEX IF NOT EXISTS idx_match_notification_job_status ON team_match_notification_jobs(status);
+
+CREATE INDEX IF NOT EXISTS idx_creador_email ON pollas(creador_email);
+CREATE INDEX IF NOT EXISTS idx_estado ON pollas(estado);
+CREATE INDEX IF NOT EXISTS idx_fecha_inicio ON pollas(fecha_inicio);
+
+CREATE INDEX IF NOT EXISTS idx_polla_id ON polla_participantes(polla_id);
+CREATE INDEX IF NOT EXISTS idx_email_usuario ON polla_participantes(email_usuario);
+CREATE INDEX IF NOT EXISTS idx_estado_participante ON polla_participantes(estado);
+
+CREATE INDEX IF NOT EXISTS idx_polla_partido_polla_id ON polla_partidos(polla_id);
+CREATE INDEX IF NOT EXISTS idx_fecha_hora_partido ON polla_partidos(fecha_hora_partido);
+CREATE INDEX IF NOT EXISTS idx_id_partido_externo ON polla_partidos(id_partido_externo);
+
+CREATE INDEX IF NOT EXISTS idx_polla_partido_id ON polla_pronosticos(polla_partido_id);
+CREATE INDEX IF NOT EXISTS idx_email_participante ON polla_pronosticos(email_participante);
+
+CREATE INDEX IF NOT EXISTS idx_puntaje_partido_polla_partido_id ON polla_puntajes_partido(polla_partido_id);
+CREATE INDEX IF NOT EXISTS idx_puntaje_partido_email ON polla_puntajes_partido(email_participante);
@@ -0,0 +1,48 @@
+-- Migración V4: índices compuestos para las consultas calientes que hoy combinan índices de una columna
+--
+-- CONCURRENTLY para no bloquear escrituras en bases con datos. Flyway corre el script fuera de transacción
+-- (requiere spring.flyway.postgresql.transactional-lock=false y spring.flyway.mixed=true).
+--
+-- Si se interrumpe (deploy cancelado, timeout, caída), Flyway deja esta versión marcada como fallida en
+-- flyway_schema_history_teams y el servicio no vuelve a arrancar hasta limpiarla:
+--   flyway -url=... -user=... -table=flyway_schema_history_teams repair
+-- (equivale a borrar de esa tabla la fila de la versión con success = false). Al reintentar, el bloque inicial
+-- borra los índices de esta migración que hayan quedado INVALID (IF NOT EXISTS los saltaría y quedarían
+-- inservibles) y luego se recrean.
+
+-- Índices INVALID de un intento anterior: DROP INDEX simple, instantáneo porque no tienen datos útiles
+DO $$
+DECLARE
+    invalid_index record;
+BEGIN
+    FOR invalid_index IN
+        SELECT c.relname
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE NOT i.indisvalid
+          AND n.nspname = current_schema()
+          AND c.relname IN ('idx_team_members_team_status',
+                            'idx_team_members_user_status',
+                            'idx_team_members_email_lower',
+                            'idx_match_attendance_match_status',
+                            'idx_polla_partido_polla_fecha')
+    LOOP
+        EXECUTE format('DROP INDEX %I', invalid_index.relname);
+    END LOOP;
+END $$;
+
+-- Miembros aprobados de un equipo (roster, conteos, TeamMemberCountRepair)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_team_members_team_status ON team_members(team_id, status);
+
+-- Equipos del usuario (caché de acceso, listado "mis equipos")
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_team_members_user_status ON team_members(user_id, status);
+
+-- Membresía por email normalizado (tm.userId = :userId OR lower(tm.userEmail) = :userEmail)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_team_members_email_lower ON team_members(lower(user_email));
+
+-- Conteo de asistencia por estado y recálculo de attending_count / not_attending_count
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_match_attendance_match_status ON team_match_attendance(match_id, status);
+
+-- Partidos de una polla ordenados por fecha
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_polla_partido_polla_fecha ON polla_partidos(polla_id, fecha_hora_partido);
@@ -0,0 +1,10 @@
+-- Migración V5: inicializa una sola vez el contador de miembros aprobados de los equipos previos a la columna
+--
+-- Reemplaza la inicialización que TeamMemberCountRepair hacía en cada arranque. Los equipos nuevos nacen con el
+-- contador en 1 (el capitán); recalcular todos sigue disponible con --repair-member-counts.
+
+UPDATE teams t SET approved_member_count = CASE
+    WHEN t.status = 'ACTIVE' THEN (SELECT COUNT(*) FROM team_members tm
+                                   WHERE tm.team_id = t.id AND tm.status = 'APPROVED')
+    ELSE 0 END
+WHERE t.approved_member_count IS NULL;
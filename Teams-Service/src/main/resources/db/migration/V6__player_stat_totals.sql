@@ -0,0 +1,26 @@
+-- Migración V6: acumulado histórico por jugador y equipo para el ranking de goleadores de siempre
+--
+-- El ranking histórico agrupaba todos los meses de team_player_monthly_stats del equipo y luego ordenaba. Esta
+-- tabla guarda una fila por (equipo, jugador) y el índice sigue el ORDER BY del ranking, así que el top N se lee
+-- en orden sin agrupar. Se llena una vez desde los acumulados mensuales existentes.
+
+CREATE TABLE IF NOT EXISTS team_player_stat_totals (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    user_email VARCHAR(255) NOT NULL,
+    user_id BIGINT,
+    goals INTEGER NOT NULL,
+    own_goals INTEGER NOT NULL,
+    matches_played INTEGER NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_player_totals_team_email UNIQUE (team_id, user_email)
+);
+
+CREATE INDEX IF NOT EXISTS idx_player_totals_team_ranking
+    ON team_player_stat_totals(team_id, goals DESC, own_goals, user_email);
+
+INSERT INTO team_player_stat_totals (team_id, user_email, user_id, goals, own_goals, matches_played, updated_at)
+SELECT team_id, user_email, MAX(user_id), SUM(goals), SUM(own_goals), SUM(matches_played), now()
+FROM team_player_monthly_stats
+GROUP BY team_id, user_email
+ON CONFLICT (team_id, user_email) DO NOTHING;
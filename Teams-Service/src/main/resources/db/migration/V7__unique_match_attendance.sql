@@ -0,0 +1,40 @@
+-- Migración V7: una sola respuesta de asistencia por (partido, usuario)
+--
+-- Dos requests simultáneos del mismo usuario podían insertar dos filas y sumar dos veces a los contadores del
+-- partido. Se conserva la respuesta más reciente, se recalculan los contadores ya inicializados y el índice
+-- (match_id, user_id) pasa a ser el constraint único.
+
+DELETE FROM team_match_attendance
+WHERE id IN (
+    SELECT id FROM (
+        SELECT id, row_number() OVER (PARTITION BY match_id, user_id
+                                      ORDER BY updated_at DESC NULLS LAST, id DESC) AS rn
+        FROM team_match_attendance
+    ) ranked
+    WHERE ranked.rn > 1
+);
+
+-- Respuestas en partidos por jugar de quienes ya no son miembros aprobados del equipo
+DELETE FROM team_match_attendance a
+USING team_matches m
+WHERE m.id = a.match_id
+  AND m.finished = false
+  AND NOT EXISTS (SELECT 1 FROM team_members tm
+                  WHERE tm.team_id = m.team_id AND tm.user_id = a.user_id AND tm.status = 'APPROVED');
+
+UPDATE team_matches m SET
+    attending_count = (SELECT COUNT(*) FROM team_match_attendance a
+                       WHERE a.match_id = m.id AND a.status = 'ATTENDING'),
+    not_attending_count = (SELECT COUNT(*) FROM team_match_attendance a
+                           WHERE a.match_id = m.id AND a.status = 'NOT_ATTENDING')
+WHERE m.attending_count IS NOT NULL OR m.not_attending_count IS NOT NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_match_attendance_match_user') THEN
+        ALTER TABLE team_match_attendance
+            ADD CONSTRAINT uk_match_attendance_match_user UNIQUE (match_id, user_id);
+    END IF;
+END $$;
+
+DROP INDEX IF EXISTS idx_match_attendance_match_user;
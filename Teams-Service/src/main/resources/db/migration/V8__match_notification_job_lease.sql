@@ -0,0 +1,7 @@
+-- Migración V8: dueño y latido de los jobs de notificación de partidos
+--
+-- Con varias instancias, cada una marcaba FAILED todos los jobs RUNNING al arrancar, incluidos los que otra
+-- instancia viva estaba enviando. Ahora un job RUNNING solo se da por perdido cuando su latido supera el lease.
+
+ALTER TABLE team_match_notification_jobs ADD COLUMN IF NOT EXISTS owner_instance VARCHAR(100);
+ALTER TABLE team_match_notification_jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP(6);
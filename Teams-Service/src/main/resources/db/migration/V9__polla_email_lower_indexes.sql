@@ -0,0 +1,7 @@
+-- Migración V9: índices por email en minúsculas para el índice de acceso a pollas
+--
+-- UserAccessIndex normaliza el email (trim + minúsculas) tanto al cargar como al invalidar, y compara contra
+-- lower(creador_email) / lower(email_usuario). Sin estos índices esas consultas recorrerían las tablas completas.
+
+CREATE INDEX IF NOT EXISTS idx_pollas_creador_email_lower ON pollas (lower(creador_email));
+CREATE INDEX IF NOT EXISTS idx_polla_participantes_email_lower ON polla_participantes (lower(email_usuario));
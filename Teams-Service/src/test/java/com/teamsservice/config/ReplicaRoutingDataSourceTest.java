@@ -0,0 +1,100 @@
+package com.teamsservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", mock(DataSource.class));
+        lagMonitor = new ReplicaLagMonitor(replicas, Duration.ofSeconds(5), Duration.ofSeconds(5), meterRegistry);
+        lagMonitor.record("replica-1", 0.5);
+        routing = new ReplicaRoutingDataSource(
+                mock(DataSource.class), replicas, lagMonitor, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_GoesToReplica_WriteToPrimary() {
+        assertEquals("replica-1", routeAs("ana@test.com", true, false));
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routeAs("ana@test.com", false, false));
+    }
+
+    @Test
+    void noTransaction_GoesToPrimary() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void laggingReplica_FallsBackToPrimary() {
+        lagMonitor.record("replica-1", 30);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routeAs("ana@test.com", true, false));
+
+        lagMonitor.record("replica-1", Double.NaN);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routeAs("ana@test.com", true, false));
+
+        assertEquals(2.0, meterRegistry.counter("teams.datasource.routing",
+                "route", "primary", "reason", "replica-unavailable").count());
+    }
+
+    @Test
+    void afterCommittedWrite_SameUserReadsFromPrimary() {
+        routeAs("ana@test.com", false, true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routeAs("ana@test.com", true, false));
+        assertEquals("replica-1", routeAs("luis@test.com", true, false));
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotStick() {
+        routeAs("ana@test.com", false, false);
+
+        assertEquals("replica-1", routeAs("ana@test.com", true, false));
+    }
+
+    /**
+     * Simula una transacción del usuario y devuelve la ruta elegida; con {@code commit} ejecuta los afterCommit.
+     */
+    private Object routeAs(String email, boolean readOnly, boolean commit) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null, "ROLE_USER"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+            Object key = routing.determineCurrentLookupKey();
+            if (commit) {
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            }
+            return key;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
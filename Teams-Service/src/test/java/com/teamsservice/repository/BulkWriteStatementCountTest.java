@@ -0,0 +1,258 @@
+package com.teamsservice.repository;
+
+import com.teamsservice.entity.Polla;
+import com.teamsservice.entity.PollaParticipante;
+import com.teamsservice.entity.PollaPartido;
+import com.teamsservice.entity.PollaPuntajePartido;
+import com.teamsservice.entity.Team;
+import com.teamsservice.entity.TeamMatch;
+import com.teamsservice.entity.TeamMatchTeam;
+import com.teamsservice.entity.TeamMatchTeamPlayer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sentencias JDBC preparadas por operación masiva, antes y después de los lotes de Hibernate.
+ *
+ * "Antes" reproduce el camino anterior: sin lotes JDBC (equivalente a las claves IDENTITY, que obligan a un
+ * INSERT por fila) y con los bucles fila por fila. "Después" usa ids por secuencia, order_inserts y batch_size
+ * de application.yml y las consultas masivas nuevas. Los números quedan en el log del test.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class BulkWriteStatementCountTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkWriteStatementCountTest.class);
+
+    private static final int ROWS = 40;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PollaRepository pollaRepository;
+
+    @Autowired
+    private TeamMatchTeamRepository matchTeamRepository;
+
+    @Autowired
+    private TeamMatchTeamPlayerRepository matchTeamPlayerRepository;
+
+    @Autowired
+    private PollaPuntajePartidoRepository puntajeRepository;
+
+    private Statistics statistics;
+    private TeamMatch match;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Team team = Team.builder()
+                .name("Benchmark")
+                .joinCode("BENCH1")
+                .ownerUserId(1L)
+                .ownerEmail("owner@test.com")
+                .build();
+        entityManager.persist(team);
+        match = TeamMatch.builder()
+                .team(team)
+                .matchDateTime(LocalDateTime.now().plusDays(1))
+                .build();
+        entityManager.persist(match);
+        entityManager.flush();
+    }
+
+    @AfterEach
+    void restoreBatchSize() {
+        session().setJdbcBatchSize(null);
+    }
+
+    @Test
+    void crearPolla_CascadesParticipantsInBatches() {
+        long before = measure(true, () -> pollaRepository.save(pollaWithParticipants("before")));
+        long after = measure(false, () -> pollaRepository.save(pollaWithParticipants("after")));
+
+        report("crearPolla con " + ROWS + " participantes", before, after);
+        assertTrue(after * 4 < before);
+    }
+
+    @Test
+    void bulkCreateMatchTeamPlayers_InsertsInBatches() {
+        long before = measure(true, () -> saveTeamWithPlayers("before"));
+        long after = measure(false, () -> saveTeamWithPlayers("after"));
+
+        report("equipo del partido con " + ROWS + " jugadores", before, after);
+        assertTrue(after * 4 < before);
+    }
+
+    @Test
+    void deleteMatchTeam_DeletesPlayersWithOneStatement() {
+        TeamMatchTeam legacy = saveTeamWithPlayers("legacy");
+        TeamMatchTeam bulk = saveTeamWithPlayers("bulk");
+        entityManager.flush();
+        entityManager.clear();
+
+        long before = measure(true, () -> matchTeamPlayerRepository.deleteAll(
+                matchTeamPlayerRepository.findByMatchTeamIdOrderByIdAsc(legacy.getId())));
+        long after = measure(false, () -> matchTeamPlayerRepository.bulkDeleteByMatchTeamId(bulk.getId()));
+
+        report("borrar " + ROWS + " jugadores de un equipo", before, after);
+        assertEquals(1, after);
+        assertTrue(matchTeamPlayerRepository.findByMatchTeamIdOrderByIdAsc(bulk.getId()).isEmpty());
+    }
+
+    @Test
+    void persistFinalPoints_LoadsOnceAndInsertsInBatches() {
+        PollaPartido legacy = partidoWithPolla("legacy");
+        PollaPartido batched = partidoWithPolla("batched");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Antes: una búsqueda y un save por pronóstico
+        long before = measure(true, () -> {
+            for (int i = 0; i < ROWS; i++) {
+                String email = participant(i);
+                PollaPuntajePartido puntaje = puntajeRepository
+                        .findByPollaPartidoIdAndEmailParticipante(legacy.getId(), email)
+                        .orElseGet(() -> newPuntaje(legacy, email));
+                puntaje.setPuntos(3);
+                puntajeRepository.save(puntaje);
+            }
+        });
+
+        // Después: los puntajes de la polla en una consulta y los nuevos en lote
+        long after = measure(false, () -> {
+            Map<String, PollaPuntajePartido> existing = new HashMap<>();
+            for (PollaPuntajePartido puntaje : puntajeRepository.findByPollaId(batched.getPolla().getId())) {
+                existing.put(puntaje.getEmailParticipante(), puntaje);
+            }
+            List<PollaPuntajePartido> nuevos = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                String email = participant(i);
+                PollaPuntajePartido puntaje = existing.get(email);
+                if (puntaje == null) {
+                    puntaje = newPuntaje(batched, email);
+                    nuevos.add(puntaje);
+                }
+                puntaje.setPuntos(3);
+            }
+            puntajeRepository.saveAll(nuevos);
+        });
+
+        report("puntos finales de " + ROWS + " pronósticos", before, after);
+        assertTrue(after * 4 < before);
+    }
+
+    /**
+     * Sentencias preparadas por la operación, incluido el flush final y las llamadas a la secuencia.
+     */
+    private long measure(boolean withoutBatching, Runnable operation) {
+        session().setJdbcBatchSize(withoutBatching ? 1 : null);
+        statistics.clear();
+        operation.run();
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        session().setJdbcBatchSize(null);
+        return statements;
+    }
+
+    private void report(String operation, long before, long after) {
+        log.info("{}: {} sentencias antes, {} después", operation, before, after);
+    }
+
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+
+    private Polla pollaWithParticipants(String name) {
+        Polla polla = Polla.builder()
+                .nombre(name)
+                .creadorEmail(participant(0))
+                .fechaInicio(LocalDateTime.now())
+                .montoEntrada(BigDecimal.TEN)
+                .build();
+        for (int i = 0; i < ROWS; i++) {
+            polla.getParticipantes().add(PollaParticipante.builder()
+                    .polla(polla)
+                    .emailUsuario(participant(i))
+                    .build());
+        }
+        return polla;
+    }
+
+    private TeamMatchTeam saveTeamWithPlayers(String name) {
+        TeamMatchTeam team = matchTeamRepository.save(TeamMatchTeam.builder()
+                .match(match)
+                .name(name)
+                .color("#FF0000")
+                .build());
+        List<TeamMatchTeamPlayer> players = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            players.add(TeamMatchTeamPlayer.builder()
+                    .matchTeam(team)
+                    .userId((long) i + 1)
+                    .userEmail(participant(i))
+                    .position(TeamMatchTeamPlayer.PlayerPosition.MIDFIELDER)
+                    .build());
+        }
+        matchTeamPlayerRepository.saveAll(players);
+        return team;
+    }
+
+    private PollaPartido partidoWithPolla(String name) {
+        Polla polla = pollaRepository.save(pollaWithParticipants(name));
+        PollaPartido partido = PollaPartido.builder()
+                .polla(polla)
+                .idPartidoExterno("ext-" + (++sequence))
+                .equipoLocal("Local")
+                .equipoLocalLogo("local.png")
+                .equipoVisitante("Visitante")
+                .equipoVisitanteLogo("visitante.png")
+                .liga("Liga")
+                .fechaHoraPartido(LocalDateTime.now().minusHours(3))
+                .golesLocal(2)
+                .golesVisitante(1)
+                .partidoFinalizado(true)
+                .build();
+        entityManager.persist(partido);
+        return partido;
+    }
+
+    private static PollaPuntajePartido newPuntaje(PollaPartido partido, String email) {
+        return PollaPuntajePartido.builder()
+                .pollaPartido(partido)
+                .emailParticipante(email)
+                .definitivo(true)
+                .build();
+    }
+
+    private static String participant(int i) {
+        return "jugador" + i + "@test.com";
+    }
+}
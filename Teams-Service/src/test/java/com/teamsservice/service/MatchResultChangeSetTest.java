@@ -0,0 +1,77 @@
+package com.teamsservice.service;
+
+import com.teamsservice.service.MatchResultChangeSet.PlayerGoals;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchResultChangeSetTest {
+
+    @Test
+    void diff_ShouldOnlyTouchChangedRows() {
+        MatchResultChangeSet changes = MatchResultChangeSet.diff(
+                List.of(
+                        saved(1L, "ana@test.com", 2, 0),
+                        saved(2L, "beto@test.com", 1, 0),
+                        saved(3L, "caro@test.com", 0, 1)
+                ),
+                List.of(
+                        wanted("ana@test.com", 2, 0),
+                        wanted("beto@test.com", 2, 0),
+                        wanted("dani@test.com", 1, 0)
+                ),
+                true,
+                true);
+
+        assertTrue(changes.hasStatChanges());
+        assertEquals(List.of("dani@test.com"), changes.inserted().stream().map(PlayerGoals::userEmail).toList());
+        assertEquals(1, changes.updated().size());
+        assertEquals(2L, changes.updated().get(0).after().id());
+        assertEquals(2, changes.updated().get(0).after().goals());
+        assertEquals(List.of(3L), changes.deleted().stream().map(PlayerGoals::id).toList());
+        assertEquals(3, changes.before().size());
+        assertEquals(3, changes.after().size());
+        assertEquals(2, changes.changedBefore().size());
+        assertEquals(2, changes.changedAfter().size());
+    }
+
+    @Test
+    void diff_ShouldReportNoChangesForSameResult() {
+        MatchResultChangeSet changes = MatchResultChangeSet.diff(
+                List.of(saved(1L, "ana@test.com", 2, 0)),
+                List.of(wanted("ana@test.com", 2, 0)),
+                true,
+                true);
+
+        assertFalse(changes.hasStatChanges());
+        assertTrue(changes.changedBefore().isEmpty());
+        assertEquals(1, changes.after().size());
+    }
+
+    @Test
+    void diff_ShouldNormalizeLegacyEmailsAndDropDuplicates() {
+        MatchResultChangeSet changes = MatchResultChangeSet.diff(
+                List.of(
+                        saved(1L, "Ana@Test.com", 2, 0),
+                        saved(2L, "ana@test.com", 2, 0)
+                ),
+                List.of(wanted("ana@test.com", 2, 0)),
+                false,
+                true);
+
+        assertEquals(1, changes.updated().size());
+        assertEquals("ana@test.com", changes.updated().get(0).after().userEmail());
+        assertEquals(List.of(2L), changes.deleted().stream().map(PlayerGoals::id).toList());
+        assertTrue(changes.inserted().isEmpty());
+    }
+
+    private static PlayerGoals saved(Long id, String email, int goals, int ownGoals) {
+        return new PlayerGoals(id, email, null, goals, ownGoals);
+    }
+
+    private static PlayerGoals wanted(String email, int goals, int ownGoals) {
+        return new PlayerGoals(null, email, null, goals, ownGoals);
+    }
+}
@@ -0,0 +1,52 @@
+package com.teamsservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollaLeaderboardTest {
+
+    private final PollaLeaderboard leaderboard = PollaLeaderboard.of(List.of(
+            new PollaLeaderboard.Entry("c@test.com", 10, 1, 2),
+            new PollaLeaderboard.Entry("a@test.com", 12, 0, 3),
+            new PollaLeaderboard.Entry("b@test.com", 10, 2, 1),
+            new PollaLeaderboard.Entry("d@test.com", 10, 1, 2),
+            new PollaLeaderboard.Entry("e@test.com", 4, 0, 1)
+    ));
+
+    @Test
+    void window_ShouldOrderByPointsThenExactThenWinnerHits() {
+        List<PollaLeaderboard.RankedEntry> all = leaderboard.window(0, 10, PollaLeaderboard.RankingMode.COMPETITION);
+
+        assertEquals(List.of("a@test.com", "b@test.com", "c@test.com", "d@test.com", "e@test.com"),
+                all.stream().map(r -> r.getEntry().getEmail()).toList());
+        assertEquals(List.of(1, 2, 3, 3, 5), all.stream().map(PollaLeaderboard.RankedEntry::getPosition).toList());
+    }
+
+    @Test
+    void window_WithDenseMode_ShouldNotSkipPositionsAfterTies() {
+        List<PollaLeaderboard.RankedEntry> all = leaderboard.window(0, 10, PollaLeaderboard.RankingMode.DENSE);
+
+        assertEquals(List.of(1, 2, 3, 3, 4), all.stream().map(PollaLeaderboard.RankedEntry::getPosition).toList());
+    }
+
+    @Test
+    void window_ShouldReturnRequestedPage() {
+        List<PollaLeaderboard.RankedEntry> page = leaderboard.window(2, 2, PollaLeaderboard.RankingMode.COMPETITION);
+
+        assertEquals(2, page.size());
+        assertEquals("c@test.com", page.get(0).getEntry().getEmail());
+        assertTrue(leaderboard.window(10, 2, PollaLeaderboard.RankingMode.COMPETITION).isEmpty());
+    }
+
+    @Test
+    void around_ShouldReturnUserAndNeighbours() {
+        List<PollaLeaderboard.RankedEntry> around = leaderboard.around("D@Test.com", 1, PollaLeaderboard.RankingMode.COMPETITION);
+
+        assertEquals(List.of("c@test.com", "d@test.com", "e@test.com"),
+                around.stream().map(r -> r.getEntry().getEmail()).toList());
+        assertTrue(leaderboard.around("missing@test.com", 1, PollaLeaderboard.RankingMode.COMPETITION).isEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+package com.teamsservice.service;
+
+import com.teamsservice.config.PollaScoringProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollaProjectionEngineTest {
+
+    private final PollaScoringProperties rules = new PollaScoringProperties();
+
+    @Test
+    void project_WithNoRemainingMatches_ShouldKeepCurrentPositions() {
+        int[] base = {10, 7, 7};
+
+        PollaProjectionEngine.Result result = PollaProjectionEngine.project(
+                base, List.of(), new int[0][], new int[0][], rules, 1000, 1000, 1L);
+
+        assertTrue(result.enumerated());
+        assertEquals(1, result.scenarios());
+        assertEquals(1.0, result.probability(0, 1), 1e-9);
+        // empate en puntos: ambos comparten la posición 2
+        assertEquals(1.0, result.probability(1, 2), 1e-9);
+        assertEquals(1.0, result.probability(2, 2), 1e-9);
+    }
+
+    @Test
+    void project_WithSingleMatch_ShouldEnumerateScorelineProbabilities() {
+        int[] base = {0, 0};
+        PollaProjectionEngine.Scorelines scorelines = new PollaProjectionEngine.Scorelines(
+                new int[]{1, 0}, new int[]{0, 0}, new double[]{3, 1});
+        int[][] home = {{1, 0}};
+        int[][] away = {{0, 0}};
+
+        PollaProjectionEngine.Result result = PollaProjectionEngine.project(
+                base, List.of(scorelines), home, away, rules, 1000, 1000, 1L);
+
+        assertTrue(result.enumerated());
+        assertEquals(2, result.scenarios());
+        assertEquals(0.75, result.probability(0, 1), 1e-9);
+        assertEquals(0.25, result.probability(1, 1), 1e-9);
+        assertEquals(1, result.bestPosition(0));
+        assertEquals(2, result.worstPosition(0));
+    }
+
+    @Test
+    void project_WithoutPrediction_ShouldNotScore() {
+        int[] base = {3, 0};
+        PollaProjectionEngine.Scorelines scorelines = new PollaProjectionEngine.Scorelines(
+                new int[]{2}, new int[]{1}, new double[]{1});
+        int[][] home = {{PollaProjectionEngine.NO_PREDICTION, 2}};
+        int[][] away = {{PollaProjectionEngine.NO_PREDICTION, 1}};
+
+        PollaProjectionEngine.Result result = PollaProjectionEngine.project(
+                base, List.of(scorelines), home, away, rules, 1000, 1000, 1L);
+
+        // exacto (3) + ganador (3) = 6 > 3
+        assertEquals(1.0, result.probability(1, 1), 1e-9);
+        assertEquals(1.0, result.probability(0, 2), 1e-9);
+    }
+
+    @Test
+    void project_WhenSampling_ShouldProduceNormalizedDistributions() {
+        int participants = 100;
+        int matches = 10;
+        Random random = new Random(7);
+
+        int[] base = new int[participants];
+        int[][] home = new int[matches][participants];
+        int[][] away = new int[matches][participants];
+        for (int p = 0; p < participants; p++) {
+            base[p] = random.nextInt(20);
+        }
+        List<PollaProjectionEngine.Scorelines> remaining = new ArrayList<>();
+        for (int m = 0; m < matches; m++) {
+            for (int p = 0; p < participants; p++) {
+                home[m][p] = random.nextInt(4);
+                away[m][p] = random.nextInt(4);
+            }
+            int[] h = new int[36];
+            int[] a = new int[36];
+            double[] prob = new double[36];
+            for (int s = 0; s < 36; s++) {
+                h[s] = s / 6;
+                a[s] = s % 6;
+                prob[s] = 1.0 / (1 + s);
+            }
+            remaining.add(new PollaProjectionEngine.Scorelines(h, a, prob));
+        }
+
+        PollaProjectionEngine.Result first = PollaProjectionEngine.project(
+                base, remaining, home, away, rules, 20000, 50000, 42L);
+        PollaProjectionEngine.Result second = PollaProjectionEngine.project(
+                base, remaining, home, away, rules, 20000, 50000, 42L);
+
+        assertFalse(first.enumerated());
+        assertEquals(20000, first.scenarios());
+        for (int p = 0; p < participants; p++) {
+            double total = 0;
+            for (int pos = 1; pos <= participants; pos++) {
+                total += first.probability(p, pos);
+            }
+            assertEquals(1.0, total, 1e-9);
+            assertTrue(first.bestPosition(p) <= first.worstPosition(p));
+            assertEquals(first.expectedPosition(p), second.expectedPosition(p), 1e-12);
+        }
+    }
+}
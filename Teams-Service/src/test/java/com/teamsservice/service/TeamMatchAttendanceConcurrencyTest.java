@@ -0,0 +1,146 @@
+package com.teamsservice.service;
+
+import com.teamsservice.dto.MatchAttendanceSummaryResponse;
+import com.teamsservice.entity.Team;
+import com.teamsservice.entity.TeamMatch;
+import com.teamsservice.entity.TeamMatchAttendance;
+import com.teamsservice.entity.TeamMember;
+import com.teamsservice.repository.TeamMatchAttendanceRepository;
+import com.teamsservice.repository.TeamMatchRepository;
+import com.teamsservice.repository.TeamMemberRepository;
+import com.teamsservice.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Respuestas de asistencia concurrentes del mismo usuario contra H2 real: una sola fila por (partido, usuario) y
+ * contadores del partido que coinciden con las filas.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:attendance;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class TeamMatchAttendanceConcurrencyTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long PLAYER_ID = 2L;
+    private static final String PLAYER_EMAIL = "player@test.com";
+    private static final int THREADS = 8;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private TeamMatchService teamMatchService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private TeamMatchRepository teamMatchRepository;
+
+    @Autowired
+    private TeamMatchAttendanceRepository attendanceRepository;
+
+    private Team team;
+    private TeamMember player;
+    private TeamMatch match;
+
+    @BeforeEach
+    void setUp() {
+        String code = String.format("AT%04d", SEQUENCE.incrementAndGet());
+        team = teamRepository.save(Team.builder()
+                .name("Concurrency " + code)
+                .joinCode(code)
+                .ownerUserId(OWNER_ID)
+                .ownerEmail("owner@test.com")
+                .approvedMemberCount(2)
+                .build());
+        teamMemberRepository.save(member(OWNER_ID, "owner@test.com"));
+        player = teamMemberRepository.save(member(PLAYER_ID, PLAYER_EMAIL));
+        match = teamMatchRepository.save(TeamMatch.builder()
+                .team(team)
+                .matchDateTime(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    @Test
+    void concurrentResponsesOfSameUser_KeepOneRowAndConsistentCounters() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                boolean attending = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    teamMatchService.confirmAttendance(team.getId(), match.getId(), PLAYER_ID, PLAYER_EMAIL, attending);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                // Sin el bloqueo del partido alguno falla por el constraint único o deja los contadores corridos
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<TeamMatchAttendance> rows = attendanceRepository.findAll().stream()
+                .filter(a -> a.getUserId() == PLAYER_ID && a.getMatch().getId().equals(match.getId()))
+                .toList();
+        assertEquals(1, rows.size());
+
+        TeamMatch reloaded = teamMatchRepository.findById(match.getId()).orElseThrow();
+        boolean attending = rows.get(0).getStatus() == TeamMatchAttendance.AttendanceStatus.ATTENDING;
+        assertEquals(attending ? 1 : 0, reloaded.getAttendingCount());
+        assertEquals(attending ? 0 : 1, reloaded.getNotAttendingCount());
+    }
+
+    @Test
+    void removedMember_NoLongerCountsInOpenMatchSummary() {
+        teamMatchService.confirmAttendance(team.getId(), match.getId(), PLAYER_ID, PLAYER_EMAIL, true);
+
+        teamMemberService.removeMember(team.getId(), player.getId(), OWNER_ID);
+
+        MatchAttendanceSummaryResponse summary = teamMatchService.getMatchAttendanceSummary(
+                team.getId(), match.getId(), OWNER_ID, "owner@test.com", false);
+        assertEquals(0, summary.getAttendingCount());
+        assertEquals(0, summary.getNotAttendingCount());
+        assertEquals(1, summary.getPendingCount());
+    }
+
+    private TeamMember member(long userId, String email) {
+        return TeamMember.builder()
+                .team(team)
+                .userId(userId)
+                .userEmail(email)
+                .status(TeamMember.MembershipStatus.APPROVED)
+                .approvedAt(LocalDateTime.now())
+                .build();
+    }
+}
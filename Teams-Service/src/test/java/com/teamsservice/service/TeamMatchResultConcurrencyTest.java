@@ -0,0 +1,216 @@
+package com.teamsservice.service;
+
+import com.teamsservice.dto.MatchPlayerGoalsUpsertRequest;
+import com.teamsservice.dto.MatchResultUpsertRequest;
+import com.teamsservice.entity.Team;
+import com.teamsservice.entity.TeamMatch;
+import com.teamsservice.entity.TeamMatchTeam;
+import com.teamsservice.entity.TeamMatchTeamPlayer;
+import com.teamsservice.repository.TeamMatchRepository;
+import com.teamsservice.repository.TeamMatchTeamPlayerRepository;
+import com.teamsservice.repository.TeamMatchTeamRepository;
+import com.teamsservice.repository.TeamPlayerMonthlyStatRepository;
+import com.teamsservice.repository.TeamPlayerStatTotalRepository;
+import com.teamsservice.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Resultados de un partido contra H2 real, de punta a punta por TeamMatchResultService: los acumulados por jugador
+ * reciben el aporte del partido una sola vez aunque se envíe a la vez, y siguen las correcciones y reaperturas.
+ *
+ * H2 no soporta el INSERT ... ON CONFLICT DO UPDATE de los acumulados, así que sus repositorios se reemplazan por
+ * sumas en memoria con la misma semántica (aplicar cada diferencia recibida).
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:results;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class TeamMatchResultConcurrencyTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final String SCORER = "scorer@test.com";
+    private static final String DEFENDER = "defender@test.com";
+    private static final int THREADS = 4;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private TeamMatchResultService teamMatchResultService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMatchRepository teamMatchRepository;
+
+    @Autowired
+    private TeamMatchTeamRepository teamMatchTeamRepository;
+
+    @Autowired
+    private TeamMatchTeamPlayerRepository teamMatchTeamPlayerRepository;
+
+    @MockitoBean
+    private TeamPlayerMonthlyStatRepository monthlyStatRepository;
+
+    @MockitoBean
+    private TeamPlayerStatTotalRepository statTotalRepository;
+
+    @MockitoBean
+    private AuthServiceClient authServiceClient;
+
+    /** email -> {goals, ownGoals, matchesPlayed} */
+    private final Map<String, int[]> totals = new ConcurrentHashMap<>();
+    private final Map<String, int[]> monthly = new ConcurrentHashMap<>();
+
+    private Team team;
+    private TeamMatch match;
+
+    @BeforeEach
+    void setUp() {
+        totals.clear();
+        monthly.clear();
+        doAnswer(inv -> {
+            add(totals, inv.getArgument(1), inv.getArgument(3), inv.getArgument(4), inv.getArgument(5));
+            return null;
+        }).when(statTotalRepository).addDelta(anyLong(), anyString(), any(), anyInt(), anyInt(), anyInt());
+        doAnswer(inv -> {
+            add(monthly, inv.getArgument(1), inv.getArgument(5), inv.getArgument(6), inv.getArgument(7));
+            return null;
+        }).when(monthlyStatRepository).addDelta(anyLong(), anyString(), any(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyInt());
+
+        String code = String.format("RS%04d", SEQUENCE.incrementAndGet());
+        team = teamRepository.save(Team.builder()
+                .name("Results " + code)
+                .joinCode(code)
+                .ownerUserId(OWNER_ID)
+                .ownerEmail("owner@test.com")
+                .approvedMemberCount(3)
+                .build());
+        match = teamMatchRepository.save(TeamMatch.builder()
+                .team(team)
+                .matchDateTime(LocalDateTime.now().minusDays(1))
+                .build());
+        TeamMatchTeam home = teamMatchTeamRepository.save(matchTeam("Blancos", "white"));
+        TeamMatchTeam away = teamMatchTeamRepository.save(matchTeam("Negros", "black"));
+        teamMatchTeamPlayerRepository.save(player(home, 2L, SCORER));
+        teamMatchTeamPlayerRepository.save(player(away, 3L, DEFENDER));
+    }
+
+    @Test
+    void concurrentFinishOfSameResult_CountsTheMatchOnce() throws Exception {
+        // Goles cargados con el partido abierto: al finalizar no hay filas nuevas que choquen con la clave única
+        upsert(false, 2, 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    upsert(true, 2, 1);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                // Sin el bloqueo del partido cada envío ve wasFinished=false y suma el aporte completo
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(new int[]{2, 0, 1}, totals.get(SCORER));
+        assertArrayEquals(new int[]{0, 1, 1}, totals.get(DEFENDER));
+        assertArrayEquals(new int[]{2, 0, 1}, monthly.get(SCORER));
+    }
+
+    @Test
+    void editAndReopenFinishedResult_KeepsTotalsInSync() {
+        upsert(true, 2, 1);
+        assertArrayEquals(new int[]{2, 0, 1}, totals.get(SCORER));
+
+        // Corrección con el partido finalizado: solo se aplica la diferencia
+        upsert(true, 3, 0);
+        assertArrayEquals(new int[]{3, 0, 1}, totals.get(SCORER));
+        assertArrayEquals(new int[]{0, 0, 0}, totals.get(DEFENDER));
+
+        // Reabrir el partido retira todo su aporte
+        upsert(false, 3, 0);
+        assertArrayEquals(new int[]{0, 0, 0}, totals.get(SCORER));
+
+        // Reenviar el mismo resultado abierto no mueve nada
+        upsert(false, 3, 0);
+        assertArrayEquals(new int[]{0, 0, 0}, totals.get(SCORER));
+        assertNull(totals.get("nobody@test.com"));
+
+        // Mensual y total reciben exactamente las mismas diferencias
+        assertArrayEquals(totals.get(SCORER), monthly.get(SCORER));
+        assertArrayEquals(totals.get(DEFENDER), monthly.get(DEFENDER));
+    }
+
+    private void upsert(boolean finished, int scorerGoals, int defenderOwnGoals) {
+        List<MatchPlayerGoalsUpsertRequest> players = new ArrayList<>();
+        players.add(MatchPlayerGoalsUpsertRequest.builder().userEmail(SCORER).userId(2L).goals(scorerGoals).build());
+        players.add(MatchPlayerGoalsUpsertRequest.builder().userEmail(DEFENDER).userId(3L).ownGoals(defenderOwnGoals).build());
+        teamMatchResultService.upsertMatchResult(team.getId(), match.getId(),
+                MatchResultUpsertRequest.builder().finished(finished).players(players).build(), OWNER_ID);
+    }
+
+    private static void add(Map<String, int[]> aggregate, String email, int goals, int ownGoals, int matches) {
+        aggregate.compute(email, (key, current) -> {
+            int[] next = current == null ? new int[3] : current.clone();
+            next[0] += goals;
+            next[1] += ownGoals;
+            next[2] += matches;
+            return next;
+        });
+    }
+
+    private TeamMatchTeam matchTeam(String name, String color) {
+        return TeamMatchTeam.builder()
+                .match(match)
+                .name(name)
+                .color(color)
+                .build();
+    }
+
+    private static TeamMatchTeamPlayer player(TeamMatchTeam matchTeam, long userId, String email) {
+        return TeamMatchTeamPlayer.builder()
+                .matchTeam(matchTeam)
+                .userId(userId)
+                .userEmail(email)
+                .position(TeamMatchTeamPlayer.PlayerPosition.MIDFIELDER)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.teamsservice.service;
+
+import com.teamsservice.entity.Team;
+import com.teamsservice.entity.TeamMatch;
+import com.teamsservice.entity.TeamMatchPlayerGoalStat;
+import com.teamsservice.entity.TeamMatchSummary;
+import com.teamsservice.entity.TeamMatchTeam;
+import com.teamsservice.entity.TeamMatchTeamPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamMatchSummaryServiceTest {
+
+    private final TeamMatch match = TeamMatch.builder()
+            .id(7L)
+            .team(Team.builder().id(1L).build())
+            .matchDateTime(LocalDateTime.of(2026, 3, 14, 20, 0))
+            .address("Cancha 3")
+            .finished(true)
+            .build();
+
+    private final TeamMatchTeam red = TeamMatchTeam.builder().id(10L).match(match).name("Rojo").color("#FF0000").build();
+    private final TeamMatchTeam blue = TeamMatchTeam.builder().id(11L).match(match).name("Azul").color("#0000FF").build();
+
+    private final List<TeamMatchTeamPlayer> players = List.of(
+            player(red, "ana@test.com"),
+            player(red, "beto@test.com"),
+            player(blue, "caro@test.com")
+    );
+
+    @Test
+    void summarize_ShouldCountOwnGoalsForTheRival() {
+        TeamMatchSummary summary = TeamMatchSummaryService.summarize(match, List.of(red, blue), players, List.of(
+                stat("ana@test.com", 2, 0),
+                stat("Beto@Test.com ", 0, 1),
+                stat("caro@test.com", 1, 0)
+        ));
+
+        assertEquals(1L, summary.getTeamId());
+        assertEquals(2, summary.getTeamAGoals());
+        assertEquals(1, summary.getTeamAOwnGoals());
+        assertEquals(2, summary.getTeamBGoals());
+        assertEquals(0, summary.getTeamBOwnGoals());
+        assertNull(summary.getWinnerMatchTeamId());
+    }
+
+    @Test
+    void summarize_ShouldPickWinnerAndIgnoreUnassignedPlayers() {
+        TeamMatchSummary summary = TeamMatchSummaryService.summarize(match, List.of(red, blue), players, List.of(
+                stat("caro@test.com", 3, 0),
+                stat("ana@test.com", 1, 0),
+                stat("nobody@test.com", 5, 0)
+        ));
+
+        assertEquals(1, summary.getTeamAGoals());
+        assertEquals(3, summary.getTeamBGoals());
+        assertEquals(11L, summary.getWinnerMatchTeamId());
+        assertEquals("Azul", summary.getTeamBName());
+    }
+
+    @Test
+    void summarize_WithSingleTeam_ShouldLeaveScoresEmpty() {
+        TeamMatchSummary summary = TeamMatchSummaryService.summarize(match, List.of(red), players, List.of(
+                stat("ana@test.com", 2, 0)
+        ));
+
+        assertEquals(10L, summary.getTeamAMatchTeamId());
+        assertNull(summary.getTeamBMatchTeamId());
+        assertEquals(0, summary.getTeamAGoals());
+        assertNull(summary.getWinnerMatchTeamId());
+    }
+
+    private static TeamMatchTeamPlayer player(TeamMatchTeam team, String email) {
+        return TeamMatchTeamPlayer.builder().matchTeam(team).userEmail(email).build();
+    }
+
+    private TeamMatchPlayerGoalStat stat(String email, int goals, int ownGoals) {
+        return TeamMatchPlayerGoalStat.builder().match(match).userEmail(email).goals(goals).ownGoals(ownGoals).build();
+    }
+}
@@ -6,7 +6,6 @@ import com.teamsservice.dto.TeamEventDto;
 import com.teamsservice.dto.TeamResponse;
 import com.teamsservice.entity.Team;
 import com.teamsservice.entity.TeamStatus;
-import com.teamsservice.entity.TeamMember;
 import com.teamsservice.exception.DuplicateResourceException;
 import com.teamsservice.exception.ResourceNotFoundException;
 import com.teamsservice.mapper.TeamMapper;
@@ -52,6 +51,9 @@ class TeamServiceTest {
     @Mock
     private TeamMemberRepository teamMemberRepository;
 
+    @Mock
+    private UserAccessIndex userAccessIndex;
+
     @InjectMocks
     private TeamService teamService;
 
@@ -146,8 +148,19 @@ class TeamServiceTest {
         when(teamRepository.findByOwnerUserIdAndStatus(eq(userId), eq(TeamStatus.ACTIVE), any(Pageable.class)))
             .thenReturn(new PageImpl<>(teams));
         when(teamMapper.toResponse(any(Team.class))).thenReturn(teamResponse);
-        when(teamMemberRepository.countByTeamIdAndStatus(eq(testTeam.getId()), eq(TeamMember.MembershipStatus.APPROVED)))
-            .thenReturn(1L);
+        TeamMemberRepository.TeamMemberCountRow countRow = new TeamMemberRepository.TeamMemberCountRow() {
+            @Override
+            public Long getTeamId() {
+                return testTeam.getId();
+            }
+
+            @Override
+            public long getTotal() {
+                return 1L;
+            }
+        };
+        when(teamMemberRepository.countApprovedByTeamIds(eq(List.of(testTeam.getId()))))
+            .thenReturn(List.of(countRow));
 
         // Act
         PageResponse<TeamResponse> result = teamService.getUserTeams(userId, 0, 10);
@@ -160,6 +173,23 @@ class TeamServiceTest {
         verify(teamRepository).findByOwnerUserIdAndStatus(eq(userId), eq(TeamStatus.ACTIVE), any(Pageable.class));
     }
 
+    @Test
+    void getUserTeams_UsesMemberCounter() {
+        // Arrange
+        testTeam.setApprovedMemberCount(3);
+        teamResponse.setMemberCount(3);
+        when(teamRepository.findByOwnerUserIdAndStatus(eq(userId), eq(TeamStatus.ACTIVE), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(testTeam)));
+        when(teamMapper.toResponse(any(Team.class))).thenReturn(teamResponse);
+
+        // Act
+        PageResponse<TeamResponse> result = teamService.getUserTeams(userId, 0, 10);
+
+        // Assert
+        assertEquals(3, result.getContent().get(0).getMemberCount());
+        verifyNoInteractions(teamMemberRepository);
+    }
+
     @Test
     void deleteTeam_Success() {
         // Arrange
@@ -170,6 +200,7 @@ class TeamServiceTest {
 
         // Assert
         verify(teamRepository).save(testTeam);
+        verify(teamRepository).resetApprovedMembers(1L);
         verify(rabbitMQService).publishTeamDeleted(any(TeamEventDto.class));
     }
 
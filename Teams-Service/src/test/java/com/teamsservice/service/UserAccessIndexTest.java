@@ -0,0 +1,132 @@
+package com.teamsservice.service;
+
+import com.teamsservice.config.AccessCacheProperties;
+import com.teamsservice.repository.PollaParticipanteRepository;
+import com.teamsservice.repository.PollaRepository;
+import com.teamsservice.repository.TeamMemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserAccessIndexTest {
+
+    private static final Long TEAM_ID = 10L;
+    private static final Long POLLA_ID = 20L;
+    private static final Long USER_ID = 1L;
+    private static final String EMAIL = "ana@test.com";
+
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
+    @Mock
+    private PollaRepository pollaRepository;
+
+    @Mock
+    private PollaParticipanteRepository participanteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AccessCacheProperties properties;
+    private UserAccessIndex index;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccessCacheProperties();
+        properties.setTtl(Duration.ofMinutes(5));
+        index = new UserAccessIndex(teamMemberRepository, pollaRepository, participanteRepository, properties,
+                transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void repeatedChecks_HitTheCache() {
+        when(teamMemberRepository.findApprovedTeamIdsByUser(USER_ID, EMAIL)).thenReturn(List.of(TEAM_ID));
+
+        assertTrue(index.isApprovedTeamMember(TEAM_ID, USER_ID, EMAIL));
+        assertTrue(index.isApprovedTeamMember(TEAM_ID, USER_ID, " Ana@Test.com "));
+        assertFalse(index.isApprovedTeamMember(99L, USER_ID, EMAIL));
+
+        verify(teamMemberRepository, times(1)).findApprovedTeamIdsByUser(USER_ID, EMAIL);
+    }
+
+    @Test
+    void pollaIndex_IsKeyedByNormalizedEmail() {
+        when(pollaRepository.findIdsByCreadorEmail(EMAIL)).thenReturn(List.of(POLLA_ID));
+        when(participanteRepository.findParticipacionesByEmail(EMAIL)).thenReturn(List.of());
+
+        assertTrue(index.isPollaCreator(POLLA_ID, "Ana@Test.com"));
+        // La fila del participante puede traer otras mayúsculas que el token: debe invalidar la misma entrada
+        index.invalidateUser(null, "ANA@test.com");
+        assertTrue(index.isPollaCreator(POLLA_ID, EMAIL));
+
+        verify(pollaRepository, times(2)).findIdsByCreadorEmail(EMAIL);
+    }
+
+    @Test
+    void invalidation_IsRepeatedAfterCommit() {
+        when(teamMemberRepository.findApprovedTeamIdsByUser(USER_ID, EMAIL))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of(TEAM_ID));
+
+        assertFalse(index.isApprovedTeamMember(TEAM_ID, USER_ID, EMAIL));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.invalidateUser(USER_ID, EMAIL);
+        // Lectura concurrente antes del commit: todavía ve el estado anterior y lo vuelve a guardar
+        assertFalse(index.isApprovedTeamMember(TEAM_ID, USER_ID, EMAIL));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(index.isApprovedTeamMember(TEAM_ID, USER_ID, EMAIL));
+
+        verify(teamMemberRepository, times(3)).findApprovedTeamIdsByUser(USER_ID, EMAIL);
+    }
+
+    @Test
+    void expiredEntry_IsReloaded() {
+        properties.setTtl(Duration.ZERO);
+        when(teamMemberRepository.findApprovedTeamIdsByUser(USER_ID, EMAIL))
+                .thenReturn(List.of(TEAM_ID))
+                .thenReturn(List.of());
+
+        assertTrue(index.isApprovedTeamMember(TEAM_ID, USER_ID, EMAIL));
+        assertFalse(index.isApprovedTeamMember(TEAM_ID, USER_ID, EMAIL));
+
+        verify(teamMemberRepository, times(2)).findApprovedTeamIdsByUser(USER_ID, EMAIL);
+    }
+
+    @Test
+    void disabledCache_QueriesEveryTime() {
+        properties.setEnabled(false);
+        when(participanteRepository.findParticipacionesByEmail(EMAIL)).thenReturn(List.of());
+        when(pollaRepository.findIdsByCreadorEmail(EMAIL)).thenReturn(List.of());
+
+        assertFalse(index.isPollaParticipant(POLLA_ID, EMAIL));
+        assertFalse(index.isPollaParticipant(POLLA_ID, EMAIL));
+
+        verify(participanteRepository, times(2)).findParticipacionesByEmail(EMAIL);
+    }
+}
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Reinicia cada servicio N veces y reporta lo que tarda en arrancar según su propio log
+# ("Started ... in X seconds"), más lo que Flyway reporta para validar/aplicar migraciones.
+#
+# Uso: loadtest/startup/measure-startup.sh [repeticiones] [servicio...]
+#   loadtest/startup/measure-startup.sh 5 teams-service auth-service payment-service
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+shift || true
+if (( $# )); then
+    SERVICES=("$@")
+else
+    SERVICES=(teams-service auth-service payment-service)
+fi
+COMPOSE="${COMPOSE:-docker compose}"
+TIMEOUT="${TIMEOUT:-180}"
+
+wait_for_started() {
+    local service="$1" since="$2" deadline=$((SECONDS + TIMEOUT))
+    while (( SECONDS < deadline )); do
+        local line
+        line=$($COMPOSE logs --no-color --since "$since" "$service" 2>/dev/null \
+            | grep -Eo 'Started [A-Za-z]+ in [0-9.]+ seconds' | tail -n 1 || true)
+        if [[ -n "$line" ]]; then
+            grep -Eo '[0-9.]+ seconds' <<<"$line" | cut -d' ' -f1
+            return 0
+        fi
+        sleep 1
+    done
+    echo "timeout"
+}
+
+printf '%-18s %-5s %-12s %s\n' "servicio" "run" "arranque(s)" "flyway"
+for service in "${SERVICES[@]}"; do
+    total=0
+    for run in $(seq 1 "$RUNS"); do
+        since=$(date -u +%Y-%m-%dT%H:%M:%SZ)
+        $COMPOSE restart "$service" >/dev/null
+        seconds=$(wait_for_started "$service" "$since")
+        flyway=$($COMPOSE logs --no-color --since "$since" "$service" 2>/dev/null \
+            | grep -Eo 'Successfully (validated|applied) [0-9]+ migrations?[^)]*\)' | tr '\n' ' ' || true)
+        printf '%-18s %-5s %-12s %s\n' "$service" "$run" "$seconds" "${flyway:--}"
+        if [[ "$seconds" != "timeout" ]]; then
+            total=$(awk -v a="$total" -v b="$seconds" 'BEGIN { print a + b }')
+        fi
+    done
+    awk -v s="$service" -v t="$total" -v n="$RUNS" 'BEGIN { printf "%-18s media %.2f s\n\n", s, t / n }'
+done
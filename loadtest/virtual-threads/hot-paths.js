@@ -0,0 +1,68 @@
+// Carga sobre los caminos calientes de pollas (Teams-Service) y notificaciones (Notificacion-Service).
+// Se corre igual con VIRTUAL_THREADS_ENABLED=false y =true; ver README.md de esta carpeta.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const TEAMS_URL = __ENV.TEAMS_URL || 'http://localhost:8082';
+const NOTIFICATIONS_URL = __ENV.NOTIFICATIONS_URL || 'http://localhost:8081';
+const TOKEN = __ENV.TOKEN;
+const POLLA_ID = __ENV.POLLA_ID;
+const PARTIDO_ID = __ENV.PARTIDO_ID;
+const RATE = Number(__ENV.RATE || 200);
+const DURATION = __ENV.DURATION || '3m';
+const MAX_VUS = Number(__ENV.MAX_VUS || 2000);
+
+// Tasa de llegada constante: si el servicio se satura, las peticiones se acumulan y se ve en p99
+// (con VUs cerrados el generador se frenaría junto con el servicio y ocultaría la diferencia)
+function scenario(exec) {
+    return {
+        executor: 'constant-arrival-rate',
+        exec,
+        rate: RATE,
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: Math.min(MAX_VUS, RATE * 2),
+        maxVUs: MAX_VUS,
+    };
+}
+
+export const options = {
+    scenarios: {
+        polla: scenario('polla'),
+        notificaciones: scenario('notificaciones'),
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    // Los umbrales ">= 0" no validan nada: hacen que el resumen muestre las métricas separadas por escenario
+    thresholds: {
+        'http_req_duration{scenario:polla}': ['p(99)>=0'],
+        'http_req_duration{scenario:notificaciones}': ['p(99)>=0'],
+        'http_reqs{scenario:polla}': ['count>=0'],
+        'http_reqs{scenario:notificaciones}': ['count>=0'],
+        'http_req_failed{scenario:polla}': ['rate<0.01'],
+        'http_req_failed{scenario:notificaciones}': ['rate<0.01'],
+    },
+};
+
+const authHeaders = { headers: { Authorization: `Bearer ${TOKEN}` } };
+
+// Tabla de posiciones, marcador (API-Football con caché) y listado de pollas: todo JDBC + RestTemplate
+export function polla() {
+    const paths = [
+        `/api/pollas/${POLLA_ID}/tabla-posiciones`,
+        `/api/pollas/${POLLA_ID}/partidos/${PARTIDO_ID}/marcador`,
+        '/api/pollas/mis-pollas',
+    ];
+    const res = http.get(`${TEAMS_URL}${paths[__ITER % paths.length]}`, authHeaders);
+    check(res, { 'polla 200': (r) => r.status === 200 });
+}
+
+// Envío síncrono por SMTP; apuntar SMTP_HOST a un servidor de pruebas (smtp4dev), nunca al real
+export function notificaciones() {
+    const res = http.post(`${NOTIFICATIONS_URL}/api/v1/notifications/send`, JSON.stringify({
+        channels: ['EMAIL'],
+        recipient: `carga+${__VU}-${__ITER}@futbolify.test`,
+        subject: 'Prueba de carga',
+        body: '<p>Prueba de carga de hilos virtuales</p>',
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'notificacion 200': (r) => r.status === 200 });
+}